@@ -0,0 +1,98 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelContext;
+import org.technologybrewery.fermenter.mda.metamodel.element.BaseEntityDecorator;
+import org.technologybrewery.fermenter.mda.metamodel.element.BaseFieldDecorator;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Field;
+import org.technologybrewery.fermenter.mda.metamodel.element.Reference;
+import org.technologybrewery.fermenter.mda.metamodel.element.Relation;
+
+/**
+ * Measures the decorator accessors templates call most often, walking every entity's fields, references, and
+ * relations. Decorators are either created anew on each walk, as when a generator decorates each entity it renders, or
+ * reused across walks, as when a template visits the same entity repeatedly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DecoratorBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    private SyntheticModel model;
+    private List<Entity> entities;
+    private List<BaseEntityDecorator> decoratedEntities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        DefaultModelInstanceRepository repository = SyntheticModel.load(model.newConfiguration());
+        entities = new ArrayList<>(repository.getEntitiesByContext(ModelContext.LOCAL.toString()).values());
+        decoratedEntities = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            decoratedEntities.add(new BaseEntityDecorator(entity));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        model.delete();
+    }
+
+    @Benchmark
+    public void decorateAndWalk(Blackhole blackhole) {
+        for (Entity entity : entities) {
+            walk(new BaseEntityDecorator(entity), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void walkDecorated(Blackhole blackhole) {
+        for (BaseEntityDecorator decoratedEntity : decoratedEntities) {
+            walk(decoratedEntity, blackhole);
+        }
+    }
+
+    private static void walk(BaseEntityDecorator entity, Blackhole blackhole) {
+        blackhole.consume(entity.getIdentifier());
+        for (Field field : entity.getFields()) {
+            BaseFieldDecorator decoratedField = (BaseFieldDecorator) field;
+            blackhole.consume(decoratedField.getType());
+            blackhole.consume(decoratedField.isEntity());
+            blackhole.consume(decoratedField.isNamedEnumeration());
+        }
+        for (Reference reference : entity.getReferences()) {
+            blackhole.consume(reference.getForeignKeyFields());
+        }
+        for (Relation relation : entity.getRelations()) {
+            blackhole.consume(relation.getParentIdentifier(entity.getName()));
+        }
+        blackhole.consume(entity.getInverseRelations());
+    }
+
+}
@@ -0,0 +1,148 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.entity.AbstractEntityGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.ModelContext;
+import org.technologybrewery.fermenter.mda.metamodel.element.BaseEntityDecorator;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
+
+/**
+ * Measures generating one file per entity through {@link AbstractEntityGenerator}, and so
+ * {@code AbstractGenerator.generateFile}, with both a Java class and a properties template. Files are generated both
+ * from scratch and over identical existing files, which is the common case for incremental builds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerateFileBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    @Param({ "templates/benchmarks/entity.java.vm", "templates/benchmarks/entity.properties.vm" })
+    private String template;
+
+    @Param({ "1", "4" })
+    private int renderParallelism;
+
+    private SyntheticModel model;
+    private File outputDirectory;
+    private GenerationContext context;
+    private BenchmarkEntityGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        SyntheticModel.load(model.newConfiguration());
+        outputDirectory = Files.createTempDirectory("fermenter-benchmark-output-").toFile();
+
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        MavenSession session = new MavenSession(null, null, new DefaultMavenExecutionRequest(),
+                new DefaultMavenExecutionResult());
+
+        context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(new StatisticsService(session));
+        context.setGeneratedSourceDirectory(outputDirectory);
+        context.setOverwritable(true);
+        context.setArtifactId(SyntheticModel.ARTIFACT_ID);
+        context.setBasePackage(SyntheticModel.BASE_PACKAGE);
+        context.setTemplateName(template);
+        context.setOutputFile("${basePackage}/${entityName}." + FilenameUtils.getExtension(
+                FilenameUtils.removeExtension(template)));
+        context.setRenderParallelism(renderParallelism);
+
+        generator = new BenchmarkEntityGenerator();
+        generator.setMetadataContext(ModelContext.LOCAL.toString());
+        generator.generate(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory);
+        model.delete();
+    }
+
+    /**
+     * Removes all generated files before each invocation that it is passed to.
+     */
+    @State(Scope.Thread)
+    public static class CleanOutput {
+
+        @Setup(Level.Invocation)
+        public void clean(GenerateFileBenchmark benchmark) throws IOException {
+            FileUtils.cleanDirectory(benchmark.outputDirectory);
+        }
+
+    }
+
+    @Benchmark
+    public void generateNew(CleanOutput cleanOutput) {
+        generator.generate(context);
+    }
+
+    @Benchmark
+    public void generateUnchanged() {
+        generator.generate(context);
+    }
+
+    /**
+     * Generates a file per entity with the entity's base decorator in the "entity" variable.
+     */
+    static final class BenchmarkEntityGenerator extends AbstractEntityGenerator {
+
+        @Override
+        protected void populateVelocityContext(VelocityContext vc, Entity entity,
+                GenerationContext generationContext) {
+            vc.put("basePackage", generationContext.getBasePackage());
+            vc.put("entity", new BaseEntityDecorator(entity));
+        }
+
+        @Override
+        protected boolean generatePersistentEntitiesOnly() {
+            return false;
+        }
+
+        @Override
+        protected String getOutputSubFolder() {
+            return "";
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.technologybrewery.fermenter.mda.metamodel.element.EntityElement;
+import org.technologybrewery.fermenter.mda.util.JsonUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures reading every entity file of a model with {@link JsonUtils}, both binding alone and binding along with
+ * schema validation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonParsingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    private SyntheticModel model;
+    private List<File> entityFiles;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        // bound elements look up the repository as they are created, so one must be in place:
+        SyntheticModel.load(model.newConfiguration());
+        entityFiles = model.getEntityFiles();
+        objectMapper = JsonUtils.getObjectMapper();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        model.delete();
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) throws IOException {
+        for (File entityFile : entityFiles) {
+            blackhole.consume(objectMapper.readValue(entityFile, EntityElement.class));
+        }
+    }
+
+    @Benchmark
+    public void readAndValidate(Blackhole blackhole) {
+        for (File entityFile : entityFiles) {
+            blackhole.consume(JsonUtils.readAndValidateJson(entityFile, EntityElement.class));
+        }
+    }
+
+}
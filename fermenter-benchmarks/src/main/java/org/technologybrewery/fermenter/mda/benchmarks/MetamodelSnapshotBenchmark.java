@@ -0,0 +1,88 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceCache;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceUrl;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+
+/**
+ * Measures the first load of a model from a metadata dependency jar within a build, parsing the json within the jar
+ * and, when snapshots are enabled, reading the snapshot written by an earlier build instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class MetamodelSnapshotBenchmark {
+
+    private static final String DEPENDENCY_ARTIFACT_ID = "fermenter-benchmarks-model";
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    @Param({ "false", "true" })
+    private boolean snapshots;
+
+    private SyntheticModel model;
+    private File workingDirectory;
+    private ModelRepositoryConfiguration config;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        workingDirectory = Files.createTempDirectory("fermenter-benchmark-snapshots-").toFile();
+        File jar = new File(workingDirectory, "model.jar");
+        model.writeJar(jar);
+
+        config = new ModelRepositoryConfiguration();
+        config.setArtifactId(SyntheticModel.ARTIFACT_ID);
+        config.setBasePackage(SyntheticModel.BASE_PACKAGE);
+        config.getMetamodelInstanceLocations().put(DEPENDENCY_ARTIFACT_ID,
+                new ModelInstanceUrl(DEPENDENCY_ARTIFACT_ID, jar.toURI().toString()));
+        if (snapshots) {
+            config.setSnapshotDirectory(new File(workingDirectory, "snapshots"));
+        }
+
+        // the earlier build, which writes any snapshots
+        int loadedEntityCount = SyntheticModel.load(config).getEntitiesByArtifactId(DEPENDENCY_ARTIFACT_ID).size();
+        if (loadedEntityCount != entityCount) {
+            throw new IllegalStateException("Loaded " + loadedEntityCount + " of " + entityCount + " entities from the jar");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ModelInstanceCache.releaseUnlessSessionParticipant();
+        model.delete();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Benchmark
+    public DefaultModelInstanceRepository loadInNewBuild() {
+        // each invocation is a new build, so nothing parsed by a prior invocation may be reused from memory
+        ModelInstanceCache.releaseUnlessSessionParticipant();
+        return SyntheticModel.load(config);
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+/**
+ * Measures loading and validating a {@link DefaultModelInstanceRepository}, sequentially and concurrently.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RepositoryBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private SyntheticModel model;
+    private ModelRepositoryConfiguration config;
+    private DefaultModelInstanceRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        config = model.newConfiguration();
+        config.setLoadParallelism(parallelism);
+        config.setValidationParallelism(parallelism);
+        repository = SyntheticModel.load(config);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        model.delete();
+    }
+
+    @Benchmark
+    public DefaultModelInstanceRepository load() {
+        return SyntheticModel.load(config);
+    }
+
+    @Benchmark
+    public void validate() {
+        // validation only reports messages, so clear them to avoid accumulating across invocations:
+        MessageTracker.getInstance().clear();
+        repository.validate();
+    }
+
+}
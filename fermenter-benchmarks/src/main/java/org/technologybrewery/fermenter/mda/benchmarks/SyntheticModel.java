@@ -0,0 +1,217 @@
+package org.technologybrewery.fermenter.mda.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.io.FileUtils;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceUrl;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.metamodel.element.EntityElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.EnumElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.EnumerationElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.FieldElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.ReferenceElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.RelationElement;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A generated set of entity and enumeration metamodels, written to a temporary directory laid out like the
+ * src/main/resources of a project using Fermenter. Every entity has an identifier, several simple fields, a field typed
+ * by an enumeration, a reference to an earlier entity, and every tenth entity has a relation to the next, so that
+ * loading, linking, and dependency ordering all do representative work. The same entity count always produces the same
+ * model.
+ */
+public final class SyntheticModel {
+
+    public static final String ARTIFACT_ID = "fermenter-benchmarks";
+    public static final String BASE_PACKAGE = "org.technologybrewery.fermenter.benchmark";
+
+    private static final int ENTITIES_PER_ENUMERATION = 10;
+    private static final int ENUMS_PER_ENUMERATION = 5;
+
+    private final File rootDirectory;
+    private final List<File> entityFiles;
+
+    private SyntheticModel(File rootDirectory, List<File> entityFiles) {
+        this.rootDirectory = rootDirectory;
+        this.entityFiles = entityFiles;
+    }
+
+    /**
+     * Writes a new model with the given number of entities.
+     *
+     * @param entityCount
+     *            number of entities to generate
+     * @return the written model
+     * @throws IOException
+     *             if the model cannot be written
+     */
+    public static SyntheticModel create(int entityCount) throws IOException {
+        File rootDirectory = Files.createTempDirectory("fermenter-benchmark-").toFile();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        int enumerationCount = Math.max(1, entityCount / ENTITIES_PER_ENUMERATION);
+        File enumerationsDirectory = new File(rootDirectory, "enumerations");
+        enumerationsDirectory.mkdirs();
+        for (int i = 0; i < enumerationCount; i++) {
+            EnumerationElement enumeration = createEnumeration(i);
+            objectMapper.writeValue(new File(enumerationsDirectory, enumeration.getName() + ".json"), enumeration);
+        }
+
+        File entitiesDirectory = new File(rootDirectory, "entities");
+        entitiesDirectory.mkdirs();
+        List<File> entityFiles = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            EntityElement entity = createEntity(i, entityCount, enumerationCount);
+            File entityFile = new File(entitiesDirectory, entity.getName() + ".json");
+            objectMapper.writeValue(entityFile, entity);
+            entityFiles.add(entityFile);
+        }
+
+        return new SyntheticModel(rootDirectory, Collections.unmodifiableList(entityFiles));
+    }
+
+    private static EnumerationElement createEnumeration(int index) {
+        EnumerationElement enumeration = new EnumerationElement();
+        enumeration.setName("Status" + index);
+        enumeration.setPackage(BASE_PACKAGE);
+        for (int i = 0; i < ENUMS_PER_ENUMERATION; i++) {
+            EnumElement constant = new EnumElement();
+            constant.setName("STATE_" + i);
+            enumeration.addEnums(constant);
+        }
+        return enumeration;
+    }
+
+    private static EntityElement createEntity(int index, int entityCount, int enumerationCount) {
+        EntityElement entity = new EntityElement();
+        entity.setName(getEntityName(index));
+        entity.setPackage(BASE_PACKAGE);
+        entity.setDocumentation("Synthetic entity " + index + " of " + entityCount);
+
+        FieldElement identifier = createField("id", "long");
+        identifier.setColumn("ID");
+        identifier.setGenerator("assigned");
+        entity.setIdentifier(identifier);
+
+        entity.addField(createField("name", "string"));
+        entity.addField(createField("description", "string"));
+        entity.addField(createField("quantity", "integer"));
+        entity.addField(createField("createdOn", "date"));
+        FieldElement status = createField("status", "Status" + (index % enumerationCount));
+        status.setPackage(BASE_PACKAGE);
+        entity.addField(status);
+
+        if (index > 0) {
+            // always an earlier entity, so references never form a cycle:
+            ReferenceElement reference = new ReferenceElement();
+            reference.setName("owner");
+            reference.setType(getEntityName((index * 7 + 3) % index));
+            reference.setPackage(BASE_PACKAGE);
+            reference.setLocalColumn("OWNER_ID");
+            entity.addReference(reference);
+        }
+
+        if (index % 10 == 0 && index + 1 < entityCount) {
+            RelationElement relation = new RelationElement();
+            relation.setType(getEntityName(index + 1));
+            relation.setPackage(BASE_PACKAGE);
+            relation.setMultiplicity("1-M");
+            entity.addRelation(relation);
+        }
+
+        return entity;
+    }
+
+    private static FieldElement createField(String name, String type) {
+        FieldElement field = new FieldElement();
+        field.setName(name);
+        field.setType(type);
+        field.setDocumentation("The " + name + " of this entity");
+        return field;
+    }
+
+    private static String getEntityName(int index) {
+        return "Entity" + index;
+    }
+
+    /**
+     * Returns a repository configuration that loads this model as the local artifact.
+     *
+     * @return configuration
+     */
+    public ModelRepositoryConfiguration newConfiguration() {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(ARTIFACT_ID);
+        config.setBasePackage(BASE_PACKAGE);
+        config.getMetamodelInstanceLocations().put(ARTIFACT_ID,
+                new ModelInstanceUrl(ARTIFACT_ID, rootDirectory.toURI().toString()));
+        return config;
+    }
+
+    /**
+     * Loads this model into a new repository, which is bound to the calling thread.
+     *
+     * @param config
+     *            configuration, typically from {@link #newConfiguration()}
+     * @return loaded repository
+     */
+    public static DefaultModelInstanceRepository load(ModelRepositoryConfiguration config) {
+        MessageTracker.getInstance().clear();
+        DefaultModelInstanceRepository repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+        return repository;
+    }
+
+    /**
+     * Packages this model into a jar, laid out as a metadataDependencies artifact would be.
+     *
+     * @param jar
+     *            jar to write
+     * @throws IOException
+     *             if the jar cannot be written
+     */
+    public void writeJar(File jar) throws IOException {
+        try (JarOutputStream jarStream = new JarOutputStream(new FileOutputStream(jar))) {
+            for (File file : new TreeSet<>(FileUtils.listFiles(rootDirectory, new String[] { "json" }, true))) {
+                String entryName = rootDirectory.toPath().relativize(file.toPath()).toString().replace('\\', '/');
+                jarStream.putNextEntry(new ZipEntry(entryName));
+                Files.copy(file.toPath(), jarStream);
+                jarStream.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Returns the json file of each entity, in the order they were generated.
+     *
+     * @return entity files
+     */
+    public List<File> getEntityFiles() {
+        return entityFiles;
+    }
+
+    /**
+     * Deletes this model.
+     *
+     * @throws IOException
+     *             if the model cannot be deleted
+     */
+    public void delete() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technologybrewery.fermenter.mda.benchmarks.SyntheticModel;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+
+/**
+ * Measures {@link EntityModelInstanceManager#getNamesByDependencyOrder(String)}. As the manager memoizes the order per
+ * context, the ordering itself is measured separately; this class lives in the metamodel package to reach it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DependencyOrderBenchmark {
+
+    private static final String CONTEXT = ModelContext.LOCAL.toString();
+
+    @Param({ "100", "1000", "10000" })
+    private int entityCount;
+
+    private SyntheticModel model;
+    private EntityModelInstanceManager entityManager;
+    private Map<String, Entity> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        model = SyntheticModel.create(entityCount);
+        // loading unbinds the manager from the thread, so capture the one the repository will load into first:
+        entityManager = EntityModelInstanceManager.getInstance();
+        SyntheticModel.load(model.newConfiguration());
+        entities = entityManager.getMetadataElementByContext(CONTEXT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        model.delete();
+    }
+
+    @Benchmark
+    public Set<Entity> order() {
+        return EntityDependencyOrder.order(entities);
+    }
+
+    @Benchmark
+    public Set<Entity> getNamesByDependencyOrder() {
+        return entityManager.getNamesByDependencyOrder(CONTEXT);
+    }
+
+}
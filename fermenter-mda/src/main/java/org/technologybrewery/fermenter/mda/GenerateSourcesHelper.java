@@ -6,13 +6,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
+import org.aeonbits.owner.KrauseningConfigFactory;
 import org.technologybrewery.fermenter.mda.GenerateSourcesHelper.LoggerDelegate.LogLevel;
 import org.technologybrewery.fermenter.mda.element.ExpandedFamily;
 import org.technologybrewery.fermenter.mda.element.ExpandedProfile;
@@ -22,9 +30,21 @@ import org.technologybrewery.fermenter.mda.element.Target;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
 import org.technologybrewery.fermenter.mda.generator.GenerationException;
 import org.technologybrewery.fermenter.mda.generator.Generator;
+import org.technologybrewery.fermenter.mda.generator.TemplateCache;
+import org.technologybrewery.fermenter.mda.metamodel.MetamodelConfig;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceCache;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.metamodel.element.DictionaryType;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Enumeration;
+import org.technologybrewery.fermenter.mda.metamodel.element.MessageGroup;
+import org.technologybrewery.fermenter.mda.metamodel.element.Metamodel;
+import org.technologybrewery.fermenter.mda.metamodel.element.Rule;
+import org.technologybrewery.fermenter.mda.metamodel.element.Service;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport;
+import org.technologybrewery.fermenter.mda.reporting.TargetExecutionEvent;
 import org.technologybrewery.fermenter.mda.util.MessageTracker;
 import org.technologybrewery.fermenter.mda.util.PriorityMessage;
 import org.technologybrewery.fermenter.mda.util.PriorityMessageService;
@@ -33,6 +53,7 @@ import org.technologybrewery.krausening.Krausening;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Utility class that provides common metamodel loading, parsing, and source
@@ -249,6 +270,56 @@ public final class GenerateSourcesHelper {
                                                LoggerDelegate logger,
                                                File projectDir)
             throws Exception {
+        performSourceGeneration(targetProfile, profiles, createGenerationContext, handleInvalidProfile, logger,
+                projectDir, 1);
+    }
+
+    /**
+     * Executes code generation on the targets defined within the provided
+     * profile, optionally running up to the given number of targets
+     * concurrently. Each worker thread is attached to the metamodel repository
+     * and other thread-bound state of the calling thread. All targets are
+     * executed even if some fail, after which failures are reported in profile
+     * order and the first one is thrown, with the remainder suppressed within
+     * it.
+     *
+     * @see #performSourceGeneration(String, Map, Function, BiFunction, LoggerDelegate, File)
+     * @param targetParallelism       maximum number of targets to execute at once; values of one
+     *                                or less execute targets sequentially on the calling thread.
+     * @throws Exception an invalid profile was specified or an unexpected error
+     *                   occurred during {@link Generator} creation and processing.
+     */
+    public static void performSourceGeneration(String targetProfile,
+                                               Map<String, ExpandedProfile> profiles,
+                                               Function<Target, GenerationContext> createGenerationContext,
+                                               BiFunction<String, Collection<ExpandedProfile>, Exception> handleInvalidProfile,
+                                               LoggerDelegate logger,
+                                               File projectDir,
+                                               int targetParallelism)
+            throws Exception {
+        performSourceGeneration(targetProfile, profiles, createGenerationContext, handleInvalidProfile, logger,
+                projectDir, targetParallelism, target -> true);
+    }
+
+    /**
+     * Executes code generation on the targets defined within the provided
+     * profile that are accepted by the given filter, skipping the rest.
+     *
+     * @see #performSourceGeneration(String, Map, Function, BiFunction, LoggerDelegate, File, int)
+     * @param targetFilter            accepts the targets to execute, such as those returned by
+     *                                {@link #getTargetsAffectedByChangesTo(Set)}.
+     * @throws Exception an invalid profile was specified or an unexpected error
+     *                   occurred during {@link Generator} creation and processing.
+     */
+    public static void performSourceGeneration(String targetProfile,
+                                               Map<String, ExpandedProfile> profiles,
+                                               Function<Target, GenerationContext> createGenerationContext,
+                                               BiFunction<String, Collection<ExpandedProfile>, Exception> handleInvalidProfile,
+                                               LoggerDelegate logger,
+                                               File projectDir,
+                                               int targetParallelism,
+                                               Predicate<Target> targetFilter)
+            throws Exception {
         long start = System.currentTimeMillis();
         ExpandedProfile profile = profiles.get(targetProfile);
 
@@ -280,14 +351,23 @@ public final class GenerateSourcesHelper {
 
             logger.log(LogLevel.INFO, "Generating code for profile '" + profile.getName() + "'");
 
-            // For each target, instantiate a generator and call generate
+            List<Target> targets = new ArrayList<>();
             for (Target target : profile.getTargets()) {
-                logger.log(LogLevel.DEBUG, "\tExecuting target '" + target.getName() + "'");
-                GenerationContext context = createGenerationContext.apply(target);
-                Class<?> clazz = Class.forName(target.getGenerator());
-                Generator generator = (Generator) clazz.getDeclaredConstructor().newInstance();
-                generator.setMetadataContext(target.getMetadataContext());
-                generator.generate(context);
+                if (targetFilter.test(target)) {
+                    targets.add(target);
+                }
+            }
+            int skippedTargets = profile.getTargets().size() - targets.size();
+            if (skippedTargets > 0) {
+                logger.log(LogLevel.INFO, "Skipping " + skippedTargets + " target(s) unaffected by the changes");
+            }
+
+            if (targetParallelism > 1 && targets.size() > 1) {
+                executeTargetsConcurrently(targets, createGenerationContext, logger, targetParallelism);
+            } else {
+                for (Target target : targets) {
+                    executeTarget(target, createGenerationContext, logger);
+                }
             }
 
             long stop = System.currentTimeMillis();
@@ -296,6 +376,134 @@ public final class GenerateSourcesHelper {
 
     }
     
+    /**
+     * Returns a filter accepting only the targets whose generators may read a
+     * metamodel from one of the given locations within the metadata directory
+     * (e.g., entities), so that changing one kind of metamodel does not execute
+     * targets that cannot be affected by it. What a generator reads is taken
+     * from {@link Generator#getMetamodelTypesRead()}; targets of generators that
+     * do not declare it, or that cannot be instantiated, are always accepted.
+     *
+     * @param changedMetadataLocations locations containing changed metamodels
+     * @return target filter
+     */
+    public static Predicate<Target> getTargetsAffectedByChangesTo(Set<String> changedMetadataLocations) {
+        MetamodelConfig config = KrauseningConfigFactory.create(MetamodelConfig.class);
+        return target -> {
+            Set<Class<? extends Metamodel>> typesRead;
+            try {
+                Class<?> clazz = Class.forName(target.getGenerator());
+                typesRead = ((Generator) clazz.getDeclaredConstructor().newInstance()).getMetamodelTypesRead();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // executed anyway, so that the failure is reported
+                return true;
+            }
+            if (typesRead == null) {
+                return true;
+            }
+
+            for (Class<? extends Metamodel> typeRead : typesRead) {
+                String metadataLocation = getMetadataLocation(typeRead, config);
+                if (metadataLocation == null || changedMetadataLocations.contains(metadataLocation)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static String getMetadataLocation(Class<? extends Metamodel> type, MetamodelConfig config) {
+        if (Entity.class.isAssignableFrom(type)) {
+            return config.getEntitiesRelativePath();
+        } else if (Enumeration.class.isAssignableFrom(type)) {
+            return config.getEnumerationsRelativePath();
+        } else if (DictionaryType.class.isAssignableFrom(type)) {
+            return config.getDictionaryTypesRelativePath();
+        } else if (Service.class.isAssignableFrom(type)) {
+            return config.getServicesRelativePath();
+        } else if (MessageGroup.class.isAssignableFrom(type)) {
+            return config.getMessageGroupsRelativePath();
+        } else if (Rule.class.isAssignableFrom(type)) {
+            return config.getRulesRelativePath();
+        }
+        // not a kind of metamodel read from the metadata directory, so any change may affect it
+        return null;
+    }
+
+    /**
+     * Instantiates the generator of the given target and calls generate, recording the time taken to the
+     * {@link GenerationReport} of the target's context, if any, and to a {@link TargetExecutionEvent} when Java Flight
+     * Recorder is recording.
+     */
+    private static void executeTarget(Target target, Function<Target, GenerationContext> createGenerationContext,
+                                      LoggerDelegate logger) throws Exception {
+        logger.log(LogLevel.DEBUG, "\tExecuting target '" + target.getName() + "'");
+        TargetExecutionEvent event = new TargetExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        GenerationContext context = createGenerationContext.apply(target);
+        Class<?> clazz = Class.forName(target.getGenerator());
+        Generator generator = (Generator) clazz.getDeclaredConstructor().newInstance();
+        generator.setMetadataContext(target.getMetadataContext());
+        generator.generate(context);
+        event.complete(target.getName(), target.getGenerator(), target.getTemplateName());
+
+        GenerationReport report = context.getGenerationReport();
+        if (report != null) {
+            report.recordTarget(target.getName(), target.getGenerator(), target.getTemplateName(),
+                System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes the given targets on a bounded pool of worker threads that share
+     * the thread-bound state of the calling thread. Waits for every target to
+     * finish before reporting failures in target order.
+     */
+    private static void executeTargetsConcurrently(List<Target> targets,
+                                                   Function<Target, GenerationContext> createGenerationContext,
+                                                   LoggerDelegate logger, int targetParallelism) throws Exception {
+        int poolSize = Math.min(targetParallelism, targets.size());
+        logger.log(LogLevel.INFO, "Executing " + targets.size() + " targets using " + poolSize + " threads");
+
+        ThreadBoundState state = ThreadBoundState.capture();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                new ThreadFactoryBuilder().setNameFormat("fermenter-target-%d").setDaemon(true).build());
+        try {
+            List<Future<Void>> results = new ArrayList<>(targets.size());
+            for (Target target : targets) {
+                results.add(executor.submit(state.wrap(() -> {
+                    executeTarget(target, createGenerationContext, logger);
+                    return null;
+                })));
+            }
+
+            Exception failure = null;
+            for (int i = 0; i < targets.size(); i++) {
+                String targetName = targets.get(i).getName();
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    logger.log(LogLevel.ERROR, "Target '" + targetName + "' failed: " + cause.getMessage());
+                    Exception targetFailure = (cause instanceof Exception) ? (Exception) cause
+                            : new GenerationException("Target '" + targetName + "' failed", cause);
+                    if (failure == null) {
+                        failure = targetFailure;
+                    } else {
+                        failure.addSuppressed(targetFailure);
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * We don't have great fine-grained control of logging inside the plugin, so
      * default some Krausening values when they aren't specified so warnings
@@ -332,5 +540,15 @@ public final class GenerateSourcesHelper {
         TypeManager.cleanUp();
         MessageTracker.cleanUp();
     }
+
+    /**
+     * Releases the parsed metamodels and templates shared between executions, unless the plugin is registered as a
+     * build extension, in which case they are kept until the session ends.
+     */
+    public static void releaseSharedCaches() {
+        if (ModelInstanceCache.releaseUnlessSessionParticipant()) {
+            TemplateCache.clear();
+        }
+    }
     
 }
@@ -9,6 +9,7 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -17,19 +18,22 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.velocity.app.VelocityEngine;
-import org.apache.velocity.runtime.RuntimeConstants;
-import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
 import org.technologybrewery.fermenter.mda.element.ExpandedFamily;
 import org.technologybrewery.fermenter.mda.element.ExpandedProfile;
 import org.technologybrewery.fermenter.mda.element.Family;
 import org.technologybrewery.fermenter.mda.element.Profile;
 import org.technologybrewery.fermenter.mda.element.Target;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.GenerationManifest;
+import org.technologybrewery.fermenter.mda.generator.TemplateCache;
 import org.technologybrewery.fermenter.mda.generator.Generator;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceUrl;
 import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
 import org.technologybrewery.fermenter.mda.notification.NotificationService;
+import org.technologybrewery.fermenter.mda.reporting.GenerationBudget;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport;
 import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
 import org.technologybrewery.fermenter.mda.util.MessageTracker;
 
@@ -47,7 +51,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /**
  * Executes the Fermenter MDA process.
@@ -134,8 +140,119 @@ public class GenerateSourcesMojo extends AbstractMojo {
     @Parameter
     private Map<String, String> propertyVariables;
 
+    /**
+     * Maximum number of profile targets to generate concurrently. Targets are executed one at a time by default.
+     */
+    @Parameter(property = "fermenter.targetParallelism", defaultValue = "1")
+    private int targetParallelism;
+
+    /**
+     * Maximum number of files to render concurrently within a single target, such as one file per entity. Files are
+     * rendered one at a time by default.
+     */
+    @Parameter(property = "fermenter.renderParallelism", defaultValue = "1")
+    private int renderParallelism;
+
+    /**
+     * Maximum number of metamodel locations and kinds (entities, services, etc.) to read and parse concurrently. Loaded
+     * instances are always merged in a deterministic order. Metamodels are loaded one at a time by default.
+     */
+    @Parameter(property = "fermenter.loadParallelism", defaultValue = "1")
+    private int loadParallelism;
+
+    /**
+     * Maximum number of metamodel instances to validate concurrently. Validation messages are always reported ordered
+     * by file and then element. Metamodels are validated one at a time by default.
+     */
+    @Parameter(property = "fermenter.validationParallelism", defaultValue = "1")
+    private int validationParallelism;
+
+    /**
+     * Validates every metamodel instance against its json schema as it is loaded, skipping (and reporting as an error)
+     * any instance that does not conform.
+     */
+    @Parameter(property = "fermenter.schemaValidation", defaultValue = "false")
+    private boolean schemaValidation;
+
+    /**
+     * Skips rendering files whose inputs (template, metamodels, generator, and project configuration) are unchanged
+     * since the prior build, as recorded in a manifest under the build directory.
+     */
+    @Parameter(property = "fermenter.incrementalGeneration", defaultValue = "true")
+    private boolean incrementalGeneration;
+
+    private GenerationManifest generationManifest;
+
+    /**
+     * Shares parsed templates across all module executions in the same Maven session that use this plugin with the
+     * same dependencies, rather than re-parsing them for each module.
+     */
+    @Parameter(property = "fermenter.templateCaching", defaultValue = "true")
+    private boolean templateCaching;
+
     private VelocityEngine engine;
 
+    /**
+     * Records how long each target, generator, template, and file takes to generate, and whether each file was written,
+     * unchanged, or skipped, to a json report under the build directory. When statistics are enabled, the slowest of
+     * these across the reactor are also reported at the end of the build.
+     */
+    @Parameter(property = "fermenter.generationReport", defaultValue = "true")
+    private boolean generationReport;
+
+    private GenerationReport report;
+
+    /**
+     * Maximum milliseconds that executing all targets of the profile may take. Not enforced when zero.
+     */
+    @Parameter(property = "fermenter.maxGenerationMillis", defaultValue = "0")
+    private long maxGenerationMillis;
+
+    /**
+     * Maximum milliseconds that executing any single target may take. Not enforced when zero.
+     */
+    @Parameter(property = "fermenter.maxTargetMillis", defaultValue = "0")
+    private long maxTargetMillis;
+
+    /**
+     * Maximum milliseconds that generating all files of any single template may take. Not enforced when zero.
+     */
+    @Parameter(property = "fermenter.maxTemplateMillis", defaultValue = "0")
+    private long maxTemplateMillis;
+
+    /**
+     * Maximum number of files that may be written, rather than left unchanged or skipped. Not enforced when zero.
+     */
+    @Parameter(property = "fermenter.maxFilesWritten", defaultValue = "0")
+    private long maxFilesWritten;
+
+    /**
+     * Fails the build when generation exceeds any of the budgets above. Otherwise, exceeded budgets are only logged as
+     * warnings.
+     */
+    @Parameter(property = "fermenter.failOnBudgetExceeded", defaultValue = "true")
+    private boolean failOnBudgetExceeded;
+
+    private GenerationBudget budget;
+
+    private ModelRepositoryConfiguration metadataConfiguration;
+
+    private ModelInstanceRepository metadataRepository;
+
+    /**
+     * Keeps binary snapshots of the models parsed from metadataDependencies jars between builds, so that subsequent
+     * builds can skip parsing the JSON within each jar.
+     */
+    @Parameter(property = "fermenter.metamodelSnapshots", defaultValue = "false")
+    private boolean metamodelSnapshots;
+
+    /**
+     * Directory in which metamodel snapshots are kept when {@link #metamodelSnapshots} is enabled.
+     */
+    @Parameter(property = "fermenter.metamodelSnapshotDirectory",
+            defaultValue = "${user.home}/.m2/fermenter/metamodel-snapshots")
+    private File metamodelSnapshotDirectory;
+
     @Parameter(property = "session", required = true, readonly = true)
     protected MavenSession session;
 
@@ -171,13 +288,12 @@ public class GenerateSourcesMojo extends AbstractMojo {
     };
 
     @Override
-    public void execute() throws MojoExecutionException {
+    public void execute() throws MojoExecutionException, MojoFailureException {
         GenerateSourcesHelper.suppressKrauseningWarnings();
 
         try {
             setup();
-            GenerateSourcesHelper.performSourceGeneration(profile, profiles, this::createGenerationContext,
-                this::handleInvalidProfile, mavenLoggerDelegate, project.getBasedir());
+            generateSources();
         } catch (Exception e) {
             String message = "Error while performing source generation";
             // NB logging and re-throwing isn't usually a best practice as it
@@ -189,6 +305,7 @@ public class GenerateSourcesMojo extends AbstractMojo {
 
         } finally {
             GenerateSourcesHelper.cleanUp();
+            GenerateSourcesHelper.releaseSharedCaches();
 
         }
 
@@ -196,6 +313,43 @@ public class GenerateSourcesMojo extends AbstractMojo {
         // at the end of the build:
         notificationService.recordNotifications(getProject());
 
+        enforceGenerationBudget();
+    }
+
+    /**
+     * Executes every target of the profile against the loaded and validated metamodel repository, then saves the
+     * generation manifest and writes the generation report.
+     *
+     * @throws Exception an invalid profile was specified or an unexpected error occurred during generation
+     */
+    protected void generateSources() throws Exception {
+        generateSources(target -> true);
+    }
+
+    /**
+     * Generates as {@link #generateSources()} does, executing only the targets of the profile accepted by the given
+     * filter.
+     *
+     * @param targetFilter accepts the targets to execute
+     * @throws Exception an invalid profile was specified or an unexpected error occurred during generation
+     */
+    protected void generateSources(Predicate<Target> targetFilter) throws Exception {
+        long start = System.nanoTime();
+        GenerateSourcesHelper.performSourceGeneration(profile, profiles, this::createGenerationContext,
+            this::handleInvalidProfile, mavenLoggerDelegate, project.getBasedir(), targetParallelism, targetFilter);
+        if (generationManifest != null) {
+            generationManifest.save();
+        }
+        if (report != null) {
+            report.recordGeneration(System.nanoTime() - start);
+            if (generationReport) {
+                writeGenerationReport();
+            }
+        }
+        if (templateCaching) {
+            getLog().info(String.format("Shared template cache: %d hits, %d misses so far in this session",
+                TemplateCache.getHits(), TemplateCache.getMisses()));
+        }
     }
 
     /**
@@ -208,7 +362,7 @@ public class GenerateSourcesMojo extends AbstractMojo {
      * @throws MojoExecutionException any unexpected error occurs during metamodel loading and
      *                                validation.
      */
-    private void setup() throws MojoExecutionException {
+    protected void setup() throws MojoExecutionException {
         if (metadataDependencies == null) {
             metadataDependencies = new ArrayList<>();
         }
@@ -229,21 +383,80 @@ public class GenerateSourcesMojo extends AbstractMojo {
             }
         }
 
+        // budgets are checked against the report, so it is recorded for them even when it is not written
+        budget = new GenerationBudget(maxGenerationMillis, maxTargetMillis, maxTemplateMillis, maxFilesWritten);
+        report = generationReport || budget.isEnforced() ? new GenerationReport(project.getArtifactId()) : null;
+        engine = templateCaching ? TemplateCache.getSharedEngine() : TemplateCache.createEngine(false);
         try {
-            ModelRepositoryConfiguration config = createMetadataConfiguration();
-            ModelInstanceRepository newRepository = GenerateSourcesHelper.loadMetamodelRepository(config,
+            metadataConfiguration = createMetadataConfiguration();
+            long start = System.nanoTime();
+            metadataRepository = GenerateSourcesHelper.loadMetamodelRepository(metadataConfiguration,
                 metadataRepositoryImpl, mavenLoggerDelegate);
+            if (report != null) {
+                report.recordLoad(System.nanoTime() - start);
+            }
+
+            start = System.nanoTime();
+            GenerateSourcesHelper.validateMetamodelRepository(metadataRepository, mavenLoggerDelegate);
+            if (report != null) {
+                report.recordValidation(System.nanoTime() - start);
+            }
 
-            GenerateSourcesHelper.validateMetamodelRepository(newRepository, mavenLoggerDelegate);
+            if (incrementalGeneration) {
+                generationManifest = createGenerationManifest(metadataConfiguration);
+            }
         } catch (MalformedURLException | ClassNotFoundException | NoSuchMethodException | InstantiationException
                  | IllegalAccessException | InvocationTargetException e) {
             throw new MojoExecutionException("Could not successfully load metamodel repository", e);
         }
+    }
+
+    /**
+     * Brings the metamodel repository loaded by {@link #setup()} up to date with the given files, each of which may
+     * have been created, modified, or deleted since, then validates it again. Only the changed files are read when
+     * the repository is a {@link DefaultModelInstanceRepository}; otherwise, or if the repository was never
+     * successfully loaded, every metamodel is loaded again. Targets, profiles, and the template engine are kept as
+     * they are, ready for {@link #generateSources()}.
+     *
+     * @param changedFiles changed metamodel and local types files
+     * @param complete     false if other changes may have been missed, in which case everything is loaded again
+     * @throws MojoExecutionException if the repository cannot be loaded
+     */
+    protected void reloadMetamodels(Collection<File> changedFiles, boolean complete) throws MojoExecutionException {
+        MessageTracker.getInstance().clear();
+
+        if (!complete || changedFiles.contains(localTypes.getAbsoluteFile())) {
+            // types are only ever added to, so start again from those on the classpath
+            TypeManager.cleanUp();
+            TypeManager.getInstance().loadLocalTypes(localTypes);
+        }
+
+        report = report != null ? new GenerationReport(project.getArtifactId()) : null;
+        try {
+            long start = System.nanoTime();
+            if (complete && metadataRepository instanceof DefaultModelInstanceRepository) {
+                ((DefaultModelInstanceRepository) metadataRepository).reload(changedFiles);
+            } else {
+                metadataRepository = GenerateSourcesHelper.loadMetamodelRepository(metadataConfiguration,
+                    metadataRepositoryImpl, mavenLoggerDelegate);
+            }
+            if (report != null) {
+                report.recordLoad(System.nanoTime() - start);
+            }
+
+            start = System.nanoTime();
+            GenerateSourcesHelper.validateMetamodelRepository(metadataRepository, mavenLoggerDelegate);
+            if (report != null) {
+                report.recordValidation(System.nanoTime() - start);
+            }
 
-        engine = new VelocityEngine();
-        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
-        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
-        engine.init();
+            if (incrementalGeneration) {
+                generationManifest = createGenerationManifest(metadataConfiguration);
+            }
+        } catch (MalformedURLException | ClassNotFoundException | NoSuchMethodException | InstantiationException
+                 | IllegalAccessException | InvocationTargetException e) {
+            throw new MojoExecutionException("Could not successfully load metamodel repository", e);
+        }
     }
 
 
@@ -369,6 +582,13 @@ public class GenerateSourcesMojo extends AbstractMojo {
         }
 
         config.setTargetModelInstances(targetedArtifactIds);
+        config.setLoadParallelism(loadParallelism);
+        config.setValidationParallelism(validationParallelism);
+        config.setSchemaValidation(schemaValidation);
+        if (metamodelSnapshots) {
+            // snapshots written by other plugin versions may not be compatible, so keep them apart
+            config.setSnapshotDirectory(new File(metamodelSnapshotDirectory, plugin.getVersion()));
+        }
         Map<String, ModelInstanceUrl> metadataUrls = config.getMetamodelInstanceLocations();
         String projectUrl = getLocalMetadataRoot().toURI().toURL().toString();
         metadataUrls.put(project.getArtifactId(), new ModelInstanceUrl(project.getArtifactId(), projectUrl));
@@ -391,6 +611,81 @@ public class GenerateSourcesMojo extends AbstractMojo {
         return config;
     }
 
+    /**
+     * Creates the {@link GenerationManifest} used to skip rendering files whose inputs are unchanged, fingerprinting
+     * the configuration and metamodel instances that every generated file depends upon.
+     *
+     * @param config metamodel configuration of this project
+     * @return manifest loaded from the build directory
+     * @throws MalformedURLException
+     */
+    private GenerationManifest createGenerationManifest(ModelRepositoryConfiguration config) throws MalformedURLException {
+        List<String> fingerprintInputs = new ArrayList<>();
+        fingerprintInputs.add(plugin.getVersion());
+        fingerprintInputs.addAll(GenerationManifest.getContextInputs(createGenerationContext(new Target())));
+        fingerprintInputs.add(language);
+        fingerprintInputs.add(String.valueOf(config.getTargetModelInstances()));
+        fingerprintInputs.add(GenerationManifest.hashModelInstanceLocation(localTypes.toURI().toURL().toString()));
+        for (ModelInstanceUrl modelInstanceUrl : new TreeMap<>(config.getMetamodelInstanceLocations()).values()) {
+            fingerprintInputs.add(modelInstanceUrl.getArtifactId());
+            fingerprintInputs.add(GenerationManifest.hashModelInstanceLocation(modelInstanceUrl.getUrl()));
+        }
+        // templates may parse or include templates and macro libraries from any jar of the plugin
+        for (Artifact pluginArtifact : CollectionUtils.emptyIfNull(plugin.getArtifacts())) {
+            fingerprintInputs.add(pluginArtifact.getId());
+            if (pluginArtifact.getFile() != null) {
+                fingerprintInputs.add(GenerationManifest.hashClasspathEntry(pluginArtifact.getFile()));
+            }
+        }
+
+        File manifestFile = new File(getBuildDirectory(), "fermenter/generation-manifest.json");
+        return GenerationManifest.load(manifestFile, fingerprintInputs);
+    }
+
+    private void writeGenerationReport() {
+        File reportFile = new File(getBuildDirectory(), "fermenter/generation-report.json");
+        if (report.write(reportFile)) {
+            getLog().info(String.format("Generated %d files (%d written, %d unchanged, %d skipped); timings in %s",
+                report.getFilesWritten() + report.getFilesUnchanged() + report.getFilesSkipped(),
+                report.getFilesWritten(), report.getFilesUnchanged(), report.getFilesSkipped(), reportFile));
+            statisticsService.recordGenerationReport(reportFile);
+        }
+    }
+
+    /**
+     * Reports each budget exceeded by this execution, naming the target or template that exceeded it.
+     *
+     * @throws MojoFailureException if any budget was exceeded and {@link #failOnBudgetExceeded} is set
+     */
+    private void enforceGenerationBudget() throws MojoFailureException {
+        if (report == null || !budget.isEnforced()) {
+            return;
+        }
+
+        List<GenerationBudget.Violation> violations = budget.check(report);
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(String.format("Source generation exceeded %d budget(s):",
+            violations.size()));
+        for (GenerationBudget.Violation violation : violations) {
+            message.append(System.lineSeparator()).append("\t").append(violation);
+        }
+        if (failOnBudgetExceeded) {
+            throw new MojoFailureException(message + System.lineSeparator()
+                + "Set failOnBudgetExceeded to false (-Dfermenter.failOnBudgetExceeded=false) to only warn.");
+        }
+        getLog().warn(message);
+    }
+
+    private File getBuildDirectory() {
+        if (project.getBuild() != null && project.getBuild().getDirectory() != null) {
+            return new File(project.getBuild().getDirectory());
+        }
+        return new File(project.getBasedir(), "target");
+    }
+
     /**
      * Helper method that automatically updates appropriate Mojo configurations based on the specified target language,
      * which is configured via {@link #language}. Specifically, this method overrides the various file locations in
@@ -490,6 +785,9 @@ public class GenerateSourcesMojo extends AbstractMojo {
             context.setScmUrl(project.getScm().getUrl());
         }
         context.setPropertyVariables(propertyVariables);
+        context.setRenderParallelism(renderParallelism);
+        context.setGenerationManifest(generationManifest);
+        context.setGenerationReport(report);
         context.setExecutionRootDirectory(new File (session.getExecutionRootDirectory()));
 
         String rootArtifactId = getRootArtifactId();
@@ -570,6 +868,14 @@ public class GenerateSourcesMojo extends AbstractMojo {
         return localMetadataRoot != null ? localMetadataRoot : new File(mainSourceRoot, "resources");
     }
 
+    protected StatisticsService getStatisticsService() {
+        return statisticsService;
+    }
+
+    protected File getLocalTypes() {
+        return localTypes;
+    }
+
     public Map<String, ExpandedFamily> getFamilies() {
         return families;
     }
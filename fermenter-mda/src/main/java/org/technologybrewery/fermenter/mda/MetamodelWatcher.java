@@ -0,0 +1,181 @@
+package org.technologybrewery.fermenter.mda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the local metadata directory, including every directory beneath it, and the local types file for changes to
+ * metamodel json files, so that the {@link WatchMojo} can reload only what changed.
+ */
+final class MetamodelWatcher implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(MetamodelWatcher.class);
+    private static final String METAMODEL_SUFFIX = ".json";
+
+    private final Path metadataRoot;
+    private final Path localTypes;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    /**
+     * Starts watching.
+     *
+     * @param metadataRoot directory containing the entities, services, and other metamodel directories
+     * @param localTypes   the local types file, which need not be within the metadata directory
+     * @throws IOException if the directories cannot be watched
+     */
+    MetamodelWatcher(File metadataRoot, File localTypes) throws IOException {
+        this.metadataRoot = metadataRoot.toPath().toAbsolutePath().normalize();
+        this.localTypes = localTypes.toPath().toAbsolutePath().normalize();
+        watchService = FileSystems.getDefault().newWatchService();
+
+        if (Files.isDirectory(this.metadataRoot)) {
+            registerTree(this.metadataRoot, null);
+        } else {
+            logger.warn("{} is not a directory, so no metamodels will be watched", this.metadataRoot);
+        }
+
+        Path localTypesDirectory = this.localTypes.getParent();
+        if (!this.localTypes.startsWith(this.metadataRoot) && localTypesDirectory != null
+                && Files.isDirectory(localTypesDirectory)) {
+            register(localTypesDirectory);
+        }
+    }
+
+    /**
+     * Waits for a metamodel or the local types to change, then keeps collecting changes until none are made for the
+     * given quiet period, so that saving several files at once, or an editor writing a file in several steps, is
+     * reported as one set of changes.
+     *
+     * @param timeoutMillis     maximum milliseconds to wait for the first change
+     * @param quietPeriodMillis milliseconds without changes after which the changes are returned
+     * @return every changed file, which is empty if nothing relevant changed before the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Changes awaitChanges(long timeoutMillis, long quietPeriodMillis) throws InterruptedException {
+        Changes changes = new Changes();
+        WatchKey key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        while (key != null) {
+            collect(key, changes);
+            key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+        return changes;
+    }
+
+    private void collect(WatchKey key, Changes changes) {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                changes.complete = false;
+                continue;
+            }
+
+            Path changed = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE && watchedDirectories.containsValue(changed)) {
+                // the files within a deleted directory are not reliably reported
+                changes.complete = false;
+
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && changed.startsWith(metadataRoot)
+                    && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+                registerCreatedTree(changed, changes);
+
+            } else if (isMetamodelOrLocalTypes(changed)) {
+                changes.files.add(changed.toFile());
+
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void registerCreatedTree(Path directory, Changes changes) {
+        try {
+            registerTree(directory, changes);
+        } catch (IOException e) {
+            logger.warn("Unable to watch {}", directory, e);
+            changes.complete = false;
+        }
+    }
+
+    private void registerTree(Path directory, Changes changes) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> pathIterator = paths.iterator();
+            while (pathIterator.hasNext()) {
+                Path path = pathIterator.next();
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    register(path);
+                } else if (changes != null && isMetamodelOrLocalTypes(path)) {
+                    // created before the directory was watched, such as when a directory is moved in
+                    changes.files.add(path.toFile());
+                }
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+    }
+
+    private boolean isMetamodelOrLocalTypes(Path file) {
+        return file.equals(localTypes)
+            || (file.startsWith(metadataRoot) && file.getFileName().toString().endsWith(METAMODEL_SUFFIX));
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Files changed while waiting in {@link #awaitChanges(long, long)}.
+     */
+    static final class Changes {
+        private final Set<File> files = new TreeSet<>();
+        private boolean complete = true;
+
+        /**
+         * @return each created, modified, or deleted metamodel or local types file
+         */
+        Set<File> getFiles() {
+            return Collections.unmodifiableSet(files);
+        }
+
+        /**
+         * @return false if further changes may have been missed, such as when too many were made at once, so that
+         * everything must be reloaded
+         */
+        boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * @return true if nothing relevant changed
+         */
+        boolean isEmpty() {
+            return complete && files.isEmpty();
+        }
+    }
+}
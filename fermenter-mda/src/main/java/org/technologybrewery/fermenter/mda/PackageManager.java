@@ -22,7 +22,7 @@ public class PackageManager {
     private PackageManager() {
     }
 
-    private static PackageManager getInstance() {
+    static PackageManager getInstance() {
         return threadBoundInstance.get();
     }
 
@@ -70,6 +70,16 @@ public class PackageManager {
         return url.openStream();
     }
 
+    /**
+     * Binds the given instance to the current thread.
+     * 
+     * @param instance
+     *            instance to bind
+     */
+    static void bind(PackageManager instance) {
+        threadBoundInstance.set(instance);
+    }
+
     /**
      * Cleans up thread local resources.
      */
@@ -0,0 +1,91 @@
+package org.technologybrewery.fermenter.mda;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager.ThreadBoundRepositories;
+import org.technologybrewery.fermenter.mda.notification.Notification;
+import org.technologybrewery.fermenter.mda.notification.NotificationCollector;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+/**
+ * Captures the thread-bound singletons that generation relies upon (metamodel repositories and managers, packages,
+ * types, messages, and notifications) so that work may be handed off to other threads. Captured instances are shared,
+ * not copied, so messages and notifications collected by worker threads are reported with those of the capturing
+ * thread.
+ */
+public final class ThreadBoundState {
+
+    private final ThreadBoundRepositories repositories;
+    private final PackageManager packageManager;
+    private final TypeManager typeManager;
+    private final MessageTracker messageTracker;
+    private final Map<String, Map<String, Notification>> notifications;
+    private final Thread capturingThread;
+
+    private ThreadBoundState() {
+        capturingThread = Thread.currentThread();
+        repositories = ModelInstanceRepositoryManager.captureThreadBoundRepositories();
+        packageManager = PackageManager.getInstance();
+        typeManager = TypeManager.getInstance();
+        messageTracker = MessageTracker.getInstance();
+        notifications = NotificationCollector.getNotifications();
+    }
+
+    /**
+     * Captures the state bound to the current thread.
+     *
+     * @return captured state
+     */
+    public static ThreadBoundState capture() {
+        return new ThreadBoundState();
+    }
+
+    /**
+     * Binds the captured state to the current thread.
+     */
+    public void attach() {
+        repositories.attach();
+        PackageManager.bind(packageManager);
+        TypeManager.bind(typeManager);
+        MessageTracker.bind(messageTracker);
+        NotificationCollector.bind(notifications);
+    }
+
+    /**
+     * Removes all state bound to the current thread without resetting it.
+     */
+    public static void detach() {
+        ThreadBoundRepositories.detach();
+        PackageManager.cleanUp();
+        TypeManager.cleanUp();
+        MessageTracker.cleanUp();
+        NotificationCollector.cleanup();
+    }
+
+    /**
+     * Wraps the given task so that it runs with the captured state attached, detaching it once complete so pooled
+     * threads do not leak state between executions. Tasks that end up running on the capturing thread itself are
+     * executed as-is.
+     *
+     * @param task
+     *            task to wrap
+     * @return wrapped task
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            if (Thread.currentThread() == capturingThread) {
+                return task.call();
+            }
+
+            attach();
+            try {
+                return task.call();
+            } finally {
+                detach();
+            }
+        };
+    }
+
+}
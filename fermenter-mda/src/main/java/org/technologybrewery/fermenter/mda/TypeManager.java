@@ -42,6 +42,16 @@ public class TypeManager {
         threadBoundInstance.remove();
     }
 
+    /**
+     * Binds the given instance to the current thread.
+     * 
+     * @param instance
+     *            instance to bind
+     */
+    static void bind(TypeManager instance) {
+        threadBoundInstance.set(instance);
+    }
+
     private TypeManager() {
         load();
     }
@@ -0,0 +1,104 @@
+package org.technologybrewery.fermenter.mda;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.technologybrewery.fermenter.mda.element.Target;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Generates sources as {@link GenerateSourcesMojo} does, then keeps the loaded metamodels, targets, and template engine
+ * in memory and generates again each time a local metamodel or the local types file changes, until interrupted. Only
+ * the changed metamodels are reloaded, targets declaring that they read no changed kind of metamodel are skipped, and
+ * only generated files whose content changed are written.
+ */
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE)
+public class WatchMojo extends GenerateSourcesMojo {
+
+    /**
+     * Milliseconds to wait after a change for any further changes, so that saving several metamodels at once only
+     * generates once.
+     */
+    @Parameter(property = "fermenter.watchQuietPeriod", defaultValue = "200")
+    private long watchQuietPeriod;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        GenerateSourcesHelper.suppressKrauseningWarnings();
+        boolean statsReportingEnabled = getStatisticsService().isStatsReportingEnabled();
+
+        // watched before generating, so that changes made while generating are not missed
+        try (MetamodelWatcher watcher = new MetamodelWatcher(getLocalMetadataRoot(), getLocalTypes())) {
+            try {
+                setup();
+                generateSources();
+            } catch (MojoExecutionException e) {
+                throw e;
+            } catch (Exception e) {
+                getLog().error("Generation failed, waiting for changes", e);
+            }
+
+            getLog().info("Watching " + getLocalMetadataRoot() + " for changes, press Ctrl+C to stop");
+            // a file is generated again on every change, so would otherwise be reported as a duplicate
+            getStatisticsService().setStatsReportingEnabled(false);
+            while (!Thread.currentThread().isInterrupted()) {
+                MetamodelWatcher.Changes changes = watcher.awaitChanges(Long.MAX_VALUE, watchQuietPeriod);
+                if (!changes.isEmpty()) {
+                    regenerate(changes);
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not watch " + getLocalMetadataRoot() + " for changes", e);
+        } finally {
+            getStatisticsService().setStatsReportingEnabled(statsReportingEnabled);
+            GenerateSourcesHelper.cleanUp();
+            GenerateSourcesHelper.releaseSharedCaches();
+        }
+    }
+
+    private void regenerate(MetamodelWatcher.Changes changes) {
+        long start = System.nanoTime();
+        try {
+            reloadMetamodels(changes.getFiles(), changes.isComplete());
+            generateSources(getTargetsAffectedBy(changes));
+            String changed = changes.isComplete() ? changes.getFiles().size() + " file(s)"
+                : "an unknown number of files";
+            getLog().info(String.format("Regenerated in %d ms after changes to %s",
+                (System.nanoTime() - start) / 1000000, changed));
+        } catch (Exception e) {
+            getLog().error("Generation failed, waiting for changes", e);
+        }
+    }
+
+    /**
+     * Returns a filter of the targets that may generate differently after the given changes. Every target is accepted
+     * if changes may have been missed or a file outside of the metamodel directories changed, such as the local types,
+     * which any metamodel may refer to.
+     */
+    private Predicate<Target> getTargetsAffectedBy(MetamodelWatcher.Changes changes) {
+        if (!changes.isComplete()) {
+            return target -> true;
+        }
+
+        Path metadataRoot = getLocalMetadataRoot().toPath().toAbsolutePath().normalize();
+        Set<String> changedMetadataLocations = new HashSet<>();
+        for (File file : changes.getFiles()) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            if (!path.startsWith(metadataRoot) || metadataRoot.relativize(path).getNameCount() < 2) {
+                return target -> true;
+            }
+            changedMetadataLocations.add(metadataRoot.relativize(path).getName(0).toString());
+        }
+        return GenerateSourcesHelper.getTargetsAffectedByChangesTo(changedMetadataLocations);
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Map;
  */
 public class ExpandedFamily {
 
-    private static MessageTracker messageTracker = MessageTracker.getInstance();
+    private static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
     protected Family Family;
 
@@ -17,7 +17,7 @@ import com.google.common.collect.ImmutableList;
  */
 public class ExpandedProfile implements Comparable<ExpandedProfile> {
 
-    private static MessageTracker messageTracker = MessageTracker.getInstance();
+    private static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
     protected Profile profile;
 
@@ -3,14 +3,26 @@ package org.technologybrewery.fermenter.mda.generator;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.text.WordUtils;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 
 import com.google.common.base.CaseFormat;
+import org.technologybrewery.fermenter.mda.ThreadBoundState;
+import org.technologybrewery.fermenter.mda.reporting.FileGenerationEvent;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileOutcome;
 import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
 
 /**
@@ -30,55 +42,177 @@ public abstract class AbstractGenerator implements Generator {
 
     protected String metadataContext;
 
+    /**
+     * Generates the current output file of the given {@link GenerationContext}.
+     * 
+     * @param gc
+     *            generation context whose template and output file will be used
+     * @param vc
+     *            velocity context to merge with the template
+     */
     protected final void generateFile(GenerationContext gc, VelocityContext vc) {
-        try {
-            Template template = gc.getEngine().getTemplate(gc.getTemplateName());
-            long templateLastModified = template.getLastModified();
-            File baseFile = getBaseFile(gc);
+        generateFile(gc, createRenderRequest(gc, gc.getOutputFile(), vc));
+    }
 
-            String baseFileName = getOutputSubFolder() + gc.getOutputFile();
-            String tempFileName = baseFileName + ".tmp";
+    /**
+     * Creates an immutable request to render the template of the given {@link GenerationContext} to the given output
+     * file, resolving it against the base file and output sub-folder of this generator.
+     * 
+     * @param gc
+     *            generation context of the current target
+     * @param outputFile
+     *            output file name with all variables replaced
+     * @param vc
+     *            velocity context to merge with the template
+     * @return render request
+     */
+    protected final RenderRequest createRenderRequest(GenerationContext gc, String outputFile, VelocityContext vc) {
+        File destinationFile = new File(getBaseFile(gc), getOutputSubFolder() + outputFile);
+        return new RenderRequest(gc.getTemplateName(), destinationFile, gc.isOverwritable(), gc.isAppend(), vc);
+    }
 
-            File destinationFile = new File(baseFile, baseFileName);
-            File tempFile = new File(baseFile, tempFileName);
+    /**
+     * Renders each of the given requests. When the render parallelism of the {@link GenerationContext} is greater
+     * than one, requests are rendered concurrently on a fork/join pool created for this call, whose workers share the
+     * thread-bound metamodel state of the calling thread. Requests that append to, or otherwise share, a destination
+     * file are always rendered in order on the calling thread. All requests are attempted; the failure of the earliest
+     * request is thrown with any others suppressed within it.
+     * 
+     * @param gc
+     *            generation context of the current target
+     * @param requests
+     *            requests to render
+     */
+    protected final void generateFiles(GenerationContext gc, List<RenderRequest> requests) {
+        int renderParallelism = gc.getRenderParallelism();
+        if (renderParallelism <= 1 || requests.size() <= 1 || gc.isAppend() || !hasDistinctDestinations(requests)) {
+            for (RenderRequest request : requests) {
+                generateFile(gc, request);
+            }
+            return;
+        }
 
-            StatisticsService statisticsService = gc.getStatisticsService();
-            statisticsService.recordStats(template, destinationFile, vc);
-
-            boolean isCleanWrite = false;
-            if (destinationFile.exists()) {
-                if (!gc.isOverwritable()) {
-                    // never overwrite a CM-ed (by declaration) file
-                    return;
-                } else if (destinationFile.lastModified() < templateLastModified) {
-                    // if the template is newer that the destination file, just overwrite
-                    isCleanWrite = true;
-                }
+        ThreadBoundState state = ThreadBoundState.capture();
+        List<Callable<Void>> tasks = new ArrayList<>(requests.size());
+        for (RenderRequest request : requests) {
+            tasks.add(state.wrap(() -> {
+                generateFile(gc, request);
+                return null;
+            }));
+        }
 
-            } else {
-                isCleanWrite = true;
+        // created per call rather than kept, so no threads outlive the execution or pin the plugin's class loader
+        List<Future<Void>> results;
+        ForkJoinPool pool = new ForkJoinPool(Math.min(renderParallelism, requests.size()));
+        try {
+            results = pool.invokeAll(tasks);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        RuntimeException failure = null;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GenerationException("Interrupted while generating files", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                RuntimeException renderFailure = (cause instanceof RuntimeException) ? (RuntimeException) cause
+                        : new GenerationException("Unable to generate file", cause);
+                if (failure == null) {
+                    failure = renderFailure;
+                } else {
+                    failure.addSuppressed(renderFailure);
+                }
             }
+        }
 
-            File outputFile = (isCleanWrite || gc.isAppend()) ? destinationFile : tempFile;
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-            outputFile.getParentFile().mkdirs();
+    private static boolean hasDistinctDestinations(List<RenderRequest> requests) {
+        Set<File> destinationFiles = new HashSet<>();
+        for (RenderRequest request : requests) {
+            if (!destinationFiles.add(request.getDestinationFile())) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-            Writer fw = new FileWriter(outputFile, true);
-            template.merge(vc, fw);
-            fw.close();
+    /**
+     * Renders the given request, skipping it entirely if the {@link GenerationManifest} of the context shows that the
+     * destination file was already generated from the same inputs. The time taken and outcome are recorded to the
+     * {@link GenerationReport} of the context, if any, and to a {@link FileGenerationEvent} when Java Flight Recorder
+     * is recording.
+     * 
+     * @param gc
+     *            generation context providing the engine, statistics service, and manifest
+     * @param request
+     *            request to render
+     */
+    protected final void generateFile(GenerationContext gc, RenderRequest request) {
+        FileGenerationEvent event = new FileGenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        FileOutcome outcome = render(gc, request);
+        event.complete(gc.getTargetName(), request.getTemplateName(), request.getDestinationFile(), outcome);
+        GenerationReport report = gc.getGenerationReport();
+        if (report != null) {
+            report.recordFile(gc.getTargetName(), request.getTemplateName(), request.getDestinationFile(), outcome,
+                    System.nanoTime() - start);
+        }
+    }
 
-            if (!isCleanWrite) {
-                if (gc.isAppend()) {
-                    return;
+    private FileOutcome render(GenerationContext gc, RenderRequest request) {
+        try {
+            StatisticsService statisticsService = gc.getStatisticsService();
+            File destinationFile = request.getDestinationFile();
+            if (destinationFile.exists() && !request.isOverwritable()) {
+                // never overwrite a CM-ed (by declaration) file
+                statisticsService.recordStats(destinationFile);
+                return FileOutcome.SKIPPED;
+            }
+
+            GenerationManifest manifest = gc.getGenerationManifest();
+            String inputHash = null;
+            if (manifest != null && !request.isAppend()) {
+                inputHash = manifest.computeHash(request, this, metadataContext);
+                if (manifest.isUnchanged(destinationFile, inputHash)) {
+                    statisticsService.recordStats(destinationFile);
+                    return FileOutcome.UNCHANGED;
                 }
-                boolean isContentEqual = FileUtils.contentEquals(destinationFile, tempFile);
-                if (!isContentEqual) {
-                    destinationFile.delete();
-                    tempFile.renameTo(destinationFile);
-                } else {
-                    tempFile.deleteOnExit();
+            }
+
+            Template template = gc.getEngine().getTemplate(request.getTemplateName());
+            VelocityContext vc = request.getVelocityContext();
+
+            if (request.isAppend()) {
+                destinationFile.getParentFile().mkdirs();
+                try (Writer fw = statisticsService.collectStats(new FileWriter(destinationFile, true),
+                        destinationFile)) {
+                    template.merge(vc, fw);
                 }
+                return FileOutcome.WRITTEN;
+            }
+
+            // compares against the existing file while rendering, so unchanged files are never rewritten
+            ChangeDetectingWriter output = new ChangeDetectingWriter(destinationFile, Charset.defaultCharset());
+            boolean written;
+            try (Writer fw = statisticsService.collectStats(output, destinationFile)) {
+                template.merge(vc, fw);
+                fw.flush();
+                written = output.commit();
+            }
+
+            if (inputHash != null) {
+                manifest.record(destinationFile, inputHash);
             }
+            return written ? FileOutcome.WRITTEN : FileOutcome.UNCHANGED;
 
         } catch (Exception ex) {
             throw new GenerationException("Unable to generate file", ex);
@@ -17,8 +17,6 @@ public abstract class AbstractModelAgnosticGenerator extends AbstractGenerator {
         fileName = replaceArtifactId(fileName, context.getArtifactId());
         fileName = replaceCapitalizedCamelCasedArtifactId(fileName,
                 (String) vc.get(CAPITALIZED_CAMEL_CASED_ARTIFACT_ID));
-        context.setOutputFile(fileName);
-
-        generateFile(context, vc);
+        generateFile(context, createRenderRequest(context, fileName, vc));
     }
 }
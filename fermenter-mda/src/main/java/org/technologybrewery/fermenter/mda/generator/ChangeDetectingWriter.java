@@ -0,0 +1,191 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * {@link Writer} that compares rendered output against the existing destination file as it is written, using a fixed
+ * size buffer regardless of file size. Nothing is written to disk while the output matches the existing content. At
+ * the first difference, the matching prefix and all subsequent output are streamed to a temporary sibling file, which
+ * atomically replaces the destination on {@link #commit()}. Unchanged files are therefore never touched, keeping their
+ * modification times stable. Closing the writer without committing discards any pending output.
+ */
+final class ChangeDetectingWriter extends Writer {
+
+    private final ChangeDetectingOutputStream output;
+    private final Writer encoder;
+
+    ChangeDetectingWriter(File destinationFile, Charset charset) throws IOException {
+        output = new ChangeDetectingOutputStream(destinationFile.toPath());
+        encoder = new OutputStreamWriter(output, charset);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        encoder.write(cbuf, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        encoder.flush();
+    }
+
+    /**
+     * Completes the write, replacing the destination file if and only if the rendered content differs from it.
+     *
+     * @return true if the destination file was written
+     * @throws IOException
+     */
+    public boolean commit() throws IOException {
+        encoder.flush();
+        return output.commit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.discard();
+    }
+
+    private static final class ChangeDetectingOutputStream extends OutputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final Path destination;
+        private final byte[] compareBuffer = new byte[BUFFER_SIZE];
+        private InputStream existing;
+        private long matchedBytes;
+        private Path tempFile;
+        private OutputStream diverged;
+        private boolean complete;
+
+        private ChangeDetectingOutputStream(Path destination) throws IOException {
+            this.destination = destination;
+            if (Files.exists(destination)) {
+                existing = new BufferedInputStream(Files.newInputStream(destination), BUFFER_SIZE);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (diverged == null) {
+                int matched = compare(b, off, len);
+                matchedBytes += matched;
+                if (matched == len) {
+                    return;
+                }
+                diverge();
+                off += matched;
+                len -= matched;
+            }
+            diverged.write(b, off, len);
+        }
+
+        /**
+         * Returns the number of leading bytes of the given range that match the next bytes of the existing file.
+         */
+        private int compare(byte[] b, int off, int len) throws IOException {
+            if (existing == null) {
+                return 0;
+            }
+
+            int compared = 0;
+            while (compared < len) {
+                int chunk = Math.min(len - compared, compareBuffer.length);
+                int read = existing.readNBytes(compareBuffer, 0, chunk);
+                for (int i = 0; i < read; i++) {
+                    if (compareBuffer[i] != b[off + compared + i]) {
+                        return compared + i;
+                    }
+                }
+                compared += read;
+                if (read < chunk) {
+                    // existing file is shorter than the rendered output
+                    return compared;
+                }
+            }
+            return compared;
+        }
+
+        /**
+         * Starts writing to a temporary file, seeded with the prefix that matched the existing file.
+         */
+        private void diverge() throws IOException {
+            closeExisting();
+            Path directory = destination.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // unlike Files.createTempFile, keeps the default permissions that the destination would have been created with
+            tempFile = directory.resolve(destination.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            diverged = new BufferedOutputStream(Files.newOutputStream(tempFile, StandardOpenOption.CREATE_NEW),
+                    BUFFER_SIZE);
+            if (matchedBytes > 0) {
+                try (InputStream prefix = Files.newInputStream(destination)) {
+                    long remaining = matchedBytes;
+                    while (remaining > 0) {
+                        int read = prefix.read(compareBuffer, 0, (int) Math.min(compareBuffer.length, remaining));
+                        if (read < 0) {
+                            throw new IOException(destination + " changed while being regenerated");
+                        }
+                        diverged.write(compareBuffer, 0, read);
+                        remaining -= read;
+                    }
+                }
+            }
+        }
+
+        private boolean commit() throws IOException {
+            if (diverged == null && (existing == null || existing.read() != -1)) {
+                // no existing file, or the existing file has content beyond the rendered output
+                diverge();
+            }
+
+            boolean changed = diverged != null;
+            if (changed) {
+                diverged.close();
+                try {
+                    Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            complete = true;
+            closeExisting();
+            return changed;
+        }
+
+        private void discard() throws IOException {
+            closeExisting();
+            if (!complete && diverged != null) {
+                diverged.close();
+                Files.deleteIfExists(tempFile);
+            }
+            complete = true;
+        }
+
+        private void closeExisting() throws IOException {
+            if (existing != null) {
+                existing.close();
+                existing = null;
+            }
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package org.technologybrewery.fermenter.mda.generator;
 
 import org.apache.velocity.app.VelocityEngine;
 import org.technologybrewery.fermenter.mda.element.Target;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport;
 import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
 
 import java.io.File;
@@ -10,6 +11,7 @@ import java.util.Map;
 
 public final class GenerationContext {
 
+    private String targetName;
     private String templateName;
     private String outputFile;
     private boolean overwritable;
@@ -31,6 +33,9 @@ public final class GenerationContext {
     private StatisticsService statisticsService;
     private File executionRootDirectory;
     private String rootArtifactId;
+    private int renderParallelism = 1;
+    private GenerationManifest generationManifest;
+    private GenerationReport generationReport;
 
     public VelocityEngine getEngine() {
         return engine;
@@ -47,12 +52,17 @@ public final class GenerationContext {
     public GenerationContext(Target target) {
         this();
 
+        this.targetName = target.getName();
         this.templateName = target.getTemplateName();
         this.outputFile = target.getOutputFile();
         this.overwritable = target.isOverwritable();
         this.artifactType = target.getArtifactType();
     }
 
+    public String getTargetName() {
+        return targetName;
+    }
+
     public File getProjectDirectory() {
         return projectDirectory;
     }
@@ -220,5 +230,29 @@ public final class GenerationContext {
     public void setRootArtifactId(String rootArtifactId) {
         this.rootArtifactId = rootArtifactId;
     }
+
+    public int getRenderParallelism() {
+        return renderParallelism;
+    }
+
+    public void setRenderParallelism(int renderParallelism) {
+        this.renderParallelism = renderParallelism;
+    }
+
+    public GenerationManifest getGenerationManifest() {
+        return generationManifest;
+    }
+
+    public void setGenerationManifest(GenerationManifest generationManifest) {
+        this.generationManifest = generationManifest;
+    }
+
+    public GenerationReport getGenerationReport() {
+        return generationReport;
+    }
+
+    public void setGenerationReport(GenerationReport generationReport) {
+        this.generationReport = generationReport;
+    }
     
 }
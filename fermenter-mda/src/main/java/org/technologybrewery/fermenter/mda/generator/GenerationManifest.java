@@ -0,0 +1,303 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+/**
+ * Records, per generated file, a hash of every input that contributed to it so that subsequent builds can skip
+ * rendering files whose inputs have not changed. Inputs common to all files (plugin version, every value of the
+ * generation context that templates may read, such as project coordinates, properties, and the root artifact, the
+ * contents of all metamodel instance locations, and every entry of the plugin classpath) are captured once as the
+ * manifest fingerprint; the template source, the generator, and the destination are added per file. Any change to the model therefore re-renders every file. Because templates may parse or include other
+ * templates and macro libraries, which cannot be known without rendering, any change to a classpath entry holding
+ * templates also re-renders every file.
+ */
+public final class GenerationManifest {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationManifest.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final File manifestFile;
+    private final String fingerprint;
+    private final Map<String, ManifestEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> templateHashes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> generatorHashes = new ConcurrentHashMap<>();
+
+    private GenerationManifest(File manifestFile, String fingerprint) {
+        this.manifestFile = manifestFile;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Loads the manifest stored in the given file, if present.
+     *
+     * @param manifestFile
+     *            file in which the manifest is stored between builds
+     * @param fingerprintInputs
+     *            inputs shared by all generated files, such as project coordinates, properties, and the hashes
+     *            returned by {@link #hashModelInstanceLocation(String)}
+     * @return manifest
+     */
+    public static GenerationManifest load(File manifestFile, List<String> fingerprintInputs) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String input : fingerprintInputs) {
+            hasher.putString(String.valueOf(input), StandardCharsets.UTF_8).putChar('\n');
+        }
+        GenerationManifest manifest = new GenerationManifest(manifestFile, hasher.hash().toString());
+
+        if (manifestFile.exists()) {
+            try {
+                Map<String, ManifestEntry> storedEntries = OBJECT_MAPPER.readValue(manifestFile,
+                        new TypeReference<Map<String, ManifestEntry>>() {
+                        });
+                manifest.entries.putAll(storedEntries);
+            } catch (IOException e) {
+                logger.debug("Ignoring unreadable generation manifest {}", manifestFile, e);
+            }
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Hashes the metamodel JSON files found at the given location. Directory contents are hashed file by file, while
+     * jars are identified by their path, size, and modification time.
+     *
+     * @param url
+     *            url of a metamodel instance location
+     * @return hash of the location
+     */
+    public static String hashModelInstanceLocation(String url) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(url, StandardCharsets.UTF_8);
+        try {
+            File location = new File(new URL(url).toURI());
+            if (location.isDirectory()) {
+                Collection<File> jsonFiles = new TreeSet<>(FileUtils.listFiles(location, new String[] { "json" }, true));
+                for (File jsonFile : jsonFiles) {
+                    hasher.putString(jsonFile.getPath(), StandardCharsets.UTF_8);
+                    hasher.putBytes(Files.asByteSource(jsonFile).hash(Hashing.sha256()).asBytes());
+                }
+            } else {
+                hasher.putLong(location.length()).putLong(location.lastModified());
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            // unable to inspect the location, so ensure it never matches a prior build
+            logger.debug("Unable to hash model instance location {}", url, e);
+            hasher.putLong(System.nanoTime());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Hashes an entry of the classpath from which templates, macro libraries, and generators are loaded. Jars are
+     * identified by their path, size, and modification time, while directories, such as the classes of a module in the
+     * same reactor, are identified by the path, size, and modification time of every file within them.
+     *
+     * @param entry
+     *            jar or directory on the classpath
+     * @return hash of the entry
+     */
+    public static String hashClasspathEntry(File entry) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(entry.getAbsolutePath(), StandardCharsets.UTF_8);
+        if (entry.isDirectory()) {
+            for (File file : new TreeSet<>(FileUtils.listFiles(entry, null, true))) {
+                hasher.putString(file.getPath(), StandardCharsets.UTF_8);
+                hasher.putLong(file.length()).putLong(file.lastModified());
+            }
+        } else {
+            hasher.putLong(entry.length()).putLong(entry.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Computes the hash of all inputs contributing to the given request.
+     *
+     * @param request
+     *            request to render
+     * @param generator
+     *            generator creating the request
+     * @param metadataContext
+     *            metadata context of the generator
+     * @return input hash
+     */
+    public String computeHash(RenderRequest request, Generator generator, String metadataContext) {
+        return Hashing.sha256().newHasher()
+                .putString(fingerprint, StandardCharsets.UTF_8)
+                .putString(request.getTemplateName(), StandardCharsets.UTF_8)
+                .putString(templateHashes.computeIfAbsent(request.getTemplateName(), GenerationManifest::hashTemplate),
+                        StandardCharsets.UTF_8)
+                .putString(generatorHashes.computeIfAbsent(generator.getClass(), GenerationManifest::hashGenerator),
+                        StandardCharsets.UTF_8)
+                .putString(String.valueOf(metadataContext), StandardCharsets.UTF_8)
+                .putString(request.getDestinationFile().getPath(), StandardCharsets.UTF_8)
+                .putBoolean(request.isOverwritable())
+                .hash().toString();
+    }
+
+    /**
+     * Returns the values of the given generation context that are shared by every target and may be read by
+     * templates, such as the project coordinates, source directories, and root artifact, for inclusion in the
+     * fingerprint, so that building a module on its own rather than from the reactor root renders its files again.
+     *
+     * @param context
+     *            context that every target's context is created like
+     * @return fingerprint inputs
+     */
+    public static List<String> getContextInputs(GenerationContext context) {
+        return Arrays.asList(context.getBasePackage(), context.getGroupId(), context.getArtifactId(),
+                context.getVersion(), context.getDescriptiveName(), context.getScmUrl(),
+                new TreeMap<>(context.getPropertyVariables()).toString(),
+                String.valueOf(context.getProjectDirectory()), String.valueOf(context.getMainSourceDirectory()),
+                String.valueOf(context.getGeneratedSourceDirectory()), String.valueOf(context.getTestSourceDirectory()),
+                String.valueOf(context.getGeneratedTestSourceDirectory()),
+                String.valueOf(context.getExecutionRootDirectory()), context.getRootArtifactId());
+    }
+
+    /**
+     * Returns whether the given destination file was generated from the same inputs by a prior build and has not been
+     * modified since.
+     *
+     * @param destinationFile
+     *            file to check
+     * @param hash
+     *            hash of the current inputs
+     * @return true if rendering can be skipped
+     */
+    public boolean isUnchanged(File destinationFile, String hash) {
+        ManifestEntry entry = entries.get(destinationFile.getPath());
+        return entry != null && hash.equals(entry.getHash()) && destinationFile.exists()
+                && destinationFile.length() == entry.getLength()
+                && destinationFile.lastModified() == entry.getLastModified();
+    }
+
+    /**
+     * Records that the given destination file is up to date with the given inputs.
+     *
+     * @param destinationFile
+     *            file that was generated
+     * @param hash
+     *            hash of the inputs it was generated from
+     */
+    public void record(File destinationFile, String hash) {
+        ManifestEntry entry = new ManifestEntry();
+        entry.setHash(hash);
+        entry.setLength(destinationFile.length());
+        entry.setLastModified(destinationFile.lastModified());
+        entries.put(destinationFile.getPath(), entry);
+    }
+
+    /**
+     * Writes the manifest, dropping entries for files that no longer exist.
+     */
+    public void save() {
+        Iterator<String> paths = entries.keySet().iterator();
+        while (paths.hasNext()) {
+            if (!new File(paths.next()).exists()) {
+                paths.remove();
+            }
+        }
+
+        try {
+            manifestFile.getParentFile().mkdirs();
+            OBJECT_MAPPER.writeValue(manifestFile, entries);
+        } catch (IOException e) {
+            logger.warn("Unable to write generation manifest {}", manifestFile, e);
+        }
+    }
+
+    private static String hashTemplate(String templateName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null || classLoader.getResource(templateName) == null) {
+            classLoader = GenerationManifest.class.getClassLoader();
+        }
+
+        try (InputStream templateStream = classLoader.getResourceAsStream(templateName)) {
+            if (templateStream == null) {
+                // let the render itself report the missing template
+                return String.valueOf(System.nanoTime());
+            }
+            return Hashing.sha256().hashBytes(ByteStreams.toByteArray(templateStream)).toString();
+        } catch (IOException e) {
+            throw new GenerationException("Unable to read template " + templateName, e);
+        }
+    }
+
+    private static String hashGenerator(Class<?> generatorClass) {
+        // generator logic may change without a version change (e.g., SNAPSHOTs), so key on the archive holding it
+        String generatorHash = generatorClass.getName();
+        CodeSource codeSource = generatorClass.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            try {
+                generatorHash += ":" + hashClasspathEntry(new File(codeSource.getLocation().toURI()));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // unable to inspect the archive, so ensure it never matches a prior build
+                logger.debug("Unable to hash generator archive {}", codeSource.getLocation(), e);
+                generatorHash += ":" + System.nanoTime();
+            }
+        }
+        return generatorHash;
+    }
+
+    /**
+     * Stored state of a single generated file.
+     */
+    public static class ManifestEntry {
+
+        private String hash;
+        private long length;
+        private long lastModified;
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public void setLength(long length) {
+            this.length = length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(long lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+
+}
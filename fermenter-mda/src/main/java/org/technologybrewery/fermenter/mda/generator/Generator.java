@@ -1,5 +1,9 @@
 package org.technologybrewery.fermenter.mda.generator;
 
+import java.util.Set;
+
+import org.technologybrewery.fermenter.mda.metamodel.element.Metamodel;
+
 /**
  * Defines contract for generating files.
  */
@@ -21,4 +25,16 @@ public interface Generator {
      */
     void setMetadataContext(String metadataContext);
 
+    /**
+     * Declares the types of metamodel (e.g., {@link org.technologybrewery.fermenter.mda.metamodel.element.Entity})
+     * whose instances this generator may read, whether directly, through other metamodels, or from the repository, so
+     * that the watch goal can skip its targets when no metamodel of those types has changed. An empty set declares
+     * that no metamodel is read.
+     * 
+     * @return types of metamodel read, or null, the default, if unknown, in which case targets are always executed
+     */
+    default Set<Class<? extends Metamodel>> getMetamodelTypesRead() {
+        return null;
+    }
+
 }
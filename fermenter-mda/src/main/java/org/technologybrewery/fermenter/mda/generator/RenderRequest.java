@@ -0,0 +1,50 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import java.io.File;
+
+import org.apache.velocity.VelocityContext;
+
+/**
+ * Immutable description of a single file to render: the template to merge, the fully resolved file to write, and the
+ * {@link VelocityContext} to merge it with. Requests are created on the generating thread via
+ * {@link AbstractGenerator#createRenderRequest(GenerationContext, String, VelocityContext)} so that they may be
+ * rendered independently of one another, and of any later changes to the {@link GenerationContext}.
+ */
+public final class RenderRequest {
+
+    private final String templateName;
+    private final File destinationFile;
+    private final boolean overwritable;
+    private final boolean append;
+    private final VelocityContext velocityContext;
+
+    RenderRequest(String templateName, File destinationFile, boolean overwritable, boolean append,
+            VelocityContext velocityContext) {
+        this.templateName = templateName;
+        this.destinationFile = destinationFile;
+        this.overwritable = overwritable;
+        this.append = append;
+        this.velocityContext = velocityContext;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public File getDestinationFile() {
+        return destinationFile;
+    }
+
+    public boolean isOverwritable() {
+        return overwritable;
+    }
+
+    public boolean isAppend() {
+        return append;
+    }
+
+    public VelocityContext getVelocityContext() {
+        return velocityContext;
+    }
+
+}
@@ -0,0 +1,123 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.Resource;
+import org.apache.velocity.runtime.resource.ResourceCacheImpl;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+
+/**
+ * Provides {@link VelocityEngine}s that share parsed templates across every generate-sources execution within the same
+ * plugin class loader. Maven reuses a plugin's class realm for all modules of a session that use the same plugin
+ * dependencies, so each classpath template is parsed once per session rather than once per module. As templates are
+ * resolved through that class loader, keying engines by it also keys the cached templates by the jar they were loaded
+ * from. Each engine references the class loader it is keyed by, so engines are held until {@link #clear()} is called
+ * at the end of the session, allowing long-lived Maven daemons to release the class realms of prior builds. Hit and
+ * miss counts cover the whole session, even when engines are released after each execution, and are only reset by
+ * {@link #resetCounts()} once the session ends.
+ */
+public final class TemplateCache {
+
+    private static final Map<ClassLoader, VelocityEngine> ENGINES = new HashMap<>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private TemplateCache() {
+        // prevent instantiation of all static class
+    }
+
+    /**
+     * Returns the shared, template caching engine for the current thread's context class loader, creating it if
+     * needed.
+     *
+     * @return shared engine
+     */
+    public static VelocityEngine getSharedEngine() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = TemplateCache.class.getClassLoader();
+        }
+
+        synchronized (ENGINES) {
+            return ENGINES.computeIfAbsent(classLoader, key -> createEngine(true));
+        }
+    }
+
+    /**
+     * Creates an engine that loads templates from the classpath.
+     *
+     * @param cacheTemplates
+     *            whether parsed templates should be retained by the engine
+     * @return initialized engine
+     */
+    public static VelocityEngine createEngine(boolean cacheTemplates) {
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        if (cacheTemplates) {
+            engine.setProperty("resource.loader.classpath.cache", "true");
+            // templates within jars do not change during a build
+            engine.setProperty("resource.loader.classpath.modification_check_interval", "-1");
+            // a non-positive size selects an unbounded cache rather than the default LRU of 89 templates
+            engine.setProperty(RuntimeConstants.RESOURCE_MANAGER_DEFAULTCACHE_SIZE, "0");
+            engine.setProperty(RuntimeConstants.RESOURCE_MANAGER_CACHE_CLASS, CountingResourceCache.class.getName());
+        }
+        engine.init();
+        return engine;
+    }
+
+    /**
+     * Releases all shared engines, along with the templates they cached and the class loaders they reference. Hit and
+     * miss counts are kept, as other executions of the session may still be running.
+     */
+    public static void clear() {
+        synchronized (ENGINES) {
+            ENGINES.clear();
+        }
+    }
+
+    /**
+     * Resets the hit and miss counts at the end of a session.
+     */
+    public static void resetCounts() {
+        HITS.set(0);
+        MISSES.set(0);
+    }
+
+    /**
+     * @return number of template lookups served from a shared engine's cache since the counts were last reset
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * @return number of template lookups that required parsing a template since the counts were last reset
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Velocity resource cache that counts hits and misses.
+     */
+    public static class CountingResourceCache extends ResourceCacheImpl {
+
+        @Override
+        public Resource get(Object key) {
+            Resource resource = super.get(key);
+            if (resource != null) {
+                HITS.incrementAndGet();
+            } else {
+                MISSES.incrementAndGet();
+            }
+            return resource;
+        }
+    }
+
+}
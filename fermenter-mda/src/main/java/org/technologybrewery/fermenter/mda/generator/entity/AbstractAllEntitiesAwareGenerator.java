@@ -35,9 +35,7 @@ public abstract class AbstractAllEntitiesAwareGenerator extends AbstractGenerato
 
         String fileName = context.getOutputFile();
         fileName = replaceBasePackage(fileName, context.getBasePackageAsPath());
-        context.setOutputFile(fileName);
-
-        generateFile(context, vc);
+        generateFile(context, createRenderRequest(context, fileName, vc));
     }
 
 }
@@ -12,7 +12,8 @@ import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
 /**
  * Provides foundational functionality to generate across "all entities" with ordering based on dependencies within the
  * entities (e.g., referenced objects first, leaf nodes last). Otherwise has the same characteristics as
- * {@link AbstractAllEntitiesAwareGenerator}.
+ * {@link AbstractAllEntitiesAwareGenerator}. The dependency order is computed once per metadata context and shared by
+ * every target using this generator.
  *
  */
 public abstract class AbstractAllOrderedEntitiesAwareGenerator extends AbstractGenerator {
@@ -35,9 +36,7 @@ public abstract class AbstractAllOrderedEntitiesAwareGenerator extends AbstractG
 
         String fileName = context.getOutputFile();
         fileName = replaceBasePackage(fileName, context.getBasePackageAsPath());
-        context.setOutputFile(fileName);
-
-        generateFile(context, vc);
+        generateFile(context, createRenderRequest(context, fileName, vc));
     }
 
 }
@@ -1,12 +1,15 @@
 package org.technologybrewery.fermenter.mda.generator.entity;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.velocity.VelocityContext;
 import org.technologybrewery.fermenter.mda.generator.AbstractGenerator;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
 import org.technologybrewery.fermenter.mda.generator.GenerationException;
+import org.technologybrewery.fermenter.mda.generator.RenderRequest;
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
@@ -28,6 +31,7 @@ public abstract class AbstractEntityGenerator extends AbstractGenerator {
         String fileName;
         String basefileName = context.getOutputFile();
         basefileName = replaceBasePackage(basefileName, context.getBasePackageAsPath());
+        List<RenderRequest> requests = new ArrayList<>(entityMap.size());
         while (entities.hasNext()) {
             Entity entity = (Entity) entities.next();
 
@@ -38,11 +42,11 @@ public abstract class AbstractEntityGenerator extends AbstractGenerator {
                 populateVelocityContext(vc, entity, context);
 
                 fileName = replaceEntityName(basefileName, entity.getName());
-                context.setOutputFile(fileName);
-
-                generateFile(context, vc);
+                requests.add(createRenderRequest(context, fileName, vc));
             }
         }
+
+        generateFiles(context, requests);
     }
 
     /**
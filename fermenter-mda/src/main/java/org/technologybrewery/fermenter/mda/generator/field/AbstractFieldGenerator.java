@@ -1,11 +1,13 @@
 package org.technologybrewery.fermenter.mda.generator.field;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.velocity.VelocityContext;
 import org.technologybrewery.fermenter.mda.generator.AbstractGenerator;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.RenderRequest;
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 import org.technologybrewery.fermenter.mda.metamodel.element.BaseFieldDecorator;
@@ -22,6 +24,7 @@ public abstract class AbstractFieldGenerator extends AbstractGenerator {
         baseFileName = replaceBasePackage(baseFileName, context.getBasePackageAsPath());
 
         Map<String, Entity> entityMap = metamodelRepository.getEntitiesByContext(metadataContext);
+        List<RenderRequest> requests = new ArrayList<>();
         if (entityMap != null && !entityMap.isEmpty()) {
             for (Entity entity : entityMap.values()) {
                 List<Field> entityFields = entity.getFields();
@@ -33,13 +36,13 @@ public abstract class AbstractFieldGenerator extends AbstractGenerator {
 
                         String fileName = replace("entityName", baseFileName, entity.getName());
                         fileName = replace("fieldName", fileName, field.getName());
-                        context.setOutputFile(fileName);
-
-                        generateFile(context, vc);
+                        requests.add(createRenderRequest(context, fileName, vc));
             		}
             	}
             }
         }
+
+        generateFiles(context, requests);
     }
 
     /**
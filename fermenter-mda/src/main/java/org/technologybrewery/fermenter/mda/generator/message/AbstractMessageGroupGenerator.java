@@ -1,10 +1,13 @@
 package org.technologybrewery.fermenter.mda.generator.message;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.velocity.VelocityContext;
 import org.technologybrewery.fermenter.mda.generator.AbstractGenerator;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.RenderRequest;
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 import org.technologybrewery.fermenter.mda.metamodel.element.MessageGroup;
@@ -29,15 +32,16 @@ public abstract class AbstractMessageGroupGenerator extends AbstractGenerator {
 		String baseFileName = context.getOutputFile();
 		baseFileName = replaceBasePackage(baseFileName, context.getBasePackageAsPath());
 
+		List<RenderRequest> requests = new ArrayList<>(messageGroups.size());
 		for (MessageGroup messageGroup : messageGroups.values()) {
 			VelocityContext vc = new VelocityContext();
 			populateVelocityContext(vc, messageGroup, context);
 
 			fileName = replaceMessageGroupName(baseFileName, messageGroup.getName());
-			context.setOutputFile(fileName);
-
-			generateFile(context, vc);
+			requests.add(createRenderRequest(context, fileName, vc));
 		}
+
+		generateFiles(context, requests);
 	}
 
 	/**
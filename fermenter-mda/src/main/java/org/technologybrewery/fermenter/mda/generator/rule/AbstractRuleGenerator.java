@@ -1,10 +1,13 @@
 package org.technologybrewery.fermenter.mda.generator.rule;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.velocity.VelocityContext;
 import org.technologybrewery.fermenter.mda.generator.AbstractGenerator;
 import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.RenderRequest;
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 import org.technologybrewery.fermenter.mda.metamodel.element.Rule;
@@ -28,17 +31,17 @@ public abstract class AbstractRuleGenerator extends AbstractGenerator {
         String baseFileName = context.getOutputFile();
         baseFileName = replaceBasePackage(baseFileName, context.getBasePackageAsPath());
 
+        List<RenderRequest> requests = new ArrayList<>(rules.size());
         for (Rule rule : rules.values()) {
             VelocityContext vc = new VelocityContext();
             populateVelocityContext(vc, rule, context);
 
             fileName = replaceRuleName(baseFileName, rule.getName());
             fileName = replaceRuleGroup(fileName, rule.getRuleGroup());
-            
-            context.setOutputFile(fileName);
-
-            generateFile(context, vc);
+            requests.add(createRenderRequest(context, fileName, vc));
         }
+
+        generateFiles(context, requests);
     }
 
     /**
@@ -3,36 +3,39 @@ package org.technologybrewery.fermenter.mda.metamodel;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.JarURLConnection;
-import java.net.URI;
+import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.aeonbits.owner.KrauseningConfigFactory;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.technologybrewery.fermenter.mda.element.ValidatedElement;
 import org.technologybrewery.fermenter.mda.exception.FermenterException;
 import org.technologybrewery.fermenter.mda.generator.GenerationException;
 import org.technologybrewery.fermenter.mda.metamodel.element.Metamodel;
 import org.technologybrewery.fermenter.mda.metamodel.element.MetamodelElement;
 import org.technologybrewery.fermenter.mda.metamodel.element.NamespacedMetamodel;
+import org.technologybrewery.fermenter.mda.reporting.MetamodelLoadEvent;
 import org.technologybrewery.fermenter.mda.util.JsonUtils;
 import org.technologybrewery.fermenter.mda.util.MessageTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 
 /**
  * The bulk of metamodel management in a single abstract class. This base
@@ -45,12 +48,13 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 
 	private static final Logger logger = LoggerFactory.getLogger(AbstractMetamodelManager.class);
 
-	private static final String METAMODEL_SUFFIX = "json";
 	private Map<String, Map<String, T>> metadataByPackageMap = new HashMap<>();
 	private Map<String, Map<String, T>> metadataByArtifactIdMap = new HashMap<>();
 	private Map<String, T> completeMetadataMap = new HashMap<>();
+	private final Map<ModelContext, Map<String, T>> contextViews = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
 
-	private static MessageTracker messageTracker = MessageTracker.getInstance();
+	private static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
 	protected ModelRepositoryConfiguration repoConfiguration;
 
@@ -67,6 +71,8 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 		metadataByPackageMap = new HashMap<>();
 		metadataByArtifactIdMap = new HashMap<>();
 		completeMetadataMap = new HashMap<>();
+		contextViews.clear();
+		version.incrementAndGet();
 	}
 
 	/**
@@ -95,103 +101,238 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 	}
 
 	public void loadMetadata(ModelInstanceUrl modelInstanceUrl, ModelRepositoryConfiguration repoConfiguration) {
-        this.repoConfiguration = repoConfiguration;
-        if (StringUtils.isBlank(modelInstanceUrl.getUrl())) {
-            messageTracker.addErrorMessage("Model instance for artifactId '" + modelInstanceUrl.getArtifactId()
-                    + "' can not be found!  Please ensure the proper jar is on your classpath.");
-
-        } else {
-            List<URL> resources = null;
-
-            try {
-                resources = getMetadataResources(modelInstanceUrl.getUrl());
-
-            } catch (IOException | URISyntaxException e) {
-                logger.error("Problem encountered loading model instances for " + modelInstanceUrl.getArtifactId(), e);
-                messageTracker.addWarningMessage("No " + getMetadataLocation() + " metadata found for '"
-                        + modelInstanceUrl.getArtifactId() + "', skipping...");
-
-            }
-
-            if (resources == null || (!hasJarModels && !hasDirectoryModels)) {
-                if (delayedLocalDirectoryWarning != null) {
-                    logger.warn(delayedLocalDirectoryWarning);
-                }
-                return;
-            }
-           
-            for (URL resource : resources) {
-                InputStream is = null; 
-                try {
-                	is = resource.openStream();
-                    loadMetamodelFile(is, modelInstanceUrl.getArtifactId(), resource);
-	
-	            } catch (IOException | GenerationException e) {
-	                logger.error("Problem encountered loading model instance " + resource.toExternalForm(), e);
-	                messageTracker.addErrorMessage("Problem loading" + resource.toExternalForm()
-	                        + " model instance found in '" + modelInstanceUrl.getArtifactId() + "', skipping...");
-	                
-	            } finally {
-	                IOUtils.closeQuietly(is);
-	
-	            }
-            }
+		mergeMetadata(readMetadata(modelInstanceUrl, repoConfiguration));
+	}
 
-            postLoadMetamodel();
-        }
-    }
+	void loadMetadata(ModelInstanceUrl modelInstanceUrl, ModelRepositoryConfiguration repoConfiguration,
+			ModelSourceIndex index) {
+		mergeMetadata(readMetadata(modelInstanceUrl, repoConfiguration, index));
+	}
 
-	protected List<URL> getMetadataResources(String name) throws IOException, URISyntaxException {
-		List<URL> metadataResources = null;
-		if (name.contains(".jar")) {
-			metadataResources = getMetadataResourceFromJar(name);
-		} else {
-			metadataResources = getMetadataResourcesFromDirectory(name);
+	/**
+	 * Reads and parses the metadata at the given location without modifying this
+	 * manager, deferring all logging and messages until the result is passed to
+	 * {@link #mergeMetadata(LoadedMetadata)}. This allows locations and
+	 * metamodels to be read concurrently, while still being merged in a
+	 * deterministic order.
+	 * 
+	 * @param modelInstanceUrl  location to read
+	 * @param repoConfiguration repository configuration
+	 * @return read metadata
+	 */
+	LoadedMetadata<T> readMetadata(ModelInstanceUrl modelInstanceUrl, ModelRepositoryConfiguration repoConfiguration) {
+		ModelSourceIndex index = StringUtils.isBlank(modelInstanceUrl.getUrl()) ? null
+				: ModelSourceIndex.index(modelInstanceUrl.getUrl(), Collections.singletonList(getMetadataLocation()),
+						repoConfiguration.getSnapshotDirectory());
+		return readMetadata(modelInstanceUrl, repoConfiguration, index);
+	}
+
+	/**
+	 * Reads and parses this manager's slice of an already indexed model source.
+	 * See {@link #readMetadata(ModelInstanceUrl, ModelRepositoryConfiguration)}.
+	 * Emits a {@link MetamodelLoadEvent} when Java Flight Recorder is recording.
+	 * 
+	 * @param modelInstanceUrl  location to read
+	 * @param repoConfiguration repository configuration
+	 * @param index             index of the location, including this manager's
+	 *                          metadata location, or null if the location is
+	 *                          blank
+	 * @return read metadata
+	 */
+	LoadedMetadata<T> readMetadata(ModelInstanceUrl modelInstanceUrl, ModelRepositoryConfiguration repoConfiguration,
+			ModelSourceIndex index) {
+		MetamodelLoadEvent event = new MetamodelLoadEvent();
+		event.begin();
+		LoadedMetadata<T> loaded = readIndexedMetadata(modelInstanceUrl, repoConfiguration, index);
+		event.complete(modelInstanceUrl.getArtifactId(), getMetadataLocation(),
+				loaded.resources != null ? loaded.resources.size() : 0);
+		return loaded;
+	}
+
+	private LoadedMetadata<T> readIndexedMetadata(ModelInstanceUrl modelInstanceUrl,
+			ModelRepositoryConfiguration repoConfiguration, ModelSourceIndex index) {
+		LoadedMetadata<T> loaded = new LoadedMetadata<>(modelInstanceUrl, repoConfiguration);
+		if (StringUtils.isBlank(modelInstanceUrl.getUrl())) {
+			return loaded;
 		}
-		return metadataResources;
-	}
-
-	private List<URL> getMetadataResourceFromJar(String name) throws IOException {
-		List<URL> metadataResources = new ArrayList<>();
-		name = "jar:" + name + "!/";
-		URL jarUrl = new URL(name);
-		JarURLConnection jarConnection = (JarURLConnection) jarUrl.openConnection();
-		JarFile file = jarConnection.getJarFile();
-		Enumeration<JarEntry> e = file.entries();
-		while (e.hasMoreElements()) {
-			JarEntry newEntry = e.nextElement();
-			String entryName = newEntry.getName();
-			if (entryName.startsWith(this.getMetadataLocation()) && entryName.endsWith("." + METAMODEL_SUFFIX)) {
-				metadataResources.add(new URL(name + newEntry.getName()));
-				hasJarModels = true;
+
+		if (index.getFailure() != null) {
+			loaded.discoveryFailure = index.getFailure();
+
+		} else if (index.isJar()) {
+			boolean validate = repoConfiguration.isSchemaValidation();
+			List<ModelInstanceCache.ParsedModelInstance> modelInstances = index
+					.getParsedModelInstances(getMetadataLocation());
+			loaded.foundJarModels = !modelInstances.isEmpty();
+			loaded.resources = new ArrayList<>();
+			for (ModelInstanceCache.ParsedModelInstance modelInstance : modelInstances) {
+				loaded.resources.add(readMetamodelTree(modelInstance, validate));
 			}
+
+		} else {
+			List<URL> resources = index.getResources(getMetadataLocation());
+			loaded.foundDirectoryModels = !resources.isEmpty();
+			loaded.directoryWarning = index.getDirectoryWarning(getMetadataLocation());
+			boolean validate = repoConfiguration.isSchemaValidation();
+			loaded.resources = new ArrayList<>();
+			for (URL resource : resources) {
+				loaded.resources.add(readMetamodelFile(resource, validate));
+			}
+
 		}
 
-		return metadataResources;
+		return loaded;
 	}
 
-	private List<URL> getMetadataResourcesFromDirectory(String name) throws URISyntaxException, IOException {
-		List<URL> metadataResources = new ArrayList<>();
-		if(!name.endsWith("/")) {
-            name += "/";
+	/**
+	 * Adds previously read metadata to this manager, emitting any messages
+	 * encountered while reading it, exactly as if it had been loaded via
+	 * {@link #loadMetadata(ModelInstanceUrl, ModelRepositoryConfiguration)}.
+	 * 
+	 * @param loaded metadata read by {@link #readMetadata(ModelInstanceUrl, ModelRepositoryConfiguration)}
+	 */
+	void mergeMetadata(LoadedMetadata<T> loaded) {
+		this.repoConfiguration = loaded.repoConfiguration;
+		contextViews.clear();
+		version.incrementAndGet();
+		ModelInstanceUrl modelInstanceUrl = loaded.modelInstanceUrl;
+		if (StringUtils.isBlank(modelInstanceUrl.getUrl())) {
+			messageTracker.addErrorMessage("Model instance for artifactId '" + modelInstanceUrl.getArtifactId()
+					+ "' can not be found!  Please ensure the proper jar is on your classpath.");
+			return;
+		}
+
+		if (loaded.discoveryFailure != null) {
+			logger.error("Problem encountered loading model instances for " + modelInstanceUrl.getArtifactId(),
+					loaded.discoveryFailure);
+			messageTracker.addWarningMessage("No " + getMetadataLocation() + " metadata found for '"
+					+ modelInstanceUrl.getArtifactId() + "', skipping...");
+		}
+
+		hasJarModels |= loaded.foundJarModels;
+		hasDirectoryModels |= loaded.foundDirectoryModels;
+		if (loaded.directoryWarning != null) {
+			delayedLocalDirectoryWarning = loaded.directoryWarning;
+		}
+
+		if (loaded.resources == null || (!hasJarModels && !hasDirectoryModels)) {
+			if (delayedLocalDirectoryWarning != null) {
+				logger.warn(delayedLocalDirectoryWarning);
+			}
+			return;
+		}
+
+		for (LoadedResource<T> resource : loaded.resources) {
+			if (resource.instance != null) {
+				addMetadataElement(resource.instance, modelInstanceUrl.getArtifactId());
+
+			} else if (resource.failure instanceof IOException || resource.failure instanceof GenerationException) {
+				logger.error("Problem encountered loading model instance " + resource.url.toExternalForm(),
+						resource.failure);
+				messageTracker.addErrorMessage("Problem loading" + resource.url.toExternalForm()
+						+ " model instance found in '" + modelInstanceUrl.getArtifactId() + "', skipping...");
+
+			} else {
+				throw (RuntimeException) resource.failure;
+
+			}
 		}
-		File metamodelDir = new File(new URI(name + this.getMetadataLocation()));
-		if (metamodelDir.isDirectory()) {
-			String[] suffixFilter = { METAMODEL_SUFFIX };
-			Collection<File> files = FileUtils.listFiles(metamodelDir, suffixFilter, true);
-			if (CollectionUtils.isNotEmpty(files)) {
-				for (File file : files) {
-					metadataResources.add(file.toURI().toURL());
-					hasDirectoryModels =  true;
+
+		postLoadMetamodel();
+	}
+
+	/**
+	 * Replaces the instance read from the given file of the given artifact with
+	 * the file's current content, or removes it if the file has been deleted, so
+	 * that an edited file can be picked up without reading every other file
+	 * again. Unlike a full load, a file that cannot be read is always reported as
+	 * an error rather than thrown, leaving this manager consistent with the files
+	 * on disk for the next reload.
+	 * 
+	 * An instance that replaced one of the same name from another artifact cannot
+	 * be removed this way, as the replaced instance is no longer held, so nothing
+	 * is changed and false is returned for the caller to load all metadata again.
+	 * 
+	 * @param artifactId artifact whose local metadata directory contains the file
+	 * @param file       created, modified, or deleted file
+	 * @return true if reloaded, or false if all metadata must be loaded again
+	 */
+	boolean reloadMetadata(String artifactId, File file) {
+		Path changedPath = file.toPath().toAbsolutePath().normalize();
+		Map<String, T> artifactIdMap = getMetadataByArtifactIdMap(artifactId);
+		if (artifactIdMap != null) {
+			List<T> previousElements = new ArrayList<>();
+			for (T element : artifactIdMap.values()) {
+				if (isReadFrom(element, changedPath)) {
+					if (replacesOtherArtifact(element, artifactId)) {
+						return false;
+					}
+					previousElements.add(element);
 				}
 			}
+			for (T element : previousElements) {
+				removeMetadataElement(element, artifactId);
+			}
+		}
 
-		} else {
-		    delayedLocalDirectoryWarning = metamodelDir.getCanonicalPath() + " is not a valid directory!";
+		if (file.isFile()) {
+			URL resource;
+			try {
+				resource = changedPath.toUri().toURL();
+			} catch (MalformedURLException e) {
+				throw new GenerationException("Could not reload " + file, e);
+			}
 
+			LoadedResource<T> loaded = readMetamodelFile(resource, repoConfiguration.isSchemaValidation());
+			if (loaded.instance != null) {
+				addMetadataElement(loaded.instance, artifactId);
+			} else {
+				logger.error("Problem encountered reloading model instance " + resource.toExternalForm(),
+						loaded.failure);
+				messageTracker.addErrorMessage("Problem loading " + resource.toExternalForm()
+						+ " model instance found in '" + artifactId + "', skipping...");
+			}
 		}
 
-		return metadataResources;
+		contextViews.clear();
+		version.incrementAndGet();
+		return true;
+	}
+
+	private boolean replacesOtherArtifact(T element, String artifactId) {
+		for (Map.Entry<String, Map<String, T>> entry : metadataByArtifactIdMap.entrySet()) {
+			if (!entry.getKey().equals(artifactId) && entry.getValue().containsKey(element.getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isReadFrom(Object element, Path file) {
+		URL fileUrl = element instanceof MetamodelElement ? ((MetamodelElement) element).getFileUrl() : null;
+		if (fileUrl == null) {
+			return false;
+		}
+
+		try {
+			return Paths.get(fileUrl.toURI()).normalize().equals(file);
+		} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+			// read from a jar, so never the local file
+			return false;
+		}
+	}
+
+	protected void removeMetadataElement(T element, String artifactId) {
+		removeIfSame(getMetadataMap(element.getPackage()), element);
+		removeIfSame(getMetadataByArtifactIdMap(artifactId), element);
+		removeIfSame(completeMetadataMap, element);
+	}
+
+	private static <T extends NamespacedMetamodel> void removeIfSame(Map<String, T> metadataMap, T element) {
+		// elements of the same name from other packages or artifacts may have replaced this one
+		if (metadataMap != null && metadataMap.get(element.getName()) == element) {
+			metadataMap.remove(element.getName());
+		}
 	}
 
 	/**
@@ -202,12 +343,42 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 	 */
 	protected abstract String getMetadataLocation();
 
-	private void loadMetamodelFile(InputStream stream, String artifactId, URL resource) {
+	private LoadedResource<T> readMetamodelFile(URL resource, boolean validate) {
+		try (InputStream is = resource.openStream()) {
+			JsonNode tree = JsonUtils.getObjectMapper().readTree(is);
+			return new LoadedResource<>(resource, bindMetamodel(tree, resource, validate), null);
+
+		} catch (IOException | RuntimeException e) {
+			return new LoadedResource<>(resource, null, e);
+
+		}
+	}
+
+	private LoadedResource<T> readMetamodelTree(ModelInstanceCache.ParsedModelInstance modelInstance,
+			boolean validate) {
+		URL resource = modelInstance.getResource();
+		try {
+			return new LoadedResource<>(resource, bindMetamodel(modelInstance.getTree(), resource, validate), null);
+
+		} catch (IOException | RuntimeException e) {
+			return new LoadedResource<>(resource, null, e);
+
+		}
+	}
+
+	/**
+	 * Binds a parsed metamodel file, first validating the same tree against the
+	 * metamodel's json schema if requested.
+	 */
+	private T bindMetamodel(JsonNode tree, URL resource, boolean validate) {
 		ObjectMapper objectMapper = JsonUtils.getObjectMapper();
 		try {
-			T instance = objectMapper.readValue(stream, getMetamodelClass());
+			T instance = objectMapper.treeToValue(tree, getMetamodelClass());
+			if (validate) {
+				validateSchema(tree, instance, resource);
+			}
 			((MetamodelElement) instance).setFileUrl(resource);
-			addMetadataElement(instance, artifactId);
+			return instance;
 
 		} catch (IOException e) {
 			throw new FermenterException("Problem reading metamodel!", e);
@@ -216,6 +387,23 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 
 	}
 
+	private void validateSchema(JsonNode tree, T instance, URL resource) {
+		List<String> errors;
+		try {
+			errors = JsonUtils.validate(tree, (ValidatedElement) instance);
+		} catch (ProcessingException e) {
+			throw new GenerationException("Could not validate " + resource.toExternalForm(), e);
+		}
+
+		if (!errors.isEmpty()) {
+			StringBuilder message = new StringBuilder(resource.toExternalForm()).append(" contained validation errors!");
+			for (String error : errors) {
+				message.append("\n").append(error);
+			}
+			throw new GenerationException(message.toString());
+		}
+	}
+
 	/**
 	 * The metamodel class into which metadata should be read.
 	 * 
@@ -240,6 +428,25 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 		return metadataByPackageMap.get(packageName);
 	}
 
+	/**
+	 * Returns all metadata, keyed by package and then by name.
+	 * 
+	 * @return metadata by package
+	 */
+	Map<String, Map<String, T>> getMetadataByPackageMap() {
+		return metadataByPackageMap;
+	}
+
+	/**
+	 * Returns a counter that changes whenever metadata is reset or added, so that structures derived from this
+	 * metadata can detect that they are stale.
+	 * 
+	 * @return current version of this manager's metadata
+	 */
+	long getVersion() {
+		return version.get();
+	}
+
 	public Map<String, T> getMetadataByArtifactIdMap(String artifactId) {
 		return metadataByArtifactIdMap.get(artifactId);
 	}
@@ -276,6 +483,8 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 		    messageTracker.addWarningMessage("Metamodel " + name + " exists. Replacing...");
 		}
 		completeMetadataMap.put(name, element);
+		contextViews.clear();
+		version.incrementAndGet();
 
 	}
 
@@ -327,17 +536,31 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 	}
 
 	/**
-	 * Retrieves services based on a generation context.
+	 * Retrieves services based on a generation context. Each context's view is
+	 * computed once and shared until metadata is next loaded or reset.
 	 * 
 	 * @param context type of generation target context being used
-	 * @return map of services
+	 * @return unmodifiable map of services
 	 */
 	public Map<String, T> getMetadataElementByContext(String context) {
-		Map<String, T> metamodelInstanceMap;
 		if (ModelContext.useLocalModelInstancesOnly(context)) {
-			metamodelInstanceMap = getMetadataByArtifactIdMap(repoConfiguration.getArtifactId());
+			return contextViews.computeIfAbsent(ModelContext.LOCAL, this::createContextView);
 
 		} else if (ModelContext.useTargetedModelInstances(context)) {
+			return contextViews.computeIfAbsent(ModelContext.TARGETED, this::createContextView);
+
+		} else {
+			throw new GenerationException("Invalid context being requested '" + context + "'!");
+
+		}
+	}
+
+	private Map<String, T> createContextView(ModelContext context) {
+		Map<String, T> metamodelInstanceMap;
+		if (ModelContext.LOCAL == context) {
+			metamodelInstanceMap = getMetadataByArtifactIdMap(repoConfiguration.getArtifactId());
+
+		} else {
 			metamodelInstanceMap = new HashMap<>();
 			List<String> targetedArtifactIds = repoConfiguration.getTargetModelInstances();
 			for (String artifactId : targetedArtifactIds) {
@@ -349,16 +572,50 @@ public abstract class AbstractMetamodelManager<T extends NamespacedMetamodel> {
 				}
 			}
 
-		} else {
-			throw new GenerationException("Invalid context being requested '" + context + "'!");
-
 		}
 
 		if (metamodelInstanceMap == null) {
 			metamodelInstanceMap = Collections.emptyMap();
 		}
 
-		return metamodelInstanceMap;
+		return Collections.unmodifiableMap(metamodelInstanceMap);
+	}
+
+	/**
+	 * Metadata read from a single location by one manager, pending its merge into
+	 * that manager.
+	 */
+	static final class LoadedMetadata<T> {
+
+		private final ModelInstanceUrl modelInstanceUrl;
+		private final ModelRepositoryConfiguration repoConfiguration;
+		private List<LoadedResource<T>> resources;
+		private Exception discoveryFailure;
+		private boolean foundJarModels;
+		private boolean foundDirectoryModels;
+		private String directoryWarning;
+
+		private LoadedMetadata(ModelInstanceUrl modelInstanceUrl, ModelRepositoryConfiguration repoConfiguration) {
+			this.modelInstanceUrl = modelInstanceUrl;
+			this.repoConfiguration = repoConfiguration;
+		}
+	}
+
+	/**
+	 * A single metamodel file, either bound to an instance or the failure
+	 * encountered while reading it.
+	 */
+	private static final class LoadedResource<T> {
+
+		private final URL url;
+		private final T instance;
+		private final Exception failure;
+
+		private LoadedResource(URL url, T instance, Exception failure) {
+			this.url = url;
+			this.instance = instance;
+			this.failure = failure;
+		}
 	}
 
 }
@@ -1,21 +1,40 @@
 package org.technologybrewery.fermenter.mda.metamodel;
 
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.technologybrewery.fermenter.mda.ThreadBoundState;
 import org.technologybrewery.fermenter.mda.generator.GenerationException;
+import org.technologybrewery.fermenter.mda.metamodel.AbstractMetamodelManager.LoadedMetadata;
 import org.technologybrewery.fermenter.mda.metamodel.element.DictionaryType;
 import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
 import org.technologybrewery.fermenter.mda.metamodel.element.Enumeration;
 import org.technologybrewery.fermenter.mda.metamodel.element.MessageGroup;
+import org.technologybrewery.fermenter.mda.metamodel.element.NamespacedMetamodel;
 import org.technologybrewery.fermenter.mda.metamodel.element.Rule;
 import org.technologybrewery.fermenter.mda.metamodel.element.Service;
+import org.technologybrewery.fermenter.mda.reporting.MetamodelValidationEvent;
+import org.technologybrewery.fermenter.mda.util.DiagnosticsCollector;
 import org.technologybrewery.fermenter.mda.util.MessageTracker;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * Default implementation to serve up model instances of a specific metamodel type.
  */
@@ -30,6 +49,9 @@ public class DefaultModelInstanceRepository extends AbstractModelInstanceReposit
     private MessageGroupModelInstanceManager messageGroupManager = MessageGroupModelInstanceManager.getInstance();
     private RuleModelInstanceManager ruleManager = RuleModelInstanceManager.getInstance();
 
+    private volatile SymbolTable symbolTable;
+    private long symbolTableVersion;
+
     /**
      * Creates a new instance w/ the base package of the current project. This package name will become the default
      * package where no other is specified.
@@ -55,20 +77,237 @@ public class DefaultModelInstanceRepository extends AbstractModelInstanceReposit
         ruleManager.reset();
         
         Collection<ModelInstanceUrl> modelInstanceUrls = config.getMetamodelInstanceLocations().values();
-        for (ModelInstanceUrl modelInstanceUrl : modelInstanceUrls) {
-            long start = System.currentTimeMillis();
-            enumerationManager.loadMetadata(modelInstanceUrl, config);
-            dictionaryManager.loadMetadata(modelInstanceUrl, config);
-            serviceManager.loadMetadata(modelInstanceUrl, config);
-            entityManager.loadMetadata(modelInstanceUrl, config);
-            messageGroupManager.loadMetadata(modelInstanceUrl, config);
-            ruleManager.loadMetadata(modelInstanceUrl, config);
-
-            if (log.isInfoEnabled()) {
-                long stop = System.currentTimeMillis();
-                log.info("Metamodel instances for artifactId '" + modelInstanceUrl.getArtifactId()
-                        + "' have been loaded - " + (stop - start) + "ms");
+        if (config.getLoadParallelism() > 1 && !modelInstanceUrls.isEmpty()) {
+            loadConcurrently(new ArrayList<>(modelInstanceUrls));
+
+        } else {
+            for (ModelInstanceUrl modelInstanceUrl : modelInstanceUrls) {
+                long start = System.currentTimeMillis();
+                ModelSourceIndex index = index(modelInstanceUrl);
+                enumerationManager.loadMetadata(modelInstanceUrl, config, index);
+                dictionaryManager.loadMetadata(modelInstanceUrl, config, index);
+                serviceManager.loadMetadata(modelInstanceUrl, config, index);
+                entityManager.loadMetadata(modelInstanceUrl, config, index);
+                messageGroupManager.loadMetadata(modelInstanceUrl, config, index);
+                ruleManager.loadMetadata(modelInstanceUrl, config, index);
+
+                logLoaded(modelInstanceUrl, start);
+            }
+
+        }
+
+        link();
+    }
+
+    /**
+     * Reloads the given files of this project's local metadata, each of which may have been created, modified, or
+     * deleted since it was loaded, then links every entity again, so that a single edited file does not require every
+     * metamodel to be read again. Files outside of the local metadata's metamodel directories are ignored, as are
+     * metadata dependencies, which cannot change while loaded. If a changed file held an instance that replaced one of
+     * the same name from a metadata dependency, everything is loaded again so that the replaced instance is restored.
+     * 
+     * @param changedFiles
+     *            changed files
+     * @return the number of metamodel files reloaded
+     */
+    public int reload(Collection<File> changedFiles) {
+        ModelInstanceUrl localModelInstanceUrl = config.getMetamodelInstanceLocations().get(config.getArtifactId());
+        if (localModelInstanceUrl == null || StringUtils.isBlank(localModelInstanceUrl.getUrl())) {
+            return 0;
+        }
+
+        Path localMetadataRoot;
+        try {
+            localMetadataRoot = new File(new URI(localModelInstanceUrl.getUrl())).toPath().toAbsolutePath().normalize();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new GenerationException("Could not reload metamodel instances of " + localModelInstanceUrl.getUrl(),
+                    e);
+        }
+
+        int reloaded = 0;
+        boolean loadRequired = false;
+        for (File changedFile : changedFiles) {
+            Path changedPath = changedFile.toPath().toAbsolutePath().normalize();
+            if (!changedPath.startsWith(localMetadataRoot)
+                    || localMetadataRoot.relativize(changedPath).getNameCount() < 2) {
+                continue;
+            }
+
+            String metadataLocation = localMetadataRoot.relativize(changedPath).getName(0).toString();
+            for (AbstractMetamodelManager<?> manager : getManagers()) {
+                if (manager.getMetadataLocation().equals(metadataLocation)) {
+                    loadRequired = loadRequired || !manager.reloadMetadata(config.getArtifactId(), changedFile);
+                    reloaded++;
+                }
+            }
+        }
+
+        if (loadRequired) {
+            load();
+        } else if (reloaded > 0) {
+            link();
+        }
+        return reloaded;
+    }
+
+    /**
+     * Validates every element concurrently, each recording its messages to its own scope, then reports them ordered by
+     * file and then element so that the output does not depend on scheduling.
+     */
+    private void validateConcurrently() {
+        List<AbstractMetamodelManager<?>> managers = getManagers();
+        int elementCount = 0;
+        for (AbstractMetamodelManager<?> manager : managers) {
+            elementCount += manager.getMetadataElementWithoutPackage().size();
+        }
+        if (elementCount == 0) {
+            return;
+        }
+
+        // build shared lookups up front rather than having the first workers contend for them
+        getSymbolTable();
+
+        DiagnosticsCollector diagnostics = new DiagnosticsCollector();
+        int poolSize = Math.min(config.getValidationParallelism(), elementCount);
+        ThreadBoundState state = ThreadBoundState.capture();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                new ThreadFactoryBuilder().setNameFormat("fermenter-validate-%d").setDaemon(true).build());
+        try {
+            // each kind's event spans from queueing its first element until its last element is validated
+            List<MetamodelValidationEvent> events = new ArrayList<>();
+            List<List<Future<Void>>> validations = new ArrayList<>();
+            for (AbstractMetamodelManager<?> manager : managers) {
+                MetamodelValidationEvent event = new MetamodelValidationEvent();
+                event.begin();
+                events.add(event);
+                List<Future<Void>> kindValidations = new ArrayList<>();
+                for (NamespacedMetamodel element : manager.getMetadataElementWithoutPackage().values()) {
+                    DiagnosticsCollector.Scope scope = diagnostics.scope(element.getFileName(), element.getName());
+                    kindValidations.add(executor.submit(state.wrap(() -> {
+                        scope.run(element::validate);
+                        return null;
+                    })));
+                }
+                validations.add(kindValidations);
+            }
+
+            for (int i = 0; i < managers.size(); i++) {
+                for (Future<Void> validation : validations.get(i)) {
+                    await(validation);
+                }
+                events.get(i).complete(managers.get(i).getMetadataLocation(), validations.get(i).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        diagnostics.drainTo(MessageTracker.getInstance());
+    }
+
+    /**
+     * Resolves cross-element references once everything is loaded, so that entities from any artifact can refer to
+     * each other regardless of load order.
+     */
+    private void link() {
+        long start = System.currentTimeMillis();
+        MetamodelLinker.link(getSymbolTable(), entityManager.getMetadataByPackageMap(),
+                entityManager.getMetadataElementWithoutPackage());
+        if (log.isDebugEnabled()) {
+            log.debug("Linked metamodel instances - " + (System.currentTimeMillis() - start) + "ms");
+        }
+    }
+
+    /**
+     * Discovers the files of every metamodel within the given location in a single pass, so that each manager only
+     * reads its own slice.
+     */
+    private ModelSourceIndex index(ModelInstanceUrl modelInstanceUrl) {
+        if (StringUtils.isBlank(modelInstanceUrl.getUrl())) {
+            return null;
+        }
+
+        List<String> metadataLocations = new ArrayList<>();
+        for (AbstractMetamodelManager<?> manager : getManagers()) {
+            metadataLocations.add(manager.getMetadataLocation());
+        }
+        return ModelSourceIndex.index(modelInstanceUrl.getUrl(), metadataLocations, config.getSnapshotDirectory());
+    }
+
+    private List<AbstractMetamodelManager<?>> getManagers() {
+        return List.of(enumerationManager, dictionaryManager, serviceManager, entityManager, messageGroupManager,
+                ruleManager);
+    }
+
+    /**
+     * Indexes every location, then reads and parses every metamodel of every location concurrently, then merges the results into each manager in
+     * the same order as a sequential load, so that replacement warnings and messages are reported identically.
+     */
+    private void loadConcurrently(List<ModelInstanceUrl> modelInstanceUrls) {
+        List<AbstractMetamodelManager<?>> managers = getManagers();
+        int poolSize = Math.min(config.getLoadParallelism(), modelInstanceUrls.size() * managers.size());
+
+        ThreadBoundState state = ThreadBoundState.capture();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize,
+                new ThreadFactoryBuilder().setNameFormat("fermenter-load-%d").setDaemon(true).build());
+        try {
+            // indexes are queued ahead of all reads, so reads only ever wait on indexes that are already running
+            List<Future<ModelSourceIndex>> indexes = new ArrayList<>();
+            for (ModelInstanceUrl modelInstanceUrl : modelInstanceUrls) {
+                indexes.add(executor.submit(state.wrap(() -> index(modelInstanceUrl))));
             }
+
+            List<List<Future<Runnable>>> reads = new ArrayList<>();
+            for (int i = 0; i < modelInstanceUrls.size(); i++) {
+                List<Future<Runnable>> urlReads = new ArrayList<>();
+                for (AbstractMetamodelManager<?> manager : managers) {
+                    urlReads.add(executor.submit(state.wrap(read(manager, modelInstanceUrls.get(i), indexes.get(i)))));
+                }
+                reads.add(urlReads);
+            }
+
+            for (int i = 0; i < modelInstanceUrls.size(); i++) {
+                long start = System.currentTimeMillis();
+                for (Future<Runnable> read : reads.get(i)) {
+                    await(read).run();
+                }
+                logLoaded(modelInstanceUrls.get(i), start);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T extends NamespacedMetamodel> Callable<Runnable> read(AbstractMetamodelManager<T> manager,
+            ModelInstanceUrl modelInstanceUrl, Future<ModelSourceIndex> index) {
+        return () -> {
+            LoadedMetadata<T> loaded = manager.readMetadata(modelInstanceUrl, config, await(index));
+            return () -> manager.mergeMetadata(loaded);
+        };
+    }
+
+    private static <V> V await(Future<V> future) {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while loading metamodel instances", e);
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new GenerationException("Problem loading metamodel instances", cause);
+
+        }
+    }
+
+    private static void logLoaded(ModelInstanceUrl modelInstanceUrl, long start) {
+        if (log.isInfoEnabled()) {
+            long stop = System.currentTimeMillis();
+            log.info("Metamodel instances for artifactId '" + modelInstanceUrl.getArtifactId()
+                    + "' have been loaded - " + (stop - start) + "ms");
         }
     }
 
@@ -86,28 +325,21 @@ public class DefaultModelInstanceRepository extends AbstractModelInstanceReposit
      */
     @Override
     public void validate() {
-        for (Enumeration enumeration : enumerationManager.getMetadataElementWithoutPackage().values()) {
-            enumeration.validate();
-        }
-
-        for (DictionaryType dictionaryType : dictionaryManager.getMetadataElementWithoutPackage().values()) {
-            dictionaryType.validate();
-        }
-
-        for (Service service : serviceManager.getMetadataElementWithoutPackage().values()) {
-            service.validate();
-        }
-
-        for (Entity entity : entityManager.getMetadataElementWithoutPackage().values()) {
-            entity.validate();
-        }
-        
-        for (MessageGroup messageGroup : messageGroupManager.getMetadataElementWithoutPackage().values()) {
-            messageGroup.validate();
-        }
+        if (config.getValidationParallelism() > 1) {
+            validateConcurrently();
+
+        } else {
+            for (AbstractMetamodelManager<?> manager : getManagers()) {
+                MetamodelValidationEvent event = new MetamodelValidationEvent();
+                event.begin();
+                Collection<? extends NamespacedMetamodel> elements =
+                        manager.getMetadataElementWithoutPackage().values();
+                for (NamespacedMetamodel element : elements) {
+                    element.validate();
+                }
+                event.complete(manager.getMetadataLocation(), elements.size());
+            }
 
-        for (Rule rule : ruleManager.getMetadataElementWithoutPackage().values()) {
-            rule.validate();
         }
 
         MessageTracker messageTracker = MessageTracker.getInstance();
@@ -328,6 +560,44 @@ public class DefaultModelInstanceRepository extends AbstractModelInstanceReposit
         return entityManager.getMetadataByArtifactIdMap(artifactId);
     }
 
+    /**
+     * Returns the index of entity inheritance across all loaded entities, for answering parent and child queries
+     * without scanning every entity.
+     * 
+     * @return inheritance index
+     */
+    public InheritanceIndex getInheritanceIndex() {
+        return entityManager.getInheritanceIndex();
+    }
+
+    /**
+     * Returns the table of all loaded dictionary types, enumerations, and entities by package and name, for classifying
+     * a type with a single lookup. The table is rebuilt on first use after any metadata is loaded.
+     * 
+     * @return symbol table
+     */
+    public SymbolTable getSymbolTable() {
+        SymbolTable currentTable = symbolTable;
+        if (currentTable == null || symbolTableVersion != getMetadataVersion()) {
+            synchronized (this) {
+                long version = getMetadataVersion();
+                currentTable = symbolTable;
+                if (currentTable == null || symbolTableVersion != version) {
+                    currentTable = new SymbolTable(config.getBasePackage(), dictionaryManager.getMetadataByPackageMap(),
+                            enumerationManager.getMetadataByPackageMap(), entityManager.getMetadataByPackageMap());
+                    symbolTableVersion = version;
+                    symbolTable = currentTable;
+                }
+            }
+        }
+        return currentTable;
+    }
+
+    private long getMetadataVersion() {
+        // each version only increases, so any change is reflected in the sum:
+        return dictionaryManager.getVersion() + enumerationManager.getVersion() + entityManager.getVersion();
+    }
+
     /**
      * Retrieves entities based on a generation context.
      * 
@@ -341,7 +611,7 @@ public class DefaultModelInstanceRepository extends AbstractModelInstanceReposit
 
     /**
      * Gets all entities ordered by their intrinsic dependencies. References are upstream, relations downstream,
-     * otherwise they are equal.
+     * otherwise they are equal. The order is computed once per context, so all targets share it.
      * 
      * @param context
      *            type of generation target context being used
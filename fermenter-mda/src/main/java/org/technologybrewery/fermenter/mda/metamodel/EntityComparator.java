@@ -13,7 +13,11 @@ import org.technologybrewery.fermenter.mda.metamodel.element.Relation;
 /**
  * Comparator that orders entities based on their dependencies. Referenced objects will be first, leaf nodes will be
  * last. Ties are sorted alphabetically.
+ * 
+ * @deprecated pairwise comparison is not transitive across chains of references and relations; entities are now
+ *             ordered by a topological sort via {@link DefaultModelInstanceRepository#getEntitiesByDependencyOrder}
  */
+@Deprecated
 public class EntityComparator implements Comparator<Entity> {
 
     private Map<String, List<String>> referencedObjects;
@@ -0,0 +1,228 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Reference;
+import org.technologybrewery.fermenter.mda.metamodel.element.Relation;
+
+/**
+ * Orders entities such that referential integrity is respected: referenced entities come before the entities that
+ * reference them, and entities come before the children of their relations. The order is a topological sort (Kahn's
+ * algorithm) of the reference and relation graph. Ties are broken deterministically, placing entities that are
+ * referenced by others first and otherwise ordering alphabetically. Cycles, found as the strongly connected components
+ * of the graph, are reported and broken at the member that would sort first among those of cycles with no remaining
+ * dependencies outside of themselves, so every entity is still returned and entities that are not within a cycle are
+ * never placed before their dependencies.
+ */
+final class EntityDependencyOrder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityDependencyOrder.class);
+
+    private EntityDependencyOrder() {
+        // prevent instantiation of all static class
+    }
+
+    /**
+     * Orders the given entities by their dependencies.
+     *
+     * @param entities
+     *            entities to order, keyed by name
+     * @return entities in dependency order
+     */
+    static Set<Entity> order(Map<String, Entity> entities) {
+        Set<String> referenced = new HashSet<>();
+        Map<String, Set<String>> successors = new HashMap<>();
+        Map<String, Integer> inDegrees = new HashMap<>();
+        for (String name : entities.keySet()) {
+            successors.put(name, new HashSet<>());
+            inDegrees.put(name, 0);
+        }
+
+        for (Entity entity : entities.values()) {
+            for (Reference reference : CollectionUtils.emptyIfNull(entity.getReferences())) {
+                referenced.add(reference.getType());
+                // the referenced entity must come first
+                addEdge(reference.getType(), entity.getName(), successors, inDegrees);
+            }
+            for (Relation relation : CollectionUtils.emptyIfNull(entity.getRelations())) {
+                // the parent of a relation must come first
+                addEdge(entity.getName(), relation.getType(), successors, inDegrees);
+            }
+        }
+
+        Comparator<Entity> tieBreak = Comparator.comparing((Entity entity) -> !referenced.contains(entity.getName()))
+                .thenComparing(Entity::getName);
+        PriorityQueue<Entity> ready = new PriorityQueue<>(tieBreak);
+        TreeSet<Entity> blocked = new TreeSet<>(tieBreak);
+        for (Entity entity : entities.values()) {
+            if (inDegrees.get(entity.getName()) == 0) {
+                ready.add(entity);
+            } else {
+                blocked.add(entity);
+            }
+        }
+
+        Map<String, Set<String>> cycles = null;
+        Set<String> orderedNames = new HashSet<>();
+        Set<Entity> ordered = new LinkedHashSet<>();
+        List<String> cycleBreaks = new ArrayList<>();
+        while (ordered.size() < entities.size()) {
+            Entity next = ready.poll();
+            if (next == null) {
+                // only entities within or after a cycle remain, so force the first member of a cycle that is ready
+                if (cycles == null) {
+                    cycles = findCycles(successors);
+                }
+                next = pollCycleMember(blocked, cycles, successors, orderedNames);
+                cycleBreaks.add(new TreeSet<>(cycles.get(next.getName())) + " at " + next.getName());
+            }
+            ordered.add(next);
+            orderedNames.add(next.getName());
+
+            for (String successor : successors.get(next.getName())) {
+                int inDegree = inDegrees.merge(successor, -1, Integer::sum);
+                Entity successorEntity = entities.get(successor);
+                if (inDegree == 0 && blocked.remove(successorEntity)) {
+                    ready.add(successorEntity);
+                }
+            }
+        }
+
+        if (!cycleBreaks.isEmpty()) {
+            logger.warn("Reference or relation cycles among entities " + cycleBreaks
+                    + " were broken; entities within each cycle are not in dependency order");
+        }
+
+        return Collections.unmodifiableSet(ordered);
+    }
+
+    /**
+     * Returns the first blocked entity, by tie-break, that is within a cycle and depends on no unordered entity outside
+     * of that cycle. One always exists while entities remain blocked and none are ready.
+     */
+    private static Entity pollCycleMember(TreeSet<Entity> blocked, Map<String, Set<String>> cycles,
+            Map<String, Set<String>> successors, Set<String> orderedNames) {
+        Set<String> dependentOnOtherEntities = new HashSet<>();
+        for (Map.Entry<String, Set<String>> entry : successors.entrySet()) {
+            String predecessor = entry.getKey();
+            if (orderedNames.contains(predecessor)) {
+                continue;
+            }
+            Set<String> predecessorCycle = cycles.get(predecessor);
+            for (String successor : entry.getValue()) {
+                if (predecessorCycle == null || !predecessorCycle.contains(successor)) {
+                    dependentOnOtherEntities.add(successor);
+                }
+            }
+        }
+
+        for (Entity entity : blocked) {
+            if (cycles.containsKey(entity.getName()) && !dependentOnOtherEntities.contains(entity.getName())) {
+                blocked.remove(entity);
+                return entity;
+            }
+        }
+        throw new IllegalStateException("No entity within a cycle is ready to be ordered");
+    }
+
+    /**
+     * Finds the strongly connected components of more than one entity using an iterative form of Tarjan's algorithm,
+     * so that long reference chains cannot overflow the stack.
+     *
+     * @return the members of the cycle containing each entity within one
+     */
+    private static Map<String, Set<String>> findCycles(Map<String, Set<String>> successors) {
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<String, Integer> lowLinks = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        Map<String, Set<String>> cycles = new HashMap<>();
+
+        for (String root : new TreeSet<>(successors.keySet())) {
+            if (indexes.containsKey(root)) {
+                continue;
+            }
+
+            Deque<String> visiting = new ArrayDeque<>();
+            Deque<Iterator<String>> remainingSuccessors = new ArrayDeque<>();
+            visit(root, indexes, lowLinks, stack, onStack, visiting, remainingSuccessors, successors);
+            while (!visiting.isEmpty()) {
+                String name = visiting.peek();
+                Iterator<String> names = remainingSuccessors.peek();
+                if (names.hasNext()) {
+                    String successor = names.next();
+                    if (!indexes.containsKey(successor)) {
+                        visit(successor, indexes, lowLinks, stack, onStack, visiting, remainingSuccessors, successors);
+                    } else if (onStack.contains(successor)) {
+                        lowLinks.merge(name, indexes.get(successor), Math::min);
+                    }
+                    continue;
+                }
+
+                visiting.pop();
+                remainingSuccessors.pop();
+                if (!visiting.isEmpty()) {
+                    lowLinks.merge(visiting.peek(), lowLinks.get(name), Math::min);
+                }
+                if (lowLinks.get(name).equals(indexes.get(name))) {
+                    Set<String> component = new HashSet<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(name));
+                    if (component.size() > 1) {
+                        for (String cycleMember : component) {
+                            cycles.put(cycleMember, component);
+                        }
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private static void visit(String name, Map<String, Integer> indexes, Map<String, Integer> lowLinks,
+            Deque<String> stack, Set<String> onStack, Deque<String> visiting,
+            Deque<Iterator<String>> remainingSuccessors, Map<String, Set<String>> successors) {
+        int index = indexes.size();
+        indexes.put(name, index);
+        lowLinks.put(name, index);
+        stack.push(name);
+        onStack.add(name);
+        visiting.push(name);
+        remainingSuccessors.push(successors.get(name).iterator());
+    }
+
+    private static void addEdge(String from, String to, Map<String, Set<String>> successors,
+            Map<String, Integer> inDegrees) {
+        Set<String> fromSuccessors = successors.get(from);
+        // ignore self references and entities outside of those being ordered
+        if (fromSuccessors == null || from.equals(to) || !inDegrees.containsKey(to)) {
+            return;
+        }
+
+        if (fromSuccessors.add(to)) {
+            inDegrees.merge(to, 1, Integer::sum);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Parent;
+import org.technologybrewery.fermenter.mda.metamodel.element.Parent.InheritanceStrategy;
+
+/**
+ * Reverse index of entity inheritance (parent to children), built once over all loaded entities so that inheritance
+ * queries do not need to scan every entity of every artifact. As with {@link Parent#getType()}, parents are matched by
+ * entity name.
+ */
+public final class InheritanceIndex {
+
+    private static final Comparator<Entity> BY_NAME = Comparator.comparing(Entity::getName);
+
+    private final Map<String, List<Entity>> childrenByParent = new HashMap<>();
+    private final Map<String, List<Entity>> descendantsByParent = new HashMap<>();
+    private final Set<String> nonPersistentParents = new HashSet<>();
+    private final Set<String> childEntities = new HashSet<>();
+
+    /**
+     * Indexes the given entities.
+     *
+     * @param entities
+     *            all loaded entities
+     */
+    InheritanceIndex(Collection<Entity> entities) {
+        for (Entity entity : entities) {
+            Parent parent = entity.getParent();
+            if (parent == null || parent.getType() == null) {
+                continue;
+            }
+
+            childEntities.add(entity.getName());
+            childrenByParent.computeIfAbsent(parent.getType(), type -> new ArrayList<>()).add(entity);
+            if (InheritanceStrategy.MAPPED_SUPERCLASS.equals(parent.getInheritanceStrategy())) {
+                nonPersistentParents.add(parent.getType());
+            }
+        }
+
+        for (Map.Entry<String, List<Entity>> entry : childrenByParent.entrySet()) {
+            entry.getValue().sort(BY_NAME);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        for (String parentName : childrenByParent.keySet()) {
+            Map<String, Entity> descendants = new LinkedHashMap<>();
+            collectDescendants(parentName, descendants);
+            descendantsByParent.put(parentName, Collections.unmodifiableList(new ArrayList<>(descendants.values())));
+        }
+    }
+
+    private void collectDescendants(String parentName, Map<String, Entity> descendants) {
+        for (Entity child : getChildren(parentName)) {
+            // guard against (invalid) inheritance cycles
+            if (descendants.putIfAbsent(child.getName(), child) == null) {
+                collectDescendants(child.getName(), descendants);
+            }
+        }
+    }
+
+    /**
+     * Returns the entities that directly extend the given entity.
+     *
+     * @param entityName
+     *            name of the parent entity
+     * @return children, ordered by name
+     */
+    public List<Entity> getChildren(String entityName) {
+        return childrenByParent.getOrDefault(entityName, Collections.emptyList());
+    }
+
+    /**
+     * Returns all entities that directly or indirectly extend the given entity.
+     *
+     * @param entityName
+     *            name of the ancestor entity
+     * @return descendants, depth first with siblings ordered by name
+     */
+    public List<Entity> getDescendants(String entityName) {
+        return descendantsByParent.getOrDefault(entityName, Collections.emptyList());
+    }
+
+    /**
+     * Returns whether any entity extends the given entity as a mapped superclass, such that the given entity is not
+     * itself persisted.
+     *
+     * @param entityName
+     *            name of the parent entity
+     * @return true if used as a non-persistent parent
+     */
+    public boolean isNonPersistentParent(String entityName) {
+        return nonPersistentParents.contains(entityName);
+    }
+
+    /**
+     * Returns whether the given entity is the root of a non-persistent hierarchy: it is extended as a mapped
+     * superclass, but does not extend any other entity itself.
+     *
+     * @param entityName
+     *            name of the entity
+     * @return true if an abstract root
+     */
+    public boolean isAbstractRoot(String entityName) {
+        return nonPersistentParents.contains(entityName) && !childEntities.contains(entityName);
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.EntityElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.Parent;
+import org.technologybrewery.fermenter.mda.metamodel.element.ParentElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.Reference;
+import org.technologybrewery.fermenter.mda.metamodel.element.ReferenceElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.Relation;
+import org.technologybrewery.fermenter.mda.metamodel.element.RelationElement;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+/**
+ * Resolves the references, relations, and parents of every loaded entity to the entities they name, once all
+ * metamodels have been loaded. Foreign keys, relation parent identifiers, and inverse relations are computed as part of
+ * the same pass, so templates no longer look them up by name while rendering. Elements that name a package are
+ * resolved only within it, and otherwise by name alone. Everything that cannot be resolved is reported
+ * together, rather than failing on the first. Linking again, such as after reloading changed metamodels, replaces all
+ * previous links.
+ */
+final class MetamodelLinker {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetamodelLinker.class);
+
+    private final SymbolTable symbolTable;
+    private final Map<String, Entity> entitiesByName;
+    private final List<String> danglingReferences = new ArrayList<>();
+
+    private MetamodelLinker(SymbolTable symbolTable, Map<String, Entity> entitiesByName) {
+        this.symbolTable = symbolTable;
+        this.entitiesByName = entitiesByName;
+    }
+
+    /**
+     * Links all given entities.
+     *
+     * @param symbolTable
+     *            symbol table of all loaded metadata
+     * @param entitiesByPackage
+     *            all loaded entities, keyed by package and then name
+     * @param entitiesByName
+     *            all loaded entities, keyed by name
+     * @return descriptions of anything that could not be resolved, which have also been reported as errors
+     */
+    static List<String> link(SymbolTable symbolTable, Map<String, Map<String, Entity>> entitiesByPackage,
+            Map<String, Entity> entitiesByName) {
+        MetamodelLinker linker = new MetamodelLinker(symbolTable, entitiesByName);
+        for (Map<String, Entity> packageEntities : entitiesByPackage.values()) {
+            for (Entity entity : packageEntities.values()) {
+                if (entity instanceof EntityElement) {
+                    ((EntityElement) entity).clearInverseRelations();
+                }
+            }
+        }
+
+        // walk in a stable order so problems are always reported the same way:
+        for (Map<String, Entity> packageEntities : sorted(entitiesByPackage).values()) {
+            for (Entity entity : sorted(packageEntities).values()) {
+                linker.link(entity);
+            }
+        }
+
+        if (!linker.danglingReferences.isEmpty()) {
+            MessageTracker messageTracker = MessageTracker.getInstance();
+            for (String danglingReference : linker.danglingReferences) {
+                messageTracker.addErrorMessage(danglingReference);
+            }
+            logger.error("Found " + linker.danglingReferences.size() + " reference(s) to entities that do not exist");
+        }
+        return linker.danglingReferences;
+    }
+
+    private static <V> Map<String, V> sorted(Map<String, V> map) {
+        // packages and names may be missing on invalid metamodels, which are reported during validation
+        Map<String, V> sortedMap = new TreeMap<>(Comparator.nullsFirst(Comparator.<String> naturalOrder()));
+        sortedMap.putAll(map);
+        return sortedMap;
+    }
+
+    private void link(Entity entity) {
+        Parent parent = entity.getParent();
+        if (parent instanceof ParentElement) {
+            Entity parentEntity = resolve(parent.getPackage(), parent.getType());
+            if (parentEntity != null) {
+                ((ParentElement) parent).link(parentEntity);
+            } else {
+                danglingReferences.add("Parent type of '" + parent.getType() + "' could not be found!");
+            }
+        }
+
+        for (Reference reference : CollectionUtils.emptyIfNull(entity.getReferences())) {
+            if (reference instanceof ReferenceElement) {
+                linkReference(entity, (ReferenceElement) reference);
+            }
+        }
+
+        for (Relation relation : CollectionUtils.emptyIfNull(entity.getRelations())) {
+            if (relation instanceof RelationElement) {
+                linkRelation(entity, (RelationElement) relation);
+            }
+        }
+    }
+
+    private void linkReference(Entity entity, ReferenceElement reference) {
+        Entity referencedEntity = resolve(reference.getPackage(), reference.getType());
+        if (referencedEntity != null) {
+            reference.link(referencedEntity);
+        } else {
+            danglingReferences.add("Reference '" + reference.getName() + "' of entity '" + entity.getName()
+                    + "' refers to '" + reference.getType() + "', which could not be found!");
+        }
+    }
+
+    private void linkRelation(Entity entity, RelationElement relation) {
+        Entity relatedEntity = resolve(relation.getPackage(), relation.getType());
+        if (relatedEntity == null) {
+            danglingReferences.add("Relation of entity '" + entity.getName() + "' refers to '" + relation.getType()
+                    + "', which could not be found!");
+            return;
+        }
+
+        relation.link(entity, relatedEntity);
+        if (relatedEntity instanceof EntityElement) {
+            ((EntityElement) relatedEntity).addInverseRelation(entity);
+        }
+    }
+
+    private Entity resolve(String packageName, String name) {
+        // an entity of the same name in another package is not the one named, so is left to be reported
+        return packageName != null ? symbolTable.getEntity(packageName, name) : entitiesByName.get(name);
+    }
+
+}
@@ -0,0 +1,293 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.technologybrewery.fermenter.mda.util.JsonUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Caches the metamodel JSON parsed from metadataDependencies jars for the lifetime of the Maven session, so that a jar
+ * shared by many modules of a reactor is opened and parsed once rather than once per module, in a single pass over its
+ * entries for all metamodel locations. Jars are keyed by path, size, and modification time, so a jar re-installed
+ * mid-session is parsed again.
+ * <p>
+ * Parsed JSON trees, rather than metamodel instances, are cached. Instances are mutated after loading (e.g., inverse
+ * relations are registered relative to each module's target model instances), so each module binds its own instances
+ * from the shared, never modified, trees. Local module models are not cached and are loaded over the top of these as
+ * before.
+ * <p>
+ * The cache is only kept for the whole session when the plugin is registered as a build extension, as Maven only then
+ * notifies it when the session ends. Otherwise, it is released after each execution by
+ * {@link #releaseUnlessSessionParticipant()}, so it never outlives a build within a long-lived JVM.
+ * <p>
+ * When a snapshot directory is configured, parsed files are also written to binary snapshots, keyed by the same path,
+ * size, and modification time, so later builds can skip parsing JSON altogether. See {@link ModelInstanceSnapshot}.
+ */
+@Named
+@Singleton
+public class ModelInstanceCache extends AbstractMavenLifecycleParticipant {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelInstanceCache.class);
+
+    private static final Map<String, CachedArtifact> ARTIFACTS = new ConcurrentHashMap<>();
+
+    private static final AtomicBoolean SESSION_PARTICIPANT = new AtomicBoolean();
+
+    /**
+     * Returns whether the given model instance location is a dependency artifact whose models may be cached.
+     *
+     * @param url
+     *            location of model instances
+     * @return true if the location is a jar
+     */
+    static boolean isCacheable(String url) {
+        return url.contains(".jar");
+    }
+
+    /**
+     * Returns the parsed metamodel files within the given jar, by metamodel location, parsing any locations not yet
+     * requested within the session in a single pass over the jar.
+     *
+     * @param jarUrl
+     *            url of the jar
+     * @param metadataLocations
+     *            locations within the jar of the requested metamodel files (e.g., entities)
+     * @param snapshotDirectory
+     *            directory in which snapshots of parsed files are kept between builds, or null to disable snapshots
+     * @return parsed files, in jar order, by metamodel location
+     * @throws IOException
+     *             if the jar cannot be read
+     * @throws URISyntaxException
+     *             if the url does not refer to a file
+     */
+    static Map<String, List<ParsedModelInstance>> getModelInstances(String jarUrl,
+            Collection<String> metadataLocations, File snapshotDirectory) throws IOException, URISyntaxException {
+        File jar = new File(new URI(jarUrl));
+        long length = jar.length();
+        long lastModified = jar.lastModified();
+        CachedArtifact artifact = ARTIFACTS.compute(jar.getCanonicalPath(),
+                (path, cached) -> cached != null && cached.matches(length, lastModified) ? cached
+                        : new CachedArtifact(path, length, lastModified));
+
+        return artifact.getModelInstances(jar, jarUrl, metadataLocations, snapshotDirectory);
+    }
+
+    /**
+     * Releases all cached models, unless the plugin is registered as a build extension, in which case they are kept
+     * for the remaining modules of the session and released once it completes.
+     *
+     * @return true if the cache was released
+     */
+    public static boolean releaseUnlessSessionParticipant() {
+        if (SESSION_PARTICIPANT.get()) {
+            return false;
+        }
+        ARTIFACTS.clear();
+        return true;
+    }
+
+    /**
+     * Notes that Maven will notify this participant when the session completes, which it only does when the plugin is
+     * registered as a build extension.
+     *
+     * @param session
+     *            session whose projects were read
+     */
+    @Override
+    public void afterProjectsRead(MavenSession session) {
+        SESSION_PARTICIPANT.set(true);
+    }
+
+    /**
+     * Releases all cached models once the session completes.
+     *
+     * @param session
+     *            completed session
+     */
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        ARTIFACTS.clear();
+        SESSION_PARTICIPANT.set(false);
+    }
+
+    /**
+     * Parsed metamodel files of a single jar, by metamodel location.
+     */
+    private static final class CachedArtifact {
+
+        private final String canonicalPath;
+        private final long length;
+        private final long lastModified;
+        private final Map<String, List<ParsedModelInstance>> modelInstancesByLocation = new HashMap<>();
+
+        private CachedArtifact(String canonicalPath, long length, long lastModified) {
+            this.canonicalPath = canonicalPath;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        private boolean matches(long length, long lastModified) {
+            return this.length == length && this.lastModified == lastModified;
+        }
+
+        private synchronized Map<String, List<ParsedModelInstance>> getModelInstances(File jar, String jarUrl,
+                Collection<String> metadataLocations, File snapshotDirectory) throws IOException {
+            Map<String, List<ParsedModelInstance>> modelInstances = new HashMap<>();
+            List<String> unparsedLocations = new ArrayList<>();
+            for (String metadataLocation : metadataLocations) {
+                List<ParsedModelInstance> cached = modelInstancesByLocation.get(metadataLocation);
+                if (cached == null && snapshotDirectory != null) {
+                    cached = ModelInstanceSnapshot.read(getSnapshotFile(snapshotDirectory, metadataLocation), jarUrl);
+                    if (cached != null) {
+                        modelInstancesByLocation.put(metadataLocation, cached);
+                    }
+                }
+
+                if (cached == null) {
+                    unparsedLocations.add(metadataLocation);
+                } else {
+                    modelInstances.put(metadataLocation, cached);
+                }
+            }
+
+            if (unparsedLocations.isEmpty()) {
+                logger.debug("Reusing model instances already parsed from {}", jar);
+                return modelInstances;
+            }
+
+            Map<String, List<ParsedModelInstance>> parsed = parse(jar, jarUrl, unparsedLocations);
+            for (Map.Entry<String, List<ParsedModelInstance>> entry : parsed.entrySet()) {
+                modelInstancesByLocation.put(entry.getKey(), entry.getValue());
+                modelInstances.put(entry.getKey(), entry.getValue());
+                if (snapshotDirectory != null) {
+                    ModelInstanceSnapshot.write(getSnapshotFile(snapshotDirectory, entry.getKey()), entry.getValue());
+                }
+            }
+            return modelInstances;
+        }
+
+        private File getSnapshotFile(File snapshotDirectory, String metadataLocation) {
+            return ModelInstanceSnapshot.getSnapshotFile(snapshotDirectory, canonicalPath, length, lastModified,
+                    metadataLocation);
+        }
+
+        /**
+         * Parses the files of all given metamodel locations in a single pass over the jar's entries.
+         */
+        private static Map<String, List<ParsedModelInstance>> parse(File jar, String jarUrl,
+                List<String> metadataLocations) throws IOException {
+            Map<String, List<ParsedModelInstance>> modelInstances = new HashMap<>();
+            for (String metadataLocation : metadataLocations) {
+                modelInstances.put(metadataLocation, new ArrayList<>());
+            }
+
+            try (ZipFile zipFile = new ZipFile(jar)) {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String entryName = entry.getName();
+                    if (!entryName.endsWith(ModelSourceIndex.METAMODEL_SUFFIX)) {
+                        continue;
+                    }
+
+                    ParsedModelInstance modelInstance = null;
+                    for (String metadataLocation : metadataLocations) {
+                        if (entryName.startsWith(metadataLocation)) {
+                            if (modelInstance == null) {
+                                modelInstance = parse(zipFile, entry, jarUrl);
+                            }
+                            modelInstances.get(metadataLocation).add(modelInstance);
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<String, List<ParsedModelInstance>> entry : modelInstances.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            return modelInstances;
+        }
+
+        private static ParsedModelInstance parse(ZipFile zipFile, ZipEntry entry, String jarUrl)
+                throws MalformedURLException {
+            URL resource = new URL("jar:" + jarUrl + "!/" + entry.getName());
+            try (InputStream is = new BufferedInputStream(zipFile.getInputStream(entry))) {
+                return new ParsedModelInstance(resource, JsonUtils.getObjectMapper().readTree(is), null);
+            } catch (IOException e) {
+                // retain the failure so that every module using the jar reports it
+                return new ParsedModelInstance(resource, null, e);
+            }
+        }
+    }
+
+    /**
+     * A single metamodel file parsed from a jar.
+     */
+    static final class ParsedModelInstance {
+
+        private final URL resource;
+        private final JsonNode tree;
+        private final IOException failure;
+
+        ParsedModelInstance(URL resource, JsonNode tree, IOException failure) {
+            this.resource = resource;
+            this.tree = tree;
+            this.failure = failure;
+        }
+
+        URL getResource() {
+            return resource;
+        }
+
+        /**
+         * Returns the name of this file within its jar.
+         *
+         * @return jar entry name
+         */
+        String getEntryName() {
+            String url = resource.toExternalForm();
+            return url.substring(url.indexOf("!/") + 2);
+        }
+
+        /**
+         * Returns the parsed content of the file.
+         *
+         * @return parsed JSON
+         * @throws IOException
+         *             if the file could not be parsed
+         */
+        JsonNode getTree() throws IOException {
+            if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            }
+            return tree;
+        }
+    }
+
+}
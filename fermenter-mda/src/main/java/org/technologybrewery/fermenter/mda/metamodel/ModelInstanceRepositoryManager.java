@@ -37,6 +37,16 @@ public final class ModelInstanceRepositoryManager {
         return type.cast(instanceMap.get(type.toString()));
     }
 
+    /**
+     * Captures the repositories and metamodel managers bound to the current thread so that they can be attached to
+     * worker threads.
+     * 
+     * @return snapshot of the current thread's repository state
+     */
+    public static ThreadBoundRepositories captureThreadBoundRepositories() {
+        return new ThreadBoundRepositories();
+    }
+
     /**
      * For testing only.
      */
@@ -44,4 +54,51 @@ public final class ModelInstanceRepositoryManager {
         threadBoundInstance.remove();
     }
 
+    /**
+     * Snapshot of the repositories and metamodel managers bound to a thread. Attached instances are shared with the
+     * capturing thread rather than copied, so they must only be read while attached elsewhere.
+     */
+    public static final class ThreadBoundRepositories {
+
+        private final Map<String, Object> repositories = threadBoundInstance.get();
+        private final EnumerationModelInstanceManager enumerationManager = EnumerationModelInstanceManager.getInstance();
+        private final DictionaryModelInstanceManager dictionaryManager = DictionaryModelInstanceManager.getInstance();
+        private final ServiceModelInstanceManager serviceManager = ServiceModelInstanceManager.getInstance();
+        private final EntityModelInstanceManager entityManager = EntityModelInstanceManager.getInstance();
+        private final MessageGroupModelInstanceManager messageGroupManager = MessageGroupModelInstanceManager
+                .getInstance();
+        private final RuleModelInstanceManager ruleManager = RuleModelInstanceManager.getInstance();
+
+        private ThreadBoundRepositories() {
+            // created via captureThreadBoundRepositories()
+        }
+
+        /**
+         * Binds the captured instances to the current thread.
+         */
+        public void attach() {
+            threadBoundInstance.set(repositories);
+            EnumerationModelInstanceManager.bind(enumerationManager);
+            DictionaryModelInstanceManager.bind(dictionaryManager);
+            ServiceModelInstanceManager.bind(serviceManager);
+            EntityModelInstanceManager.bind(entityManager);
+            MessageGroupModelInstanceManager.bind(messageGroupManager);
+            RuleModelInstanceManager.bind(ruleManager);
+        }
+
+        /**
+         * Removes any instances bound to the current thread without resetting them, as they are still in use by
+         * the capturing thread.
+         */
+        public static void detach() {
+            threadBoundInstance.remove();
+            EnumerationModelInstanceManager.bind(null);
+            DictionaryModelInstanceManager.bind(null);
+            ServiceModelInstanceManager.bind(null);
+            EntityModelInstanceManager.bind(null);
+            MessageGroupModelInstanceManager.bind(null);
+            RuleModelInstanceManager.bind(null);
+        }
+    }
+
 }
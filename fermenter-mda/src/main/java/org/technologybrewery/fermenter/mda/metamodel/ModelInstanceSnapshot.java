@@ -0,0 +1,222 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceCache.ParsedModelInstance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.hash.Hashing;
+
+/**
+ * Reads and writes binary (Smile encoded) snapshots of the metamodel files parsed from a dependency jar, allowing
+ * builds to skip parsing the JSON within jars that an earlier build has already parsed. Snapshots are named by the
+ * jar's canonical path, size, and modification time, so finding one never requires reading the jar, and are expected
+ * to be kept in a directory specific to the version of Fermenter writing them.
+ * <p>
+ * Snapshots are pruned as they are written, so the directory stays bounded: a new snapshot of a jar replaces those
+ * of earlier builds of the jar at the same path, and directories of other Fermenter versions that have not been
+ * written to for {@link #UNUSED_VERSION_DAYS} days are deleted.
+ */
+final class ModelInstanceSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelInstanceSnapshot.class);
+
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    private static final String ENTRIES = "entries";
+    private static final String ENTRY = "entry";
+    private static final String TREE = "tree";
+    private static final String FAILURE = "failure";
+    private static final String SUFFIX = ".smile";
+
+    static final int UNUSED_VERSION_DAYS = 30;
+
+    private static final Set<File> PRUNED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    private ModelInstanceSnapshot() {
+        // prevent instantiation of all static class
+    }
+
+    /**
+     * Returns the snapshot file for the given build of a jar and metamodel location.
+     *
+     * @param snapshotDirectory
+     *            directory holding snapshots
+     * @param canonicalPath
+     *            canonical path of the jar
+     * @param length
+     *            size of the jar
+     * @param lastModified
+     *            modification time of the jar
+     * @param metadataLocation
+     *            location within the jar of the metamodel files (e.g., entities)
+     * @return snapshot file
+     */
+    static File getSnapshotFile(File snapshotDirectory, String canonicalPath, long length, long lastModified,
+            String metadataLocation) {
+        String pathHash = Hashing.sha256().hashString(canonicalPath, StandardCharsets.UTF_8).toString();
+        String buildHash = Hashing.sha256().newHasher().putLong(length).putLong(lastModified).hash().toString();
+        return new File(snapshotDirectory, pathHash.substring(0, 32) + "-" + buildHash.substring(0, 16) + "-"
+                + metadataLocation.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX);
+    }
+
+    /**
+     * Reads the given snapshot.
+     *
+     * @param snapshotFile
+     *            snapshot to read
+     * @param jarUrl
+     *            url of the jar from which the snapshot was taken
+     * @return parsed metamodel files, or null if no usable snapshot exists
+     */
+    static List<ParsedModelInstance> read(File snapshotFile, String jarUrl) {
+        if (!snapshotFile.isFile()) {
+            return null;
+        }
+
+        try {
+            JsonNode snapshot = SMILE_MAPPER.readTree(snapshotFile);
+            List<ParsedModelInstance> modelInstances = new ArrayList<>();
+            for (JsonNode entry : snapshot.path(ENTRIES)) {
+                URL resource = new URL("jar:" + jarUrl + "!/" + entry.path(ENTRY).asText());
+                JsonNode failure = entry.get(FAILURE);
+                if (failure != null) {
+                    modelInstances.add(new ParsedModelInstance(resource, null, new IOException(failure.asText())));
+                } else {
+                    modelInstances.add(new ParsedModelInstance(resource, entry.get(TREE), null));
+                }
+            }
+            logger.debug("Loaded {} model instance(s) from snapshot {}", modelInstances.size(), snapshotFile);
+            return Collections.unmodifiableList(modelInstances);
+
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable metamodel snapshot {}", snapshotFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given parsed metamodel files as a snapshot. The snapshot is written to a temporary file and then moved
+     * into place, so concurrent builds sharing the snapshot directory never read a partially written snapshot.
+     *
+     * @param snapshotFile
+     *            snapshot to write
+     * @param modelInstances
+     *            parsed metamodel files
+     */
+    static void write(File snapshotFile, List<ParsedModelInstance> modelInstances) {
+        ObjectNode snapshot = SMILE_MAPPER.createObjectNode();
+        ArrayNode entries = snapshot.putArray(ENTRIES);
+        for (ParsedModelInstance modelInstance : modelInstances) {
+            ObjectNode entry = entries.addObject();
+            entry.put(ENTRY, modelInstance.getEntryName());
+            try {
+                entry.set(TREE, modelInstance.getTree());
+            } catch (IOException e) {
+                entry.put(FAILURE, e.getMessage());
+            }
+        }
+
+        Path destination = snapshotFile.toPath();
+        Path tempFile = destination.resolveSibling(snapshotFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.createDirectories(destination.getParent());
+            SMILE_MAPPER.writeValue(tempFile.toFile(), snapshot);
+            try {
+                Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+            pruneEarlierBuilds(snapshotFile);
+            pruneUnusedVersions(snapshotFile.getParentFile());
+
+        } catch (IOException e) {
+            logger.warn("Unable to write metamodel snapshot {}", snapshotFile, e);
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException deleteException) {
+                logger.debug("Unable to remove {}", tempFile, deleteException);
+            }
+        }
+    }
+
+    /**
+     * Deletes the snapshots of the same metamodel location taken from earlier builds of the jar at the same path.
+     */
+    private static void pruneEarlierBuilds(File snapshotFile) {
+        String name = snapshotFile.getName();
+        String pathPrefix = name.substring(0, name.indexOf('-') + 1);
+        String locationSuffix = name.substring(name.indexOf('-', pathPrefix.length()));
+        File[] earlierBuilds = snapshotFile.getParentFile().listFiles((directory, candidate) ->
+                candidate.startsWith(pathPrefix) && candidate.endsWith(locationSuffix) && !candidate.equals(name));
+        for (File earlierBuild : earlierBuilds != null ? earlierBuilds : new File[0]) {
+            deleteQuietly(earlierBuild);
+        }
+    }
+
+    /**
+     * Deletes the snapshot directories of other Fermenter versions that have not been written to recently, once per
+     * JVM for each directory.
+     */
+    private static void pruneUnusedVersions(File snapshotDirectory) {
+        File versionsDirectory = snapshotDirectory.getAbsoluteFile().getParentFile();
+        if (versionsDirectory == null || !PRUNED_DIRECTORIES.add(snapshotDirectory.getAbsoluteFile())) {
+            return;
+        }
+
+        long unusedSince = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(UNUSED_VERSION_DAYS);
+        File[] versionDirectories = versionsDirectory.listFiles(File::isDirectory);
+        for (File versionDirectory : versionDirectories != null ? versionDirectories : new File[0]) {
+            if (!versionDirectory.equals(snapshotDirectory.getAbsoluteFile())
+                    && versionDirectory.lastModified() < unusedSince && containsOnlySnapshots(versionDirectory)) {
+                logger.debug("Removing unused metamodel snapshots {}", versionDirectory);
+                FileUtils.deleteQuietly(versionDirectory);
+            }
+        }
+    }
+
+    private static boolean containsOnlySnapshots(File directory) {
+        // guards against a misconfigured snapshot directory whose parent holds anything else
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return false;
+        }
+        for (File file : files) {
+            if (!file.isFile() || !(file.getName().endsWith(SUFFIX) || file.getName().endsWith(".tmp"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            logger.debug("Unable to remove {}", file, e);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.technologybrewery.fermenter.mda.metamodel;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -14,6 +15,10 @@ public class ModelRepositoryConfiguration {
     private String basePackage;
     private List<String> targetModelInstances = new ArrayList<>();
     private Map<String, ModelInstanceUrl> metamodelInstanceLocations = new HashMap<>();
+    private File snapshotDirectory;
+    private int loadParallelism = 1;
+    private int validationParallelism = 1;
+    private boolean schemaValidation;
     
     /**
      * The name (i.e., artifact id) of the current project.
@@ -50,4 +55,55 @@ public class ModelRepositoryConfiguration {
     public void setMetamodelInstanceLocations(Map<String, ModelInstanceUrl> metamodelInstanceLocations) {
         this.metamodelInstanceLocations = metamodelInstanceLocations;
     }
+
+    /**
+     * The directory in which binary snapshots of the models parsed from dependency jars are kept between builds, or
+     * null if snapshots are disabled.
+     * @return snapshot directory
+     */
+    public File getSnapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    public void setSnapshotDirectory(File snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    /**
+     * The maximum number of threads used to read and parse metamodel instances. Instances are loaded on the calling
+     * thread when 1.
+     * @return load parallelism
+     */
+    public int getLoadParallelism() {
+        return loadParallelism;
+    }
+
+    public void setLoadParallelism(int loadParallelism) {
+        this.loadParallelism = loadParallelism;
+    }
+
+    /**
+     * The maximum number of threads used to validate metamodel instances. Instances are validated on the calling
+     * thread when 1.
+     * @return validation parallelism
+     */
+    public int getValidationParallelism() {
+        return validationParallelism;
+    }
+
+    public void setValidationParallelism(int validationParallelism) {
+        this.validationParallelism = validationParallelism;
+    }
+
+    /**
+     * Whether each metamodel instance is validated against its json schema as it is loaded.
+     * @return true if schema validation is enabled
+     */
+    public boolean isSchemaValidation() {
+        return schemaValidation;
+    }
+
+    public void setSchemaValidation(boolean schemaValidation) {
+        this.schemaValidation = schemaValidation;
+    }
 }
@@ -0,0 +1,141 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceCache.ParsedModelInstance;
+
+/**
+ * Index of the metamodel files within a single model source, built in one discovery pass and then sliced by metamodel
+ * location (e.g., entities, services) for each metamodel manager. Jars are indexed (and parsed) in a single pass over
+ * their entries via {@link ModelInstanceCache}, while directories are indexed by walking each metamodel location once.
+ */
+final class ModelSourceIndex {
+
+    static final String METAMODEL_SUFFIX = ".json";
+
+    private Map<String, List<ParsedModelInstance>> parsedModelInstances;
+    private final Map<String, List<URL>> resources = new HashMap<>();
+    private final Map<String, String> directoryWarnings = new HashMap<>();
+    private Exception failure;
+
+    private ModelSourceIndex() {
+    }
+
+    /**
+     * Indexes the metamodel files of the given model source.
+     *
+     * @param url
+     *            url of the jar or directory containing model files
+     * @param metadataLocations
+     *            locations within the source of each metamodel to index
+     * @param snapshotDirectory
+     *            directory in which snapshots of parsed jars are kept between builds, or null to disable snapshots
+     * @return index, holding the failure encountered if the source could not be read
+     */
+    static ModelSourceIndex index(String url, Collection<String> metadataLocations, File snapshotDirectory) {
+        ModelSourceIndex index = new ModelSourceIndex();
+        try {
+            if (ModelInstanceCache.isCacheable(url)) {
+                index.parsedModelInstances = ModelInstanceCache.getModelInstances(url, metadataLocations,
+                        snapshotDirectory);
+            } else {
+                index.indexDirectory(url, metadataLocations);
+            }
+
+        } catch (IOException | URISyntaxException e) {
+            index.failure = e;
+
+        }
+        return index;
+    }
+
+    private void indexDirectory(String url, Collection<String> metadataLocations)
+            throws IOException, URISyntaxException {
+        String root = url.endsWith("/") ? url : url + "/";
+        for (String metadataLocation : metadataLocations) {
+            File metamodelDir = new File(new URI(root + metadataLocation));
+            if (!metamodelDir.isDirectory()) {
+                directoryWarnings.put(metadataLocation, metamodelDir.getCanonicalPath() + " is not a valid directory!");
+                continue;
+            }
+
+            List<URL> locationResources = new ArrayList<>();
+            try (Stream<Path> paths = Files.walk(metamodelDir.toPath())) {
+                Iterator<Path> pathIterator = paths.iterator();
+                while (pathIterator.hasNext()) {
+                    Path path = pathIterator.next();
+                    if (path.getFileName().toString().endsWith(METAMODEL_SUFFIX) && Files.isRegularFile(path)) {
+                        locationResources.add(path.toFile().toURI().toURL());
+                    }
+                }
+            }
+            resources.put(metadataLocation, locationResources);
+        }
+    }
+
+    /**
+     * Returns whether this source is a jar, for which files are parsed while indexing.
+     *
+     * @return true if {@link #getParsedModelInstances(String)} should be used rather than {@link #getResources(String)}
+     */
+    boolean isJar() {
+        return parsedModelInstances != null;
+    }
+
+    /**
+     * Returns the parsed files of the given metamodel location within a jar.
+     *
+     * @param metadataLocation
+     *            metamodel location
+     * @return parsed files, in jar order
+     */
+    List<ParsedModelInstance> getParsedModelInstances(String metadataLocation) {
+        return parsedModelInstances.getOrDefault(metadataLocation, Collections.emptyList());
+    }
+
+    /**
+     * Returns the files of the given metamodel location within a directory.
+     *
+     * @param metadataLocation
+     *            metamodel location
+     * @return file urls
+     */
+    List<URL> getResources(String metadataLocation) {
+        return resources.getOrDefault(metadataLocation, Collections.emptyList());
+    }
+
+    /**
+     * Returns the warning to emit if the given metamodel location is not a directory within this source.
+     *
+     * @param metadataLocation
+     *            metamodel location
+     * @return warning, or null if the location exists
+     */
+    String getDirectoryWarning(String metadataLocation) {
+        return directoryWarnings.get(metadataLocation);
+    }
+
+    /**
+     * Returns the failure encountered while indexing, if any.
+     *
+     * @return failure or null
+     */
+    Exception getFailure() {
+        return failure;
+    }
+
+}
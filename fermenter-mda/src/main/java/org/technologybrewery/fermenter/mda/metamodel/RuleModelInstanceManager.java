@@ -20,6 +20,21 @@ class RuleModelInstanceManager extends AbstractMetamodelManager<Rule> {
         return threadBoundInstance.get();
     }
 
+    /**
+     * Binds the given instance to the current thread, or removes the current binding if null. Used to share the
+     * manager of a generating thread with the worker threads operating on its behalf.
+     * 
+     * @param instance
+     *            instance to bind
+     */
+    static void bind(RuleModelInstanceManager instance) {
+        if (instance == null) {
+            threadBoundInstance.remove();
+        } else {
+            threadBoundInstance.set(instance);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
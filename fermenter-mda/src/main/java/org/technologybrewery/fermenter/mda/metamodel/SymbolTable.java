@@ -0,0 +1,218 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.technologybrewery.fermenter.mda.metamodel.element.DictionaryType;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Enumeration;
+import org.technologybrewery.fermenter.mda.metamodel.element.MetamodelType;
+import org.technologybrewery.fermenter.mda.metamodel.element.NamespacedMetamodel;
+
+/**
+ * Unified lookup of every loaded dictionary type, enumeration, and entity by package and name, so that classifying a
+ * type referenced by a field, parameter, or validation is a single hash probe rather than a walk across each metamodel
+ * manager. Built once after load; the repository replaces it whenever the underlying metadata changes.
+ */
+public final class SymbolTable {
+
+    private final String basePackage;
+    private final Map<SymbolKey, Symbol> symbols = new HashMap<>();
+    private final Map<SymbolKey, MetamodelType> metamodelTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes the given metadata.
+     *
+     * @param basePackage
+     *            package used where no other is specified
+     * @param dictionaryTypes
+     *            dictionary types, keyed by package and then name
+     * @param enumerations
+     *            enumerations, keyed by package and then name
+     * @param entities
+     *            entities, keyed by package and then name
+     */
+    SymbolTable(String basePackage, Map<String, Map<String, DictionaryType>> dictionaryTypes,
+            Map<String, Map<String, Enumeration>> enumerations, Map<String, Map<String, Entity>> entities) {
+        this.basePackage = basePackage;
+        // add in increasing precedence, so enumerations win over entities of the same package and name:
+        addAll(dictionaryTypes, MetamodelType.DICTIONARY_TYPE);
+        addAll(entities, MetamodelType.ENTITY);
+        addAll(enumerations, MetamodelType.ENUMERATION);
+    }
+
+    private <T extends NamespacedMetamodel> void addAll(Map<String, Map<String, T>> elementsByPackage,
+            MetamodelType kind) {
+        for (Map.Entry<String, Map<String, T>> packageEntry : elementsByPackage.entrySet()) {
+            for (Map.Entry<String, T> elementEntry : packageEntry.getValue().entrySet()) {
+                SymbolKey key = new SymbolKey(packageEntry.getKey(), elementEntry.getKey());
+                Symbol existing = symbols.get(key);
+                Symbol symbol = new Symbol(kind, elementEntry.getValue());
+                if (existing != null && existing.dictionaryType != null) {
+                    symbol.dictionaryType = existing.dictionaryType;
+                }
+                symbols.put(key, symbol);
+            }
+        }
+    }
+
+    /**
+     * Returns the metamodel type of the passed package and name combination. Dictionary types are always found in the
+     * base package and take precedence, followed by enumerations and entities in the given package. Anything else is a
+     * simple type, except for void.
+     *
+     * @param packageName
+     *            package name, or null for the base package
+     * @param name
+     *            name of instance
+     * @return metamodel type, or null for void
+     */
+    public MetamodelType getMetamodelType(String packageName, String name) {
+        if ("void".equals(name)) {
+            return null;
+        }
+
+        String lookupPackageName = packageName == null ? basePackage : packageName;
+        return metamodelTypes.computeIfAbsent(new SymbolKey(lookupPackageName, name), this::classify);
+    }
+
+    private MetamodelType classify(SymbolKey key) {
+        if (getDictionaryType(key.name) != null) {
+            return MetamodelType.DICTIONARY_TYPE;
+        }
+
+        Symbol symbol = symbols.get(key);
+        if (symbol == null || MetamodelType.DICTIONARY_TYPE.equals(symbol.kind)) {
+            return MetamodelType.SIMPLE_TYPE;
+        }
+        return symbol.kind;
+    }
+
+    /**
+     * Returns the kind and element of the given package and name combination.
+     *
+     * @param packageName
+     *            package name
+     * @param name
+     *            name of instance
+     * @return symbol, or null if nothing by that name has been loaded
+     */
+    public Symbol getSymbol(String packageName, String name) {
+        return symbols.get(new SymbolKey(packageName, name));
+    }
+
+    /**
+     * Returns a dictionary type from the base package.
+     *
+     * @param name
+     *            name of the dictionary type
+     * @return dictionary type, or null if none exists
+     */
+    public DictionaryType getDictionaryType(String name) {
+        Symbol symbol = getSymbol(basePackage, name);
+        return symbol != null ? symbol.dictionaryType : null;
+    }
+
+    /**
+     * Returns an enumeration.
+     *
+     * @param packageName
+     *            package name
+     * @param name
+     *            name of the enumeration
+     * @return enumeration, or null if none exists
+     */
+    public Enumeration getEnumeration(String packageName, String name) {
+        return getElement(packageName, name, MetamodelType.ENUMERATION, Enumeration.class);
+    }
+
+    /**
+     * Returns an entity.
+     *
+     * @param packageName
+     *            package name
+     * @param name
+     *            name of the entity
+     * @return entity, or null if none exists
+     */
+    public Entity getEntity(String packageName, String name) {
+        return getElement(packageName, name, MetamodelType.ENTITY, Entity.class);
+    }
+
+    private <T> T getElement(String packageName, String name, MetamodelType kind, Class<T> type) {
+        Symbol symbol = getSymbol(packageName, name);
+        return symbol != null && kind.equals(symbol.kind) ? type.cast(symbol.element) : null;
+    }
+
+    /**
+     * A loaded metamodel instance along with its kind.
+     */
+    public static final class Symbol {
+
+        private final MetamodelType kind;
+        private final NamespacedMetamodel element;
+        private DictionaryType dictionaryType;
+
+        private Symbol(MetamodelType kind, NamespacedMetamodel element) {
+            this.kind = kind;
+            this.element = element;
+            if (element instanceof DictionaryType) {
+                dictionaryType = (DictionaryType) element;
+            }
+        }
+
+        /**
+         * Returns the kind of this symbol. Where several kinds share a package and name, enumerations take precedence
+         * over entities, and entities over dictionary types.
+         *
+         * @return kind
+         */
+        public MetamodelType getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the loaded instance.
+         *
+         * @return element
+         */
+        public NamespacedMetamodel getElement() {
+            return element;
+        }
+
+    }
+
+    private static final class SymbolKey {
+
+        private final String packageName;
+        private final String name;
+        private final int hashCode;
+
+        private SymbolKey(String packageName, String name) {
+            this.packageName = packageName;
+            this.name = name;
+            this.hashCode = Objects.hash(packageName, name);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof SymbolKey)) {
+                return false;
+            }
+            SymbolKey otherKey = (SymbolKey) other;
+            return Objects.equals(packageName, otherKey.packageName) && Objects.equals(name, otherKey.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
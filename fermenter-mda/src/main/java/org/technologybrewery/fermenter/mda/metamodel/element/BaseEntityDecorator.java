@@ -1,6 +1,5 @@
 package org.technologybrewery.fermenter.mda.metamodel.element;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +17,14 @@ public class BaseEntityDecorator implements Entity {
 
     protected Entity wrapped;
 
+    private final DecoratedList<Field, Field> fields = new DecoratedList<>(BaseFieldDecorator::new);
+    private final DecoratedList<Reference, Reference> references = new DecoratedList<>(BaseReferenceDecorator::new);
+    private final DecoratedList<Relation, Relation> relations = new DecoratedList<>(BaseRelationDecorator::new);
+    private final DecoratedList<Entity, Entity> inverseRelations = new DecoratedList<>(BaseEntityDecorator::new);
+
+    private List<Relation> indexedRelations;
+    private Map<String, Relation> relationsByType;
+
     /**
      * New decorator for {@link Entity}.
      * 
@@ -157,13 +164,7 @@ public class BaseEntityDecorator implements Entity {
      */
     @Override
     public List<Field> getFields() {
-        List<Field> wrappedFields = new ArrayList<>();
-        for (Field field : wrapped.getFields()) {
-            Field wrappedField = new BaseFieldDecorator(field);
-            wrappedFields.add(wrappedField);
-        }
-
-        return wrappedFields;
+        return fields.get(wrapped.getFields());
     }
 
     /**
@@ -171,13 +172,7 @@ public class BaseEntityDecorator implements Entity {
      */
     @Override
     public List<Reference> getReferences() {
-        List<Reference> wrappedReferences = new ArrayList<>();
-        for (Reference reference : wrapped.getReferences()) {
-            Reference wrappedReference = new BaseReferenceDecorator(reference);
-            wrappedReferences.add(wrappedReference);
-        }
-
-        return wrappedReferences;
+        return references.get(wrapped.getReferences());
     }
 
     /**
@@ -185,13 +180,7 @@ public class BaseEntityDecorator implements Entity {
      */
     @Override
     public List<Relation> getRelations() {
-        List<Relation> wrappedRelations = new ArrayList<>();
-        for (Relation relation : wrapped.getRelations()) {
-            Relation wrappedRelation = new BaseRelationDecorator(relation);
-            wrappedRelations.add(wrappedRelation);
-        }
-
-        return wrappedRelations;
+        return relations.get(wrapped.getRelations());
     }
 
     /**
@@ -199,9 +188,17 @@ public class BaseEntityDecorator implements Entity {
      */
     @Override
     public Relation getRelation(String type) {
-        Map<String, Relation> relationsByType = new HashMap<>();
-        MapUtils.populateMap(relationsByType, getRelations(), Relation::getType);
-        return relationsByType.get(type);
+        // index whatever getRelations() returns, so subclasses decorating relations are honored
+        List<Relation> currentRelations = getRelations();
+        synchronized (this) {
+            if (currentRelations != indexedRelations || relationsByType == null) {
+                Map<String, Relation> index = new HashMap<>();
+                MapUtils.populateMap(index, currentRelations, Relation::getType);
+                relationsByType = index;
+                indexedRelations = currentRelations;
+            }
+            return relationsByType.get(type);
+        }
     }
 
     /**
@@ -209,13 +206,7 @@ public class BaseEntityDecorator implements Entity {
      */
     @Override
     public List<Entity> getInverseRelations() {
-        List<Entity> wrappedInverseRelations = new ArrayList<>();
-        for (Entity inverseRelation : wrapped.getInverseRelations()) {
-            Entity wrappedInverseRelation = new BaseEntityDecorator(inverseRelation);
-            wrappedInverseRelations.add(wrappedInverseRelation);
-        }
-
-        return wrappedInverseRelations;
+        return inverseRelations.get(wrapped.getInverseRelations());
     }
 
 }
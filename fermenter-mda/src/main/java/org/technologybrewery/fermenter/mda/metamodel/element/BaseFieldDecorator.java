@@ -2,6 +2,7 @@ package org.technologybrewery.fermenter.mda.metamodel.element;
 
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.SymbolTable;
 
 import java.util.Collection;
 
@@ -20,6 +21,10 @@ public class BaseFieldDecorator implements Field {
 
     protected Field wrapped;
 
+    private volatile SymbolTable classifiedBy;
+    private boolean entity;
+    private boolean namedEnumeration;
+
     /**
      * New decorator for {@link Field}.
      * 
@@ -249,7 +254,8 @@ public class BaseFieldDecorator implements Field {
      * @return is an entity
      */
     public boolean isEntity() {
-        return MetamodelType.ENTITY.equals(MetamodelType.getMetamodelType(getPackage(), getType()));
+        classify();
+        return entity;
     }
 
     /**
@@ -258,8 +264,21 @@ public class BaseFieldDecorator implements Field {
      * @return if this field is a named {@link Enumeration}.
      */
     public boolean isNamedEnumeration() {
-        Enumeration enumeration = getModelInstanceRepository().getEnumeration(getPackage(), getType());
-        return enumeration != null && enumeration.isNamed();
+        classify();
+        return namedEnumeration;
+    }
+
+    /**
+     * Looks up this field's type once per symbol table, as templates ask repeatedly.
+     */
+    private void classify() {
+        SymbolTable symbolTable = getModelInstanceRepository().getSymbolTable();
+        if (classifiedBy != symbolTable) {
+            entity = MetamodelType.ENTITY.equals(symbolTable.getMetamodelType(getPackage(), getType()));
+            Enumeration enumeration = symbolTable.getEnumeration(getPackage(), getType());
+            namedEnumeration = enumeration != null && enumeration.isNamed();
+            classifiedBy = symbolTable;
+        }
     }
 
     private DefaultModelInstanceRepository getModelInstanceRepository() {
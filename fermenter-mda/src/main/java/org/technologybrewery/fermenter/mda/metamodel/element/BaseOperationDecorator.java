@@ -1,6 +1,5 @@
 package org.technologybrewery.fermenter.mda.metamodel.element;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,6 +13,8 @@ public class BaseOperationDecorator implements Operation {
 
     protected Operation wrapped;
 
+    private final DecoratedList<Parameter, Parameter> parameters = new DecoratedList<>(BaseParameterDecorator::new);
+
     /**
      * New decorator for {@link Operation}.
      * 
@@ -75,13 +76,7 @@ public class BaseOperationDecorator implements Operation {
      */
     @Override
     public List<Parameter> getParameters() {
-        List<Parameter> wrappedParameters = new ArrayList<>();
-        for (Parameter parameter : wrapped.getParameters()) {
-            Parameter wrappedParameter = new BaseParameterDecorator(parameter);
-            wrappedParameters.add(wrappedParameter);
-        }
-        
-        return wrappedParameters;
+        return parameters.get(wrapped.getParameters());
     }
 
     /**
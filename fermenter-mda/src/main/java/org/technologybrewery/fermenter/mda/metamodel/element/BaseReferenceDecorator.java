@@ -1,6 +1,5 @@
 package org.technologybrewery.fermenter.mda.metamodel.element;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,6 +13,8 @@ public class BaseReferenceDecorator implements Reference {
 
     protected Reference wrapped;
 
+    private final DecoratedList<Field, Field> foreignKeyFields = new DecoratedList<>(BaseFieldDecorator::new);
+
     /**
      * New decorator for {@link Reference}.
      * 
@@ -86,13 +87,7 @@ public class BaseReferenceDecorator implements Reference {
      */
     @Override
     public List<Field> getForeignKeyFields() {
-        List<Field> wrappedFields = new ArrayList<>();
-        for (Field foreignKeyField : wrapped.getForeignKeyFields()) {
-            Field wrappedForeignKeyField = new BaseFieldDecorator(foreignKeyField);
-            wrappedFields.add(wrappedForeignKeyField);
-        }
-
-        return wrappedFields;
+        return foreignKeyFields.get(wrapped.getForeignKeyFields());
     }
 
     /**
@@ -1,6 +1,5 @@
 package org.technologybrewery.fermenter.mda.metamodel.element;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,6 +13,8 @@ public class BaseServiceDecorator implements Service {
 
     protected Service wrapped;
 
+    private final DecoratedList<Operation, Operation> operations = new DecoratedList<>(BaseOperationDecorator::new);
+
     /**
      * New decorator for {@link Service}.
      * 
@@ -67,13 +68,7 @@ public class BaseServiceDecorator implements Service {
      */
     @Override
     public List<Operation> getOperations() {
-        List<Operation> wrappedOperations = new ArrayList<>();
-        for (Operation operation : wrapped.getOperations()) {
-            Operation wrappedOperation = new BaseOperationDecorator(operation);
-            wrappedOperations.add(wrappedOperation);
-        }
-        
-        return wrappedOperations;
+        return operations.get(wrapped.getOperations());
     }
 
 }
@@ -13,7 +13,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 @JsonPropertyOrder({ "key", "value" })
 public class ConfigurationItemElement implements ConfigurationItem {
 
-    protected static MessageTracker messageTracker = MessageTracker.getInstance();
+    protected static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
     @JsonInclude(Include.NON_NULL)
     private String key;
@@ -0,0 +1,60 @@
+package org.technologybrewery.fermenter.mda.metamodel.element;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Memoizes the decoration of a wrapped instance's children (e.g., an entity's fields), so that templates iterating the
+ * children repeatedly share one unmodifiable list of decorators rather than allocating a new list and new decorators on
+ * every call. The list is decorated again if the wrapped instance's children are replaced or added to.
+ *
+ * @param <S>
+ *            type of the undecorated children
+ * @param <D>
+ *            type of the decorated children
+ */
+final class DecoratedList<S, D> {
+
+    private final Function<S, D> decorator;
+
+    private List<? extends S> source;
+    private int sourceSize;
+    private List<D> decorated;
+
+    /**
+     * New memoized list.
+     *
+     * @param decorator
+     *            creates the decorator of a single child
+     */
+    DecoratedList(Function<S, D> decorator) {
+        this.decorator = decorator;
+    }
+
+    /**
+     * Returns the decorated children.
+     *
+     * @param currentSource
+     *            the wrapped instance's current children
+     * @return unmodifiable decorated children
+     */
+    synchronized List<D> get(List<? extends S> currentSource) {
+        if (currentSource == null) {
+            return Collections.emptyList();
+        }
+
+        if (decorated == null || currentSource != source || currentSource.size() != sourceSize) {
+            List<D> decoratedChildren = new ArrayList<>(currentSource.size());
+            for (S child : currentSource) {
+                decoratedChildren.add(decorator.apply(child));
+            }
+            source = currentSource;
+            sourceSize = currentSource.size();
+            decorated = Collections.unmodifiableList(decoratedChildren);
+        }
+        return decorated;
+    }
+
+}
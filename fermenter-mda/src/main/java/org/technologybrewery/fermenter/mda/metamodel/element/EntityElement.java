@@ -2,12 +2,10 @@ package org.technologybrewery.fermenter.mda.metamodel.element;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
-import org.technologybrewery.fermenter.mda.metamodel.element.Parent.InheritanceStrategy;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -93,24 +91,10 @@ public class EntityElement extends NamespacedMetamodelElement implements Entity
     @Override
     @JsonIgnore
     public Boolean isNonPersistentParentEntity() {
-
         DefaultModelInstanceRepository metadataRepository = ModelInstanceRepositoryManager
                 .getMetamodelRepository(DefaultModelInstanceRepository.class);
 
-        for (String artifactId : metadataRepository.getArtifactIds()) {
-            Map<String, Entity> allEntities = metadataRepository.getEntitiesByArtifactId(artifactId);
-            if (allEntities != null) {
-                for (Entity entity : allEntities.values()) {
-                    Parent foundParent = entity.getParent();
-                    if (foundParent != null && getName().equals(foundParent.getType())
-                            && InheritanceStrategy.MAPPED_SUPERCLASS.equals(foundParent.getInheritanceStrategy())) {
-                        // any one match is enough to know this is used as a non-persistent parent entity:
-                        return Boolean.TRUE;
-                    }
-                }
-            }
-        }
-        return Boolean.FALSE;
+        return metadataRepository.getInheritanceIndex().isNonPersistentParent(getName());
     }
 
     /**
@@ -316,6 +300,14 @@ public class EntityElement extends NamespacedMetamodelElement implements Entity
         getInverseRelations().add(reverseRelation);
     }
 
+    /**
+     * Removes all inverse relations, so that they can be computed again when entities are relinked.
+     */
+    public void clearInverseRelations() {
+        // replaced rather than cleared, so decorators see a new list even if the same number are added back
+        inverseRelations = new ArrayList<>();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,7 +18,7 @@ import com.google.common.base.MoreObjects;
  */
 public abstract class MetamodelElement implements Metamodel {
 
-	protected static MessageTracker messageTracker = MessageTracker.getInstance();
+	protected static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
 	@JsonProperty(required = true)
 	@JsonInclude(Include.NON_NULL)
@@ -55,6 +55,16 @@ public abstract class MetamodelElement implements Metamodel {
 		this.fileUrl = file;
 	}
 
+	/**
+	 * Returns the URL of the file used for this root element, if one exists.
+	 * 
+	 * @return file URL or null
+	 */
+	@JsonIgnore
+	public URL getFileUrl() {
+		return fileUrl;
+	}
+
 	/**
 	 * Returns the name of the file used for this root element as a valid URL.
 	 */
@@ -12,7 +12,8 @@ public enum MetamodelType {
     SIMPLE_TYPE, ENUMERATION, ENTITY, DICTIONARY_TYPE;
 
     /**
-     * Returns the metamodel type for the passed package and name combination.
+     * Returns the metamodel type for the passed package and name combination. Dictionary types take precedence,
+     * followed by enumerations and entities; anything else is a simple type, except for void.
      * 
      * @param packageName
      *            package name
@@ -21,26 +22,7 @@ public enum MetamodelType {
      * @return metamodel type
      */
     public static MetamodelType getMetamodelType(String packageName, String name) {
-        MetamodelType metamodelType = null;
-        DefaultModelInstanceRepository modelInstanceRepository = getModelInstanceRepository();
-        
-        String lookupPackageName = packageName == null ? modelInstanceRepository.getBasePackage() : packageName; 
-        
-        if (modelInstanceRepository.getDictionaryType(name) != null) {
-            metamodelType = MetamodelType.DICTIONARY_TYPE;
-
-        } else if (modelInstanceRepository.getEnumeration(lookupPackageName, name) != null) {
-            metamodelType = MetamodelType.ENUMERATION;
-
-        } else if (modelInstanceRepository.getEntity(lookupPackageName, name) != null) {
-            metamodelType = MetamodelType.ENTITY;
-
-        } else if (!"void".equals(name)) {
-            metamodelType = MetamodelType.SIMPLE_TYPE;
-
-        }
-
-        return metamodelType;
+        return getModelInstanceRepository().getSymbolTable().getMetamodelType(packageName, name);
     }
 
     static DefaultModelInstanceRepository getModelInstanceRepository() {
@@ -1,9 +1,8 @@
 package org.technologybrewery.fermenter.mda.metamodel.element;
 
 import org.apache.commons.lang3.StringUtils;
-import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
-import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -22,6 +21,9 @@ public class ParentElement extends NamespacedMetamodelElement implements Parent
     @JsonInclude(Include.NON_NULL)
     protected InheritanceStrategy inheritanceStrategy;
 
+    @JsonIgnore
+    private Entity parentEntity;
+
     /**
      * Override to make optional (for base types) and not write if null.
      * 
@@ -61,13 +63,28 @@ public class ParentElement extends NamespacedMetamodelElement implements Parent
             inheritanceStrategy = InheritanceStrategy.MAPPED_SUPERCLASS;
         }
 
-        DefaultModelInstanceRepository modelRespository = ModelInstanceRepositoryManager
-                .getMetamodelRepository(DefaultModelInstanceRepository.class);
-        Entity parentEntity = modelRespository.getEntity(packageName, type);
-        if (parentEntity == null) {
-            messageTracker.addErrorMessage("Parent type of '" + type + "' could not be found!");
-        }
+        // parents that cannot be found are reported along with all other dangling references when linked
+
+    }
+
+    /**
+     * Returns the parent entity, as resolved when all metamodels have been loaded.
+     * 
+     * @return parent entity, or null if not yet linked
+     */
+    @JsonIgnore
+    public Entity getParentEntity() {
+        return parentEntity;
+    }
 
+    /**
+     * Links this parent to the entity it refers to.
+     * 
+     * @param entity
+     *            parent entity
+     */
+    public void link(Entity entity) {
+        parentEntity = entity;
     }
 
     /**
@@ -34,6 +34,9 @@ public class ReferenceElement extends NamespacedMetamodelElement implements Refe
     @JsonIgnore
     private List<Field> foreignKeys;
 
+    @JsonIgnore
+    private Entity referencedEntity;
+
     /**
      * {@inheritDoc}
      */
@@ -128,6 +131,30 @@ public class ReferenceElement extends NamespacedMetamodelElement implements Refe
         return "fermenter-2-service-schema.json";
     }
 
+    /**
+     * Returns the entity this reference refers to, as resolved when all metamodels have been loaded.
+     * 
+     * @return referenced entity, or null if not yet linked
+     */
+    @JsonIgnore
+    public Entity getReferencedEntity() {
+        return referencedEntity;
+    }
+
+    /**
+     * Links this reference to the entity it refers to and, where that entity is valid, computes its foreign keys.
+     * 
+     * @param entity
+     *            referenced entity
+     */
+    public void link(Entity entity) {
+        referencedEntity = entity;
+        foreignKeys = null;
+        if (entity.getIdentifier() != null || Boolean.TRUE.equals(entity.isTransient())) {
+            foreignKeys = createForeignKeyFields(entity);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -135,34 +162,41 @@ public class ReferenceElement extends NamespacedMetamodelElement implements Refe
     @JsonIgnore
     public List<Field> getForeignKeyFields() {
         if (foreignKeys == null) {
-            foreignKeys = new ArrayList<>();
-            DefaultModelInstanceRepository metadataRepository = ModelInstanceRepositoryManager
-                    .getMetamodelRepository(DefaultModelInstanceRepository.class);
-            
-            Map<String, Entity> referenceEntities = metadataRepository.getEntities(getPackage());
-            Entity entity = referenceEntities.get(getType());
+            Entity entity = referencedEntity;
+            if (entity == null) {
+                // not linked (e.g., built outside of a repository load), so look up the referenced entity:
+                DefaultModelInstanceRepository metadataRepository = ModelInstanceRepositoryManager
+                        .getMetamodelRepository(DefaultModelInstanceRepository.class);
+                
+                Map<String, Entity> referenceEntities = metadataRepository.getEntities(getPackage());
+                entity = referenceEntities.get(getType());
+            }
             if (entity == null) {
                 throw new NullPointerException("Reference to '" + type + "' not found!");
             }
+            foreignKeys = createForeignKeyFields(entity);
+        }
+        return foreignKeys;
+    }
 
-            Field fkidentifier = entity.getIdentifier();
-            if (fkidentifier != null) { // can be null for transient
-                FieldElement newId = new FieldElement();
-                newId.setType(fkidentifier.getType());
-                newId.setName(fkidentifier.getName());
-
-                if (entity.isTransient() == null || !entity.isTransient()) {
-                    newId.setColumn(this.localColumn != null ? this.localColumn : fkidentifier.getColumn());
-                }
-                foreignKeys.add(newId);
-            } else {
-                if (entity.isTransient() == null || !entity.isTransient()) {
-                    throw new NullPointerException("Reference to '" + type + "' does not have a Identifier!");
-                }
-            }
+    private List<Field> createForeignKeyFields(Entity entity) {
+        List<Field> entityForeignKeys = new ArrayList<>();
+        Field fkidentifier = entity.getIdentifier();
+        if (fkidentifier != null) { // can be null for transient
+            FieldElement newId = new FieldElement();
+            newId.setType(fkidentifier.getType());
+            newId.setName(fkidentifier.getName());
 
+            if (entity.isTransient() == null || !entity.isTransient()) {
+                newId.setColumn(this.localColumn != null ? this.localColumn : fkidentifier.getColumn());
+            }
+            entityForeignKeys.add(newId);
+        } else {
+            if (entity.isTransient() == null || !entity.isTransient()) {
+                throw new NullPointerException("Reference to '" + type + "' does not have a Identifier!");
+            }
         }
-        return foreignKeys;
+        return entityForeignKeys;
     }
 
 }
@@ -21,7 +21,7 @@ import com.google.common.base.MoreObjects;
 public class RelationElement implements Relation {
 
     @JsonIgnore
-    private static MessageTracker messageTracker = MessageTracker.getInstance();
+    private static MessageTracker messageTracker = MessageTracker.getCurrentThreadInstance();
 
     @JsonInclude(Include.NON_NULL)
     @JsonProperty(value = NamespacedMetamodelElement.PACKAGE)
@@ -39,6 +39,15 @@ public class RelationElement implements Relation {
     @JsonInclude(Include.NON_NULL)
     protected FetchMode fetchMode;
 
+    @JsonIgnore
+    private Entity parentEntity;
+
+    @JsonIgnore
+    private Entity relatedEntity;
+
+    @JsonIgnore
+    private Field parentIdentifier;
+
     /**
      * {@inheritDoc}
      */
@@ -156,21 +165,52 @@ public class RelationElement implements Relation {
         }
     }
 
+    /**
+     * Returns the entity on the other side of this relation, as resolved when all metamodels have been loaded.
+     * 
+     * @return related entity, or null if not yet linked
+     */
+    @JsonIgnore
+    public Entity getRelatedEntity() {
+        return relatedEntity;
+    }
+
+    /**
+     * Links this relation to the entity that declares it and the entity it relates to, computing the parent's
+     * identifier once.
+     * 
+     * @param parent
+     *            entity declaring this relation
+     * @param related
+     *            entity on the other side of this relation
+     */
+    public void link(Entity parent, Entity related) {
+        parentEntity = parent;
+        relatedEntity = related;
+        parentIdentifier = parent.getIdentifier() != null ? createParentIdentifier(parent) : null;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Field getParentIdentifier(String parentEntityName) {
+        if (parentIdentifier != null && parentEntity.getName().equals(parentEntityName)) {
+            return parentIdentifier;
+        }
+
         DefaultModelInstanceRepository metadataRepository = ModelInstanceRepositoryManager
                 .getMetamodelRepository(DefaultModelInstanceRepository.class);
         Map<String, Entity> entities = metadataRepository.getEntities(getPackage());
-        Entity parentEntity = entities.get(parentEntityName);
+        return createParentIdentifier(entities.get(parentEntityName));
+    }
 
-        Field parentIdentifier = parentEntity.getIdentifier();
+    private Field createParentIdentifier(Entity parent) {
+        Field identifier = parent.getIdentifier();
         ForeignKeyFieldElement newId = new ForeignKeyFieldElement();
         newId.setType(this.getType());
-        newId.setColumn(parentIdentifier.getColumn());
-        newId.setParentColumn(parentIdentifier.getColumn());
+        newId.setColumn(identifier.getColumn());
+        newId.setParentColumn(identifier.getColumn());
         return newId;
     }
 
@@ -5,6 +5,7 @@ import java.util.Collection;
 
 import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
 import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.SymbolTable;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -50,6 +51,12 @@ public class ValidationElement extends NamespacedMetamodelElement implements Val
 	private DefaultModelInstanceRepository repository = ModelInstanceRepositoryManager
 			.getMetamodelRepository(DefaultModelInstanceRepository.class);
 
+	@JsonIgnore
+	private volatile SymbolTable classifiedBy;
+
+	@JsonIgnore
+	private Enumeration enumeration;
+
 	/**
 	 * Override to make optional (for base types) and not write if null.
 	 * 
@@ -76,7 +83,7 @@ public class ValidationElement extends NamespacedMetamodelElement implements Val
 	@Override
 	public Integer getMaxLength() {
 		if (maxLength == null && isEnumerationType()) {
-			Enumeration enumeration = repository.getEnumeration(getPackage(), getName());
+			Enumeration enumeration = lookupEnumeration();
 			Integer enumerationMaxLength = enumeration.getMaxLength();
 			if (enumerationMaxLength != null) {
 				maxLength = enumerationMaxLength;
@@ -221,7 +228,19 @@ public class ValidationElement extends NamespacedMetamodelElement implements Val
 	@Override
 	@JsonIgnore
 	public Boolean isEnumerationType() {
-		return repository.getEnumeration(getPackage(), getName()) != null;
-	}	
+		return lookupEnumeration() != null;
+	}
+
+	/**
+	 * Looks up the enumeration of the same package and name once per symbol table.
+	 */
+	private Enumeration lookupEnumeration() {
+		SymbolTable symbolTable = repository.getSymbolTable();
+		if (classifiedBy != symbolTable) {
+			enumeration = symbolTable.getEnumeration(getPackage(), getName());
+			classifiedBy = symbolTable;
+		}
+		return enumeration;
+	}
 
 }
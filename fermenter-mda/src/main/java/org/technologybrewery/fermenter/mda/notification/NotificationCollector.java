@@ -23,6 +23,16 @@ public final class NotificationCollector {
         NOTIFICATIONS.remove();
     }
 
+    /**
+     * Binds the given notifications to the current thread so that notifications added by worker threads are
+     * recorded with those of the thread that started them.
+     *
+     * @param notifications notifications to bind
+     */
+    public static void bind(Map<String, Map<String, Notification>> notifications) {
+        NOTIFICATIONS.set(notifications);
+    }
+
     /**
      * Returns all notifications within the collector.
      *
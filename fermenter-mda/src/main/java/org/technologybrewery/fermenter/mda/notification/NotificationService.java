@@ -89,10 +89,9 @@ public class NotificationService extends AbstractMavenLifecycleParticipant {
             k -> new ConcurrentHashMap<>());
 
         String notificationKey = notification.getKey();
-        if (!notificationsForFile.containsKey(notificationKey)) {
-            notificationsForFile.put(notificationKey, notification);
-        } else {
-            notificationsForFile.get(notificationKey).addItems(notification.getItems());
+        Notification existingNotification = notificationsForFile.putIfAbsent(notificationKey, notification);
+        if (existingNotification != null) {
+            existingNotification.addItems(notification.getItems());
         }
     }
 
@@ -0,0 +1,60 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileOutcome;
+
+import java.io.File;
+
+/**
+ * Java Flight Recorder event covering the generation of a single file, from merging its template to writing it.
+ * Costs nothing unless a recording is enabled for the event.
+ */
+@Name("org.technologybrewery.fermenter.FileGeneration")
+@Label("File Generation")
+@Category("Fermenter")
+@Description("Merging a template and writing the result to a generated file")
+public final class FileGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    private String target;
+
+    @Label("Template")
+    private String template;
+
+    @Label("Output Path")
+    private String outputPath;
+
+    @Label("Bytes")
+    @Description("Size of the generated file once generation completes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    @Description("Whether the file was written, left unchanged, or skipped as not overwritable")
+    private String outcome;
+
+    /**
+     * Ends this event, recording it if it is enabled and exceeds the recording's threshold. The size of the file is
+     * only read when the event is recorded.
+     *
+     * @param target the name of the target generating the file, if known
+     * @param template the template merged to the file
+     * @param destinationFile the generated file
+     * @param outcome whether the file was written
+     */
+    public void complete(String target, String template, File destinationFile, FileOutcome outcome) {
+        end();
+        if (shouldCommit()) {
+            this.target = target;
+            this.template = template;
+            this.outputPath = destinationFile.getAbsolutePath();
+            this.bytes = destinationFile.length();
+            this.outcome = outcome.name();
+            commit();
+        }
+    }
+}
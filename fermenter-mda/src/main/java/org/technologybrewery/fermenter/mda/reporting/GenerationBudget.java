@@ -0,0 +1,133 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.TargetTiming;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.Timing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits on how long a generate-sources execution may take and how many files it may rewrite, checked against the
+ * {@link GenerationReport} of the execution. A limit of zero or less is not enforced.
+ */
+public final class GenerationBudget {
+    private final long maxGenerationMillis;
+    private final long maxTargetMillis;
+    private final long maxTemplateMillis;
+    private final long maxFilesWritten;
+
+    /**
+     * @param maxGenerationMillis maximum milliseconds to execute all targets of the profile
+     * @param maxTargetMillis maximum milliseconds to execute any single target
+     * @param maxTemplateMillis maximum milliseconds to generate all files of any single template
+     * @param maxFilesWritten maximum number of files written, rather than left unchanged or skipped
+     */
+    public GenerationBudget(long maxGenerationMillis, long maxTargetMillis, long maxTemplateMillis,
+                            long maxFilesWritten) {
+        this.maxGenerationMillis = maxGenerationMillis;
+        this.maxTargetMillis = maxTargetMillis;
+        this.maxTemplateMillis = maxTemplateMillis;
+        this.maxFilesWritten = maxFilesWritten;
+    }
+
+    /**
+     * @return true if any limit is enforced
+     */
+    public boolean isEnforced() {
+        return maxGenerationMillis > 0 || maxTargetMillis > 0 || maxTemplateMillis > 0 || maxFilesWritten > 0;
+    }
+
+    /**
+     * Checks the given report against each enforced limit.
+     *
+     * @param report the report of a completed execution
+     * @return every limit exceeded, slowest target and template first, or an empty list if the execution is within
+     * budget
+     */
+    public List<Violation> check(GenerationReport report) {
+        List<Violation> violations = new ArrayList<>();
+        if (maxGenerationMillis > 0 && report.getGenerationMillis() > maxGenerationMillis) {
+            violations.add(Violation.ofMillis("maxGenerationMillis", "generation of " + report.getArtifactId(),
+                report.getGenerationMillis(), maxGenerationMillis));
+        }
+        if (maxTargetMillis > 0) {
+            for (TargetTiming target : report.getTargets()) {
+                if (target.getMillis() > maxTargetMillis) {
+                    violations.add(Violation.ofMillis("maxTargetMillis", "target '" + target.getName() + "'",
+                        target.getMillis(), maxTargetMillis));
+                }
+            }
+        }
+        if (maxTemplateMillis > 0) {
+            for (Timing template : report.getTemplates()) {
+                if (template.getMillis() > maxTemplateMillis) {
+                    violations.add(Violation.ofMillis("maxTemplateMillis", "template '" + template.getName()
+                        + "' (" + template.getCount() + " files)", template.getMillis(), maxTemplateMillis));
+                }
+            }
+        }
+        if (maxFilesWritten > 0 && report.getFilesWritten() > maxFilesWritten) {
+            violations.add(new Violation("maxFilesWritten", report.getArtifactId(), report.getFilesWritten(),
+                maxFilesWritten, String.format("%s wrote %d files, exceeding the maxFilesWritten budget of %d",
+                    report.getArtifactId(), report.getFilesWritten(), maxFilesWritten)));
+        }
+        return violations;
+    }
+
+    /**
+     * A single limit exceeded by an execution.
+     */
+    public static final class Violation {
+        private final String budget;
+        private final String subject;
+        private final double actual;
+        private final long limit;
+        private final String description;
+
+        private Violation(String budget, String subject, double actual, long limit, String description) {
+            this.budget = budget;
+            this.subject = subject;
+            this.actual = actual;
+            this.limit = limit;
+            this.description = description;
+        }
+
+        private static Violation ofMillis(String budget, String subject, double actualMillis, long limitMillis) {
+            return new Violation(budget, subject, actualMillis, limitMillis, String.format(
+                "%s took %.1f ms, exceeding the %s budget of %d ms", subject, actualMillis, budget, limitMillis));
+        }
+
+        /**
+         * @return the name of the exceeded limit, matching its plugin parameter
+         */
+        public String getBudget() {
+            return budget;
+        }
+
+        /**
+         * @return what exceeded the limit, such as a target or template
+         */
+        public String getSubject() {
+            return subject;
+        }
+
+        /**
+         * @return the measured milliseconds or number of files
+         */
+        public double getActual() {
+            return actual;
+        }
+
+        /**
+         * @return the limit that was exceeded
+         */
+        public long getLimit() {
+            return limit;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Records how long each phase, target, generator, template, and file of a single generate-sources execution takes,
+ * along with whether each file was written, left unchanged, or skipped as non-overwritable. Safe to record to from
+ * concurrently executing targets and renders. Written as json so that slow templates can be found by tooling, and
+ * aggregated across the reactor by the {@link StatisticsService}.
+ */
+@JsonPropertyOrder({ "artifactId", "loadMillis", "validationMillis", "generationMillis", "filesWritten",
+        "filesUnchanged", "filesSkipped", "targets", "generators", "templates", "files" })
+public final class GenerationReport {
+    private static final Logger logger = LoggerFactory.getLogger(GenerationReport.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String artifactId;
+    private volatile double loadMillis;
+    private volatile double validationMillis;
+    private volatile double generationMillis;
+    private final Queue<TargetTiming> targets = new ConcurrentLinkedQueue<>();
+    private final Queue<FileTiming> files = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The result of generating a single file.
+     */
+    public enum FileOutcome {
+        /** the file was rendered and written, as it was new or its content changed */
+        WRITTEN,
+        /** the file was left as is, as its inputs or rendered content were unchanged */
+        UNCHANGED,
+        /** the file was left as is, as it already exists and is not overwritable */
+        SKIPPED
+    }
+
+    public GenerationReport(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    /**
+     * @param elapsedNanos time taken to load the metamodel repository
+     */
+    public void recordLoad(long elapsedNanos) {
+        loadMillis = toMillis(elapsedNanos);
+    }
+
+    /**
+     * @param elapsedNanos time taken to validate the metamodel repository
+     */
+    public void recordValidation(long elapsedNanos) {
+        validationMillis = toMillis(elapsedNanos);
+    }
+
+    /**
+     * @param elapsedNanos time taken to execute all targets of the profile
+     */
+    public void recordGeneration(long elapsedNanos) {
+        generationMillis = toMillis(elapsedNanos);
+    }
+
+    /**
+     * Records the execution of a target, including all files it generated.
+     *
+     * @param targetName the name of the target
+     * @param generator the class name of the target's generator
+     * @param templateName the target's template
+     * @param elapsedNanos time taken to execute the target
+     */
+    public void recordTarget(String targetName, String generator, String templateName, long elapsedNanos) {
+        targets.add(new TargetTiming(targetName, generator, templateName, toMillis(elapsedNanos)));
+    }
+
+    /**
+     * Records the generation of a single file.
+     *
+     * @param targetName the name of the target generating the file, if known
+     * @param templateName the template rendered to the file
+     * @param file the destination of the file
+     * @param outcome whether the file was written
+     * @param elapsedNanos time taken to generate the file, including rendering its template
+     */
+    public void recordFile(String targetName, String templateName, File file, FileOutcome outcome,
+                           long elapsedNanos) {
+        files.add(new FileTiming(file.getAbsolutePath(), targetName, templateName, outcome, toMillis(elapsedNanos)));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Writes this report as json, replacing the given file.
+     *
+     * @param reportFile the file to write
+     * @return true if the report was written
+     */
+    public boolean write(File reportFile) {
+        try {
+            reportFile.getParentFile().mkdirs();
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportFile, this);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Unable to write generation report {}", reportFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the artifactId of the module generated
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * @return milliseconds taken to load the metamodel repository
+     */
+    public double getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * @return milliseconds taken to validate the metamodel repository
+     */
+    public double getValidationMillis() {
+        return validationMillis;
+    }
+
+    /**
+     * @return milliseconds taken to execute all targets of the profile
+     */
+    public double getGenerationMillis() {
+        return generationMillis;
+    }
+
+    /**
+     * @return the number of files rendered and written
+     */
+    public long getFilesWritten() {
+        return countFiles(FileOutcome.WRITTEN);
+    }
+
+    /**
+     * @return the number of files left as is because they were unchanged
+     */
+    public long getFilesUnchanged() {
+        return countFiles(FileOutcome.UNCHANGED);
+    }
+
+    /**
+     * @return the number of files left as is because they are not overwritable
+     */
+    public long getFilesSkipped() {
+        return countFiles(FileOutcome.SKIPPED);
+    }
+
+    private long countFiles(FileOutcome outcome) {
+        return files.stream().filter(file -> file.getOutcome() == outcome).count();
+    }
+
+    /**
+     * @return every executed target, slowest first
+     */
+    public List<TargetTiming> getTargets() {
+        return slowestFirst(targets, TargetTiming::getMillis);
+    }
+
+    /**
+     * @return the total time of all targets executed by each generator, slowest first
+     */
+    public List<Timing> getGenerators() {
+        return Timing.aggregate(getTargets(), TargetTiming::getGenerator, TargetTiming::getMillis);
+    }
+
+    /**
+     * @return the total time of all files generated from each template, slowest first
+     */
+    public List<Timing> getTemplates() {
+        return Timing.aggregate(getFiles(), FileTiming::getTemplate, FileTiming::getMillis);
+    }
+
+    /**
+     * @return every generated file, slowest first
+     */
+    public List<FileTiming> getFiles() {
+        return slowestFirst(files, FileTiming::getMillis);
+    }
+
+    static <T> List<T> slowestFirst(Collection<T> timings, Function<T, Double> millis) {
+        List<T> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparing(millis).reversed());
+        return sorted;
+    }
+
+    /**
+     * Time taken by a single target.
+     */
+    @JsonPropertyOrder({ "name", "generator", "template", "millis" })
+    public static final class TargetTiming {
+        private final String name;
+        private final String generator;
+        private final String template;
+        private final double millis;
+
+        @JsonCreator
+        public TargetTiming(@JsonProperty("name") String name, @JsonProperty("generator") String generator,
+                            @JsonProperty("template") String template, @JsonProperty("millis") double millis) {
+            this.name = name;
+            this.generator = generator;
+            this.template = template;
+            this.millis = millis;
+        }
+
+        /**
+         * @return the name of the target
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the class name of the target's generator
+         */
+        public String getGenerator() {
+            return generator;
+        }
+
+        /**
+         * @return the target's template
+         */
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return milliseconds taken to execute the target
+         */
+        public double getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * Time taken to generate a single file.
+     */
+    @JsonPropertyOrder({ "path", "target", "template", "outcome", "millis" })
+    public static final class FileTiming {
+        private final String path;
+        private final String target;
+        private final String template;
+        private final FileOutcome outcome;
+        private final double millis;
+
+        @JsonCreator
+        public FileTiming(@JsonProperty("path") String path, @JsonProperty("target") String target,
+                          @JsonProperty("template") String template, @JsonProperty("outcome") FileOutcome outcome,
+                          @JsonProperty("millis") double millis) {
+            this.path = path;
+            this.target = target;
+            this.template = template;
+            this.outcome = outcome;
+            this.millis = millis;
+        }
+
+        /**
+         * @return the absolute path of the generated file
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return the name of the target that generated the file, if known
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * @return the template rendered to the file
+         */
+        public String getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return whether the file was written
+         */
+        public FileOutcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * @return milliseconds taken to generate the file
+         */
+        public double getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * Total time taken by everything sharing a name, such as all files generated from a template.
+     */
+    @JsonPropertyOrder({ "name", "count", "millis" })
+    public static final class Timing {
+        private final String name;
+        private final long count;
+        private final double millis;
+
+        @JsonCreator
+        public Timing(@JsonProperty("name") String name, @JsonProperty("count") long count,
+                      @JsonProperty("millis") double millis) {
+            this.name = name;
+            this.count = count;
+            this.millis = millis;
+        }
+
+        /**
+         * @return the shared name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the number of timings combined
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return total milliseconds taken
+         */
+        public double getMillis() {
+            return millis;
+        }
+
+        /**
+         * Combines timings by name.
+         *
+         * @param timings the timings to combine
+         * @param name the name of each timing
+         * @param millis the milliseconds of each timing
+         * @return combined timings, slowest first
+         */
+        static <T> List<Timing> aggregate(Collection<T> timings, Function<T, String> name,
+                                          Function<T, Double> millis) {
+            Map<String, Timing> byName = new TreeMap<>(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            for (T timing : timings) {
+                byName.merge(name.apply(timing), new Timing(name.apply(timing), 1, millis.apply(timing)),
+                    (existing, added) -> new Timing(existing.name, existing.count + added.count,
+                        existing.millis + added.millis));
+            }
+            return slowestFirst(byName.values(), Timing::getMillis);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event covering the loading of one kind of metamodel (e.g., entities) from one artifact. Costs
+ * nothing unless a recording is enabled for the event.
+ */
+@Name("org.technologybrewery.fermenter.MetamodelLoad")
+@Label("Metamodel Load")
+@Category("Fermenter")
+@Description("Reading and parsing the metamodel instances of one kind from one artifact")
+public final class MetamodelLoadEvent extends jdk.jfr.Event {
+
+    @Label("Artifact Id")
+    private String artifactId;
+
+    @Label("Kind")
+    @Description("The metamodel location, such as entities or services")
+    private String kind;
+
+    @Label("Element Count")
+    private int elementCount;
+
+    /**
+     * Ends this event, recording it if it is enabled and exceeds the recording's threshold.
+     *
+     * @param artifactId the artifact whose metamodels were loaded
+     * @param kind the metamodel location, such as entities or services
+     * @param elementCount the number of metamodel instances loaded
+     */
+    public void complete(String artifactId, String kind, int elementCount) {
+        end();
+        if (shouldCommit()) {
+            this.artifactId = artifactId;
+            this.kind = kind;
+            this.elementCount = elementCount;
+            commit();
+        }
+    }
+}
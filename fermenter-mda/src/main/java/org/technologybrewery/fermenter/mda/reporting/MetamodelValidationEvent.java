@@ -0,0 +1,39 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event covering the validation of every metamodel instance of one kind. Costs nothing unless a
+ * recording is enabled for the event.
+ */
+@Name("org.technologybrewery.fermenter.MetamodelValidation")
+@Label("Metamodel Validation")
+@Category("Fermenter")
+@Description("Validating every metamodel instance of one kind")
+public final class MetamodelValidationEvent extends jdk.jfr.Event {
+
+    @Label("Kind")
+    @Description("The metamodel location, such as entities or services")
+    private String kind;
+
+    @Label("Element Count")
+    private int elementCount;
+
+    /**
+     * Ends this event, recording it if it is enabled and exceeds the recording's threshold.
+     *
+     * @param kind the metamodel location, such as entities or services
+     * @param elementCount the number of metamodel instances validated
+     */
+    public void complete(String kind, int elementCount) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.elementCount = elementCount;
+            commit();
+        }
+    }
+}
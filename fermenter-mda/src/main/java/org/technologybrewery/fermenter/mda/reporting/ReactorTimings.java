@@ -0,0 +1,94 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileOutcome;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileTiming;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.TargetTiming;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.Timing;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Combines the {@link GenerationReport}s written by each module of the reactor, so that the slowest targets,
+ * templates, and files of the whole build can be reported together.
+ */
+final class ReactorTimings {
+    private static final Logger logger = LoggerFactory.getLogger(ReactorTimings.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<Timing> targets = new ArrayList<>();
+    private final List<FileTiming> files = new ArrayList<>();
+
+    /**
+     * Reads the given reports, ignoring any that cannot be read.
+     *
+     * @param reportFiles the json reports written by each module
+     * @return the combined timings
+     */
+    static ReactorTimings read(Collection<File> reportFiles) {
+        ReactorTimings timings = new ReactorTimings();
+        for (File reportFile : reportFiles) {
+            try {
+                timings.add(OBJECT_MAPPER.readTree(reportFile));
+            } catch (IOException | IllegalArgumentException e) {
+                logger.debug("Ignoring unreadable generation report {}", reportFile, e);
+            }
+        }
+        return timings;
+    }
+
+    private void add(JsonNode report) {
+        String artifactId = report.path("artifactId").asText();
+        List<TargetTiming> reportTargets = OBJECT_MAPPER.convertValue(report.path("targets"),
+            new TypeReference<List<TargetTiming>>() {});
+        for (TargetTiming target : reportTargets) {
+            targets.add(new Timing(artifactId + ":" + target.getName(), 1, target.getMillis()));
+        }
+
+        files.addAll(OBJECT_MAPPER.convertValue(report.path("files"), new TypeReference<List<FileTiming>>() {}));
+    }
+
+    /**
+     * @param limit the maximum number of targets to return
+     * @return the slowest targets across all modules, named by artifactId and target
+     */
+    List<Timing> getSlowestTargets(int limit) {
+        return first(GenerationReport.slowestFirst(targets, Timing::getMillis), limit);
+    }
+
+    /**
+     * @param limit the maximum number of templates to return
+     * @return the templates taking the most time in total across all modules
+     */
+    List<Timing> getSlowestTemplates(int limit) {
+        return first(Timing.aggregate(files, FileTiming::getTemplate, FileTiming::getMillis), limit);
+    }
+
+    /**
+     * @param limit the maximum number of files to return
+     * @return the slowest files across all modules
+     */
+    List<FileTiming> getSlowestFiles(int limit) {
+        return first(GenerationReport.slowestFirst(files, FileTiming::getMillis), limit);
+    }
+
+    /**
+     * @param outcome the outcome to count
+     * @return the number of files across all modules with the given outcome
+     */
+    long countFiles(FileOutcome outcome) {
+        return files.stream().filter(file -> file.getOutcome() == outcome).count();
+    }
+
+    private static <T> List<T> first(List<T> sorted, int limit) {
+        return sorted.subList(0, Math.min(Math.max(limit, 0), sorted.size()));
+    }
+}
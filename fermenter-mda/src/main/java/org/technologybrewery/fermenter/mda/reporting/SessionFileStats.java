@@ -0,0 +1,63 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the {@link FileStats} of every file generated during a Maven session, shared by each
+ * {@link StatisticsService} created within the session. Files may be recorded concurrently from any number of threads
+ * without locking. Stats are kept by path, so a file generated more than once is only counted once, and running
+ * totals are kept in striped counters so that reporting them never revisits each file.
+ */
+final class SessionFileStats {
+    private static final String KEY = SessionFileStats.class.getName();
+
+    private final ConcurrentMap<String, FileStats> statsByPath = new ConcurrentHashMap<>();
+    private final LongAdder totalSize = new LongAdder();
+    private final LongAdder totalLines = new LongAdder();
+
+    /**
+     * Returns the stats of the given session, creating them if this is the first file of the session.
+     *
+     * @param repositorySession the repository session of the Maven session, which is shared by all of its projects
+     * @return the stats of the session
+     */
+    static SessionFileStats of(RepositorySystemSession repositorySession) {
+        SessionData data = repositorySession.getData();
+        SessionFileStats stats = (SessionFileStats) data.get(KEY);
+        while (stats == null) {
+            SessionFileStats created = new SessionFileStats();
+            stats = data.set(KEY, null, created) ? created : (SessionFileStats) data.get(KEY);
+        }
+        return stats;
+    }
+
+    /**
+     * Records the stats of a generated file, replacing any previously recorded for the same file.
+     *
+     * @param stats the stats of the generated file
+     * @return the stats previously recorded for the same file, or null if the file was not yet generated
+     */
+    FileStats record(FileStats stats) {
+        FileStats previous = statsByPath.put(stats.getFilePath(), stats);
+        if (previous == null) {
+            totalSize.add(stats.getSize());
+            totalLines.add(stats.getLineCount());
+        } else {
+            totalSize.add(stats.getSize() - previous.getSize());
+            totalLines.add(stats.getLineCount() - previous.getLineCount());
+        }
+        return previous;
+    }
+
+    /**
+     * @return the totals across all files recorded
+     */
+    FileStats.Aggregate aggregate() {
+        return new FileStats.Aggregate(statsByPath.size(), totalSize.sum(), totalLines.sum());
+    }
+}
@@ -1,14 +1,12 @@
 package org.technologybrewery.fermenter.mda.reporting;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.AbstractMavenLifecycleParticipant;
 import org.apache.maven.execution.MavenSession;
 import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.technologybrewery.fermenter.mda.GenerateSourcesMojo;
+import org.technologybrewery.fermenter.mda.generator.TemplateCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,9 +14,15 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  *  Records reporting data during project execution and prints the resulting report at the end of the build.
@@ -40,23 +44,31 @@ import java.util.UUID;
 @Singleton
 public final class StatisticsService extends AbstractMavenLifecycleParticipant {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
-    private static final String STATS_KEY = "fermenter.generationStats";
     private static final String ENABLE_STATS = "fermenter.enableStatistics";
+    private static final String REPORTS_KEY = "fermenter.generationReport.";
+    private static final String TOP_N = "fermenter.statisticsTopN";
+    private static final int DEFAULT_TOP_N = 10;
 
     private final MavenSession session;
-    private final String uuid;
+    private final SessionFileStats detachedFileStats = new SessionFileStats();
     private boolean statsReportingEnabled;
+    private final int topN;
 
     @Inject
     public StatisticsService(MavenSession aSession) {
         this.session = aSession;
         String enabledString = (String) session.getSystemProperties().getOrDefault(ENABLE_STATS, "false");
         statsReportingEnabled = "true".equalsIgnoreCase(enabledString);
-        uuid = UUID.randomUUID().toString();
+        String topNString = (String) session.getSystemProperties().get(TOP_N);
+        topN = StringUtils.isNumeric(topNString) ? Integer.parseInt(topNString) : DEFAULT_TOP_N;
     }
 
     @Override
     public void afterSessionEnd(MavenSession session) {
+        // engines reference the plugin's class realm, so must not outlive the session within a daemon
+        TemplateCache.clear();
+        TemplateCache.resetCounts();
+
         if (!session.getResult().hasExceptions() && statsReportingEnabled) {
             FileStats.Aggregate totals = calculateFinalStats();
             logger.info("****************************************************************************");
@@ -72,17 +84,53 @@ public final class StatisticsService extends AbstractMavenLifecycleParticipant {
             logger.info("*   2. Delete any package lock files (e.g. `find . -name poetry.lock -delete`)");
             logger.info("*   3. Run `ls -lR | grep -E '^-' | awk '{sum+=$5;} END{print sum}'`");
             logger.info("****************************************************************************");
+            logSlowestGeneration(calculateReactorTimings());
         }
     }
 
+    private void logSlowestGeneration(ReactorTimings timings) {
+        List<GenerationReport.Timing> targets = timings.getSlowestTargets(topN);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        logger.info("*                      Fermenter Slowest Generation                        *");
+        logger.info("*");
+        logger.info("*   Files written:              " + timings.countFiles(GenerationReport.FileOutcome.WRITTEN));
+        logger.info("*   Files unchanged:            " + timings.countFiles(GenerationReport.FileOutcome.UNCHANGED));
+        logger.info("*   Files skipped:              " + timings.countFiles(GenerationReport.FileOutcome.SKIPPED));
+        logger.info("*");
+        logger.info("*   Slowest targets:");
+        for (GenerationReport.Timing target : targets) {
+            logger.info(String.format("*   %10.1f ms  %s", target.getMillis(), target.getName()));
+        }
+        logger.info("*");
+        logger.info("*   Slowest templates (total across all files):");
+        for (GenerationReport.Timing template : timings.getSlowestTemplates(topN)) {
+            logger.info(String.format("*   %10.1f ms  %s (%d files)", template.getMillis(), template.getName(),
+                template.getCount()));
+        }
+        logger.info("*");
+        logger.info("*   Slowest files:");
+        for (GenerationReport.FileTiming file : timings.getSlowestFiles(topN)) {
+            logger.info(String.format("*   %10.1f ms  %s", file.getMillis(), file.getPath()));
+        }
+        logger.info("*");
+        logger.info("* Note: per-module timings are written to target/fermenter/generation-report.json");
+        logger.info("****************************************************************************");
+    }
+
     /**
-     * Record a file that's being generated or would be generated by the generate-sources Mojo. Files that are not
-     * generated simply because they were already generated and have overwritable set to false are still recorded.
+     * Record a file that's being generated or would be generated by the generate-sources Mojo by rendering the
+     * template an additional time.
      *
      * @param template the velocity template used to generate the file
      * @param destinationFile the final destination of the generated file
      * @param vc the velocity context for generation
+     * @deprecated renders every file twice; use {@link #collectStats(Writer, File)} to wrap the writer of the actual
+     * render, or {@link #recordStats(File)} for files that are not rendered
      */
+    @Deprecated
     public void recordStats(Template template, File destinationFile, VelocityContext vc) {
         if (isStatsReportingEnabled()) {
             StatsCollectingWriter fw = new StatsCollectingWriter(this, destinationFile);
@@ -91,6 +139,67 @@ public final class StatisticsService extends AbstractMavenLifecycleParticipant {
         }
     }
 
+    /**
+     * Wraps the writer to which a file is being generated so that statistics are recorded as it is written, without
+     * rendering the file a second time. Statistics are recorded when the returned writer is closed.
+     *
+     * @param writer the writer receiving the rendered template
+     * @param destinationFile the final destination of the generated file
+     * @return a writer that records statistics while delegating to the given writer, or the given writer itself if
+     * stats are not enabled
+     */
+    public Writer collectStats(Writer writer, File destinationFile) {
+        if (isStatsReportingEnabled()) {
+            return new StatsCollectingWriter(this, destinationFile, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Record a file that would be generated by the generate-sources Mojo but is not rendered, either because it has
+     * overwritable set to false and already exists, or because its inputs are unchanged. Statistics are read from the
+     * existing file rather than by rendering its template, decoding it with the default charset that generators write
+     * with.
+     *
+     * @param existingFile the existing destination of the generated file
+     */
+    public void recordStats(File existingFile) {
+        if (isStatsReportingEnabled()) {
+            try (Reader reader = new InputStreamReader(Files.newInputStream(existingFile.toPath()), Charset.defaultCharset());
+                 StatsCollectingWriter fw = new StatsCollectingWriter(this, existingFile)) {
+                reader.transferTo(fw);
+            } catch (IOException | UncheckedIOException e) {
+                logger.warn("Unable to read statistics from " + existingFile, e);
+            }
+        }
+    }
+
+    /**
+     * Registers the {@link GenerationReport} written by a generate-sources execution, so that it is included when the
+     * slowest targets, templates, and files of the whole reactor are reported at the end of the session.
+     *
+     * @param reportFile the json report written for the execution
+     */
+    public void recordGenerationReport(File reportFile) {
+        String path = reportFile.getAbsolutePath();
+        session.getUserProperties().setProperty(REPORTS_KEY + path, path);
+    }
+
+    /**
+     * Reads every generation report registered in the session (across all executions) and combines them.
+     *
+     * @return combined timings
+     */
+    ReactorTimings calculateReactorTimings() {
+        List<File> reportFiles = new ArrayList<>();
+        for (Object eachKey : session.getUserProperties().keySet()) {
+            if (eachKey instanceof String && ((String) eachKey).startsWith(REPORTS_KEY)) {
+                reportFiles.add(new File(session.getUserProperties().getProperty((String) eachKey)));
+            }
+        }
+        return ReactorTimings.read(reportFiles);
+    }
+
     /**
      * Whether the reporting service is reporting on source generation statistics
      *
@@ -110,75 +219,38 @@ public final class StatisticsService extends AbstractMavenLifecycleParticipant {
     }
 
     /**
-     * Adds recorded stats for a specific file to the total stats gathered for the session
+     * Adds recorded stats for a specific file to the total stats gathered for the session. Safe to call concurrently.
      *
      * @param newStats the newly recorded stats
      */
-    synchronized void updateGeneratedFileStats(FileStats newStats) {
-        // NB: It would be much more efficient to just store the aggregated numbers, however currently python source
-        // files appear to be generated twice: once during generate-python-sources and once during generate-sources.
-        // this also defends against inaccurate details for poor Fermenter implementations that have duplicate
-        // targets/output files.
-        List<FileStats> allStats = readStatsFromSession(STATS_KEY + uuid);
-        if (!allStats.contains(newStats)) {
-            allStats.add(newStats);
-        } else {
+    void updateGeneratedFileStats(FileStats newStats) {
+        // NB: currently python source files appear to be generated twice: once during generate-python-sources and once
+        // during generate-sources. Stats are kept by file so that these, and any duplicate targets/output files of poor
+        // Fermenter implementations, are only counted once.
+        if (getSessionFileStats().record(newStats) != null) {
             logger.warn("Duplicate generation for " + newStats.getFilePath());
         }
-        writeStatsToSession(STATS_KEY + uuid, allStats);
     }
 
     /**
-     * Reads all the stats stored in the session (across all keys) and aggregates them.
+     * Totals the stats recorded throughout the session (across all executions).
      *
      * @return aggregated stats
      */
     FileStats.Aggregate calculateFinalStats() {
-        List<FileStats> allStats = new ArrayList<>();
-        for (Object eachKey : session.getUserProperties().keySet()) {
-            if (eachKey instanceof String && ((String) eachKey).startsWith(STATS_KEY)) {
-                allStats.addAll(readStatsFromSession((String) eachKey));
-            }
-        }
-        return FileStats.aggregate(allStats);
-    }
-
-    /**
-     * Reads the stats that have been persisted to the Maven session
-     *
-     * @param key the key where the stats are stored in the session
-     *
-     * @return the stats currently stored in the Maven session
-     */
-    private List<FileStats> readStatsFromSession(String key) {
-        List<FileStats> sessionStats = new ArrayList<>();
-        try {
-            final ObjectMapper mapper = new ObjectMapper();
-            final String json = (String) session.getUserProperties().get(key);
-            if (!StringUtils.isEmpty(json)) {
-                sessionStats = mapper.readValue(json, new TypeReference<>() {});
-            }
-        } catch (JsonProcessingException e) {
-            if (isStatsReportingEnabled()) {
-                throw new RuntimeException("Unable to get generation stats from maven session", e);
-            }
-        }
-        return sessionStats;
+        return getSessionFileStats().aggregate();
     }
 
     /**
-     * Persists the statistics recorded thus far to the Maven session
+     * Stats are kept in the repository session's data rather than in this service, as each execution creates its own
+     * service (see implementation notes above), or in the session's user properties, which only hold strings and so
+     * would need every file's stats to be serialized.
      *
-     * @param key the key where the stats should be stored in the session
-     * @param stats the stats to store in the session
+     * @return the stats of the session, or of this service alone if there is no repository session
      */
-    private void writeStatsToSession(String key, List<FileStats> stats) {
-        try {
-            final ObjectMapper mapper = new ObjectMapper();
-            String json = mapper.writeValueAsString(stats);
-            session.getUserProperties().setProperty(key, json);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to persist updated generation statistics", e);
-        }
+    private SessionFileStats getSessionFileStats() {
+        return session.getRepositorySession() != null
+            ? SessionFileStats.of(session.getRepositorySession())
+            : detachedFileStats;
     }
 }
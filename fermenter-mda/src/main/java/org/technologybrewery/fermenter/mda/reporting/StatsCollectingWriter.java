@@ -1,23 +1,39 @@
 package org.technologybrewery.fermenter.mda.reporting;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 
 /**
  * A {@link Writer} to be used with a {@link org.apache.velocity.Template} to capture statistics about the final result
- * of template expansion.
+ * of template expansion. May optionally tee all output to a delegate {@link Writer} so that statistics are captured
+ * during the same merge that writes the generated file.
  */
 public final class StatsCollectingWriter extends Writer {
     private final StatisticsService statisticsService;
     private final FileStats stats;
+    private final Writer delegate;
 
     public StatsCollectingWriter(StatisticsService statisticsService, File destination) {
+        this(statisticsService, destination, null);
+    }
+
+    public StatsCollectingWriter(StatisticsService statisticsService, File destination, Writer delegate) {
         this.statisticsService = statisticsService;
+        this.delegate = delegate;
         stats = new FileStats(destination.getAbsolutePath());
     }
 
     @Override
     public void write(char cbuf[], int off, int len) {
+        if (delegate != null) {
+            try {
+                delegate.write(cbuf, off, len);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
         stats.addBytesWritten(len);
         long lines = 0;
         for (int i = 0; i < len; i++) {
@@ -31,10 +47,25 @@ public final class StatsCollectingWriter extends Writer {
 
     @Override
     public void flush() {
+        if (delegate != null) {
+            try {
+                delegate.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     @Override
     public void close() {
-        statisticsService.updateGeneratedFileStats(stats);
+        try {
+            if (delegate != null) {
+                delegate.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            statisticsService.updateGeneratedFileStats(stats);
+        }
     }
 }
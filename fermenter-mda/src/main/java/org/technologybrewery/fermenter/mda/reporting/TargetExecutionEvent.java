@@ -0,0 +1,43 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event covering the execution of a single target, including every file it generates. Costs
+ * nothing unless a recording is enabled for the event.
+ */
+@Name("org.technologybrewery.fermenter.TargetExecution")
+@Label("Target Execution")
+@Category("Fermenter")
+@Description("Executing the generator of a single target")
+public final class TargetExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    private String target;
+
+    @Label("Generator")
+    private String generator;
+
+    @Label("Template")
+    private String template;
+
+    /**
+     * Ends this event, recording it if it is enabled and exceeds the recording's threshold.
+     *
+     * @param target the name of the target
+     * @param generator the class name of the target's generator
+     * @param template the target's template
+     */
+    public void complete(String target, String generator, String template) {
+        end();
+        if (shouldCommit()) {
+            this.target = target;
+            this.generator = generator;
+            this.template = template;
+            commit();
+        }
+    }
+}
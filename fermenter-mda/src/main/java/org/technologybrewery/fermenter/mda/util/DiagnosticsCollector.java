@@ -0,0 +1,89 @@
+package org.technologybrewery.fermenter.mda.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Thread-safe collection of the messages raised while checking many elements concurrently. Each element is checked
+ * within its own {@link Scope}, which records messages to a tracker of its own, so elements may be checked on any
+ * thread in any order. Messages are then reported by file and then element, making the output identical from one run
+ * to the next regardless of how the work was scheduled.
+ */
+public final class DiagnosticsCollector {
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Scope> BY_FILE_THEN_ELEMENT = Comparator
+            .comparing((Scope scope) -> scope.fileName, NULLS_FIRST)
+            .thenComparing(scope -> scope.elementName, NULLS_FIRST)
+            .thenComparingInt(scope -> scope.sequence);
+
+    private final List<Scope> scopes = new ArrayList<>();
+
+    /**
+     * Creates the scope in which to check an element. Elements that share a file and name are reported in the order
+     * their scopes were created.
+     *
+     * @param fileName
+     *            file the element was read from
+     * @param elementName
+     *            name of the element
+     * @return new scope
+     */
+    public synchronized Scope scope(String fileName, String elementName) {
+        Scope scope = new Scope(fileName, elementName, scopes.size());
+        scopes.add(scope);
+        return scope;
+    }
+
+    /**
+     * Adds the messages of every scope to the given tracker, ordered by file and then element.
+     *
+     * @param tracker
+     *            tracker to report to
+     */
+    public synchronized void drainTo(MessageTracker tracker) {
+        scopes.sort(BY_FILE_THEN_ELEMENT);
+        for (Scope scope : scopes) {
+            if (!scope.tracker.isEmpty()) {
+                tracker.addAll(scope.tracker);
+            }
+        }
+        scopes.clear();
+    }
+
+    /**
+     * Records the messages raised while checking a single element.
+     */
+    public static final class Scope {
+
+        private final String fileName;
+        private final String elementName;
+        private final int sequence;
+        private final MessageTracker tracker = new MessageTracker();
+
+        private Scope(String fileName, String elementName, int sequence) {
+            this.fileName = fileName;
+            this.elementName = elementName;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Runs the given check on the calling thread, recording any messages it raises to this scope.
+         *
+         * @param check
+         *            check to run
+         */
+        public void run(Runnable check) {
+            MessageTracker previous = MessageTracker.getInstance();
+            MessageTracker.bind(tracker);
+            try {
+                check.run();
+            } finally {
+                MessageTracker.bind(previous);
+            }
+        }
+
+    }
+
+}
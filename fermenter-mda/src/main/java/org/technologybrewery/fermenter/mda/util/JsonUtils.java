@@ -1,7 +1,12 @@
 package org.technologybrewery.fermenter.mda.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,10 +41,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.github.fge.jsonschema.SchemaVersion;
 import com.github.fge.jsonschema.cfg.ValidationConfiguration;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
-import com.github.fge.jsonschema.main.JsonValidator;
 
 /**
  * Contains json utilities for Fermenter.
@@ -50,6 +56,8 @@ public final class JsonUtils {
 
     private static final JsonUtils singletonInstance = new JsonUtils();
 
+    private static final Map<String, JsonSchema> COMPILED_SCHEMAS = new ConcurrentHashMap<>();
+
     private ObjectMapper cachedObjectMapper;
 
     private JsonUtils() {
@@ -66,9 +74,10 @@ public final class JsonUtils {
      */
     public static <T extends ValidatedElement> T readAndValidateJsonByUrl(URL jsonUrl, Class<T> type) {
         try {
-            ObjectMapper objectMapper = singletonInstance.cachedObjectMapper;            
-            T instance = objectMapper.readValue(jsonUrl, type);
-            boolean valid = isValid(objectMapper.readTree(jsonUrl), instance, new File(jsonUrl.getFile()));
+            ObjectMapper objectMapper = singletonInstance.cachedObjectMapper;
+            JsonNode jsonInstance = objectMapper.readTree(jsonUrl);
+            T instance = objectMapper.treeToValue(jsonInstance, type);
+            boolean valid = isValid(jsonInstance, instance, new File(jsonUrl.getFile()));
             if (!valid) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug(objectMapper.writeValueAsString(instance));
@@ -94,8 +103,9 @@ public final class JsonUtils {
     public static <T extends ValidatedElement> T readAndValidateJson(File jsonFile, Class<T> type) {
         try {
             ObjectMapper objectMapper = singletonInstance.cachedObjectMapper;
-            T instance = objectMapper.readValue(jsonFile, type);
-            boolean valid = isValid(objectMapper.readTree(jsonFile), instance, jsonFile);
+            JsonNode jsonInstance = objectMapper.readTree(jsonFile);
+            T instance = objectMapper.treeToValue(jsonInstance, type);
+            boolean valid = isValid(jsonInstance, instance, jsonFile);
             if (!valid) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug(objectMapper.writeValueAsString(instance));
@@ -111,26 +121,64 @@ public final class JsonUtils {
 
     private static <T extends ValidatedElement> boolean isValid(JsonNode jsonInstance, T instance, File jsonFile)
             throws Exception {
-        ProcessingReport report = null;
-
-        ObjectMapper objectMapper = singletonInstance.cachedObjectMapper;
-        final ValidationConfiguration cfg = ValidationConfiguration.newBuilder()
-                .setDefaultVersion(SchemaVersion.DRAFTV4).freeze();
-        JsonValidator validator = JsonSchemaFactory.newBuilder().setValidationConfiguration(cfg).freeze()
-                .getValidator();
-        URL targetSchemaUrl = instance.getJsonSchemaUrl();
-        JsonNode targetSchemaAsJsonNode = objectMapper.readTree(targetSchemaUrl);
+        List<String> errors = validate(jsonInstance, instance);
+        for (String error : errors) {
+            LOG.error(" " + jsonFile.getName() + " contains the following error:\n" + error);
+        }
 
-        report = validator.validate(targetSchemaAsJsonNode, jsonInstance);
+        return errors.isEmpty();
+    }
 
+    /**
+     * Validates already parsed json against the schema of the given element. Each schema is read and compiled once per
+     * JVM, after which validation is safe to perform concurrently.
+     * 
+     * @param jsonInstance
+     *            parsed json to validate
+     * @param instance
+     *            element bound from the json, which defines the schema to validate against
+     * @return validation errors, empty if the json is valid
+     * @throws ProcessingException
+     *             if the schema cannot be compiled or applied
+     */
+    public static List<String> validate(JsonNode jsonInstance, ValidatedElement instance) throws ProcessingException {
+        ProcessingReport report = getSchema(instance).validate(jsonInstance);
+        List<String> errors = new ArrayList<>();
         if (!report.isSuccess()) {
             for (ProcessingMessage processingMessage : report) {
-                LOG.error(" " + jsonFile.getName() + " contains the following error:\n" + processingMessage);
+                errors.add(String.valueOf(processingMessage));
+            }
+        }
+        return errors;
+    }
 
+    private static JsonSchema getSchema(ValidatedElement instance) throws ProcessingException {
+        String schemaFileName = instance.getSchemaFileName();
+        JsonSchema schema = COMPILED_SCHEMAS.get(schemaFileName);
+        if (schema == null) {
+            URL targetSchemaUrl = instance.getJsonSchemaUrl();
+            try {
+                JsonNode targetSchemaAsJsonNode = getObjectMapper().readTree(targetSchemaUrl);
+                schema = SchemaFactoryHolder.SCHEMA_FACTORY.getJsonSchema(targetSchemaAsJsonNode);
+            } catch (IOException e) {
+                throw new GenerationException("Could not read Fermenter json schema " + targetSchemaUrl + "!", e);
+            }
+            JsonSchema existing = COMPILED_SCHEMAS.putIfAbsent(schemaFileName, schema);
+            if (existing != null) {
+                schema = existing;
             }
         }
+        return schema;
+    }
 
-        return report.isSuccess();
+    /**
+     * Defers creating the schema factory until a schema is first needed.
+     */
+    private static final class SchemaFactoryHolder {
+        private static final JsonSchemaFactory SCHEMA_FACTORY = JsonSchemaFactory.newBuilder()
+                .setValidationConfiguration(
+                        ValidationConfiguration.newBuilder().setDefaultVersion(SchemaVersion.DRAFTV4).freeze())
+                .freeze();
     }
 
     /**
@@ -14,12 +14,13 @@ import org.technologybrewery.fermenter.mda.GenerateSourcesHelper;
 public class MessageTracker {
 
     private static ThreadLocal<MessageTracker> threadBoundInstance = ThreadLocal.withInitial(MessageTracker::new);
+    private static final MessageTracker CURRENT_THREAD_INSTANCE = new CurrentThreadMessageTracker();
 
     boolean hasErrors;
     private List<Message> orderedMessages = new ArrayList<>();
 
-    private MessageTracker() {
-        // private constructor to prevent instantiation
+    MessageTracker() {
+        // package-private constructor to prevent instantiation outside of this package
     }
 
     /**
@@ -31,14 +32,36 @@ public class MessageTracker {
         return threadBoundInstance.get();
     }
 
+    /**
+     * Returns a tracker that always delegates to the one bound to the calling thread. Use this rather than
+     * {@link #getInstance()} when holding a tracker in a static field, as the thread that initializes a class is not
+     * necessarily the thread that later records messages through it.
+     * 
+     * @return tracker bound to whichever thread uses it
+     */
+    public static MessageTracker getCurrentThreadInstance() {
+        return CURRENT_THREAD_INSTANCE;
+    }
+
     public static void cleanUp() {
         threadBoundInstance.remove();
     }
 
+    /**
+     * Binds the given tracker to the current thread so that messages collected by worker threads are reported
+     * alongside those of the thread that started them.
+     * 
+     * @param instance
+     *            tracker to bind
+     */
+    public static void bind(MessageTracker instance) {
+        threadBoundInstance.set(instance);
+    }
+
     /**
      * Clears the contents of the tracker.
      */
-    public void clear() {
+    public synchronized void clear() {
         hasErrors = false;
         orderedMessages.clear();
     }
@@ -49,7 +72,7 @@ public class MessageTracker {
      * @param errorMessage
      *            The message to add
      */
-    public void addErrorMessage(String errorMessage) {
+    public synchronized void addErrorMessage(String errorMessage) {
         orderedMessages.add(new ErrorMessage(errorMessage));
         hasErrors = true;
     }
@@ -60,7 +83,7 @@ public class MessageTracker {
      * @param warningMessage
      *            The message to add
      */
-    public void addWarningMessage(String warningMessage) {
+    public synchronized void addWarningMessage(String warningMessage) {
         orderedMessages.add(new WarningMessage(warningMessage));
     }
 
@@ -69,17 +92,45 @@ public class MessageTracker {
      * 
      * @return true if error exist
      */
-    public boolean hasErrors() {
+    public synchronized boolean hasErrors() {
         return hasErrors;
     }
 
+    /**
+     * Appends all messages of the given tracker to this one, in the order they were added.
+     * 
+     * @param other
+     *            tracker to copy messages from
+     */
+    void addAll(MessageTracker other) {
+        List<Message> otherMessages;
+        boolean otherHasErrors;
+        synchronized (other) {
+            otherMessages = new ArrayList<>(other.orderedMessages);
+            otherHasErrors = other.hasErrors;
+        }
+        synchronized (this) {
+            orderedMessages.addAll(otherMessages);
+            hasErrors |= otherHasErrors;
+        }
+    }
+
+    /**
+     * Returns whether any messages have been added to the tracker.
+     * 
+     * @return true if empty
+     */
+    synchronized boolean isEmpty() {
+        return orderedMessages.isEmpty();
+    }
+
     /**
      * Logs all messages that have been encountered to the provided commons-logging {@link Log}.
      *
      * @param log
      *            commons-logging {@link Log} to use for logging collected messages.
      */
-    public void emitMessages(Log log) {
+    public synchronized void emitMessages(Log log) {
         for (Message message : orderedMessages) {
             message.log(log);
         }
@@ -92,7 +143,7 @@ public class MessageTracker {
      * @param loggerDelegate
      *            build tool specific logging implementation to which logging will be delegated.
      */
-    public void emitMessages(GenerateSourcesHelper.LoggerDelegate loggerDelegate) {
+    public synchronized void emitMessages(GenerateSourcesHelper.LoggerDelegate loggerDelegate) {
         for (Message message : orderedMessages) {
             message.log(loggerDelegate);
         }
@@ -146,4 +197,51 @@ public class MessageTracker {
         }
     }
 
+    /**
+     * Delegates every operation to the tracker bound to the calling thread.
+     */
+    private static final class CurrentThreadMessageTracker extends MessageTracker {
+
+        @Override
+        public void clear() {
+            getInstance().clear();
+        }
+
+        @Override
+        public void addErrorMessage(String errorMessage) {
+            getInstance().addErrorMessage(errorMessage);
+        }
+
+        @Override
+        public void addWarningMessage(String warningMessage) {
+            getInstance().addWarningMessage(warningMessage);
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return getInstance().hasErrors();
+        }
+
+        @Override
+        void addAll(MessageTracker other) {
+            getInstance().addAll(other);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return getInstance().isEmpty();
+        }
+
+        @Override
+        public void emitMessages(Log log) {
+            getInstance().emitMessages(log);
+        }
+
+        @Override
+        public void emitMessages(GenerateSourcesHelper.LoggerDelegate loggerDelegate) {
+            getInstance().emitMessages(loggerDelegate);
+        }
+
+    }
+
 }
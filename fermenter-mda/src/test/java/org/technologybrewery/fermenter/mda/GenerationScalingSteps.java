@@ -0,0 +1,131 @@
+package org.technologybrewery.fermenter.mda;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.commons.io.FileUtils;
+import org.technologybrewery.fermenter.primer.SyntheticProjectGenerator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs generate-sources over synthetic projects of increasing size, comparing the fastest of a few runs of each so
+ * that a single garbage collection or busy neighbour does not fail the comparison.
+ */
+public class GenerationScalingSteps {
+
+    private static final int RUNS_PER_PROJECT = 3;
+    private static final File SCALING_DIRECTORY = new File("target/scaling");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MojoTestCaseWrapper mojoTestCase;
+    private SyntheticProjectGenerator projectGenerator;
+    private Map<Integer, List<JsonNode>> reportsByEntityCount;
+
+    @Before("@scaling")
+    public void configureMavenPluginTestHarness() throws Exception {
+        mojoTestCase = new MojoTestCaseWrapper();
+        mojoTestCase.configurePluginTestHarness();
+        projectGenerator = new SyntheticProjectGenerator();
+        projectGenerator.setProfile("scaling");
+        reportsByEntityCount = new LinkedHashMap<>();
+    }
+
+    @After("@scaling")
+    public void tearDownMavenPluginTestHarness() throws Exception {
+        mojoTestCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^synthetic projects with (\\d+) fields, (\\d+) references?, and (\\d+) relations? per entity$")
+    public void synthetic_projects_with_fields_references_and_relations_per_entity(int fields, int references,
+                                                                                   int relations) {
+        projectGenerator.setFieldsPerEntity(fields);
+        projectGenerator.setReferencesPerEntity(references);
+        projectGenerator.setRelationsPerEntity(relations);
+    }
+
+    @Given("^each synthetic entity inherits from a chain of (\\d+) ancestors$")
+    public void each_synthetic_entity_inherits_from_a_chain_of_ancestors(int inheritanceDepth) {
+        projectGenerator.setInheritanceDepth(inheritanceDepth);
+    }
+
+    @When("^sources are generated for synthetic projects of (\\d+(?:, \\d+)*) entities$")
+    public void sources_are_generated_for_synthetic_projects_of_entities(String entityCounts) throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        for (String entityCount : entityCounts.split(", ")) {
+            sizes.add(Integer.valueOf(entityCount));
+        }
+
+        // warm up class loading, the JIT, and the template cache so they are not charged to the smallest project
+        generate(sizes.get(0));
+        for (int entityCount : sizes) {
+            List<JsonNode> reports = new ArrayList<>();
+            for (int run = 0; run < RUNS_PER_PROJECT; run++) {
+                reports.add(generate(entityCount));
+            }
+            reportsByEntityCount.put(entityCount, reports);
+        }
+    }
+
+    @Then("^the (load|validation|generation) time per entity of the largest project is at most (\\d+) times that of the smallest$")
+    public void the_time_per_entity_of_the_largest_project_is_at_most_times_that_of_the_smallest(String phase,
+                                                                                                int tolerance) {
+        String field = phase + "Millis";
+        StringBuilder timings = new StringBuilder();
+        Integer smallest = null;
+        Integer largest = null;
+        for (int entityCount : reportsByEntityCount.keySet()) {
+            timings.append(String.format("%n\t%d entities: %.1f ms", entityCount, fastestMillis(entityCount, field)));
+            smallest = smallest == null || entityCount < smallest ? entityCount : smallest;
+            largest = largest == null || entityCount > largest ? entityCount : largest;
+        }
+
+        double smallestPerEntity = perEntityMillis(smallest, field);
+        double largestPerEntity = perEntityMillis(largest, field);
+        assertTrue(String.format("%s time per entity grew %.1f times from %d to %d entities:%s", phase,
+                largestPerEntity / smallestPerEntity, smallest, largest, timings),
+            largestPerEntity <= smallestPerEntity * tolerance);
+    }
+
+    private JsonNode generate(int entityCount) throws Exception {
+        projectGenerator.setArtifactId("synthetic-" + entityCount);
+        projectGenerator.setEntityCount(entityCount);
+        projectGenerator.setServiceCount(Math.max(1, entityCount / 10));
+        projectGenerator.setEnumerationCount(Math.max(1, entityCount / 20));
+
+        // start from an empty project so every file is rendered and written on every run
+        File projectDirectory = new File(SCALING_DIRECTORY, projectGenerator.getArtifactId());
+        FileUtils.deleteDirectory(projectDirectory);
+        File pom = projectGenerator.generate(projectDirectory);
+
+        GenerateSourcesMojo mojo = (GenerateSourcesMojo) mojoTestCase.lookupConfiguredMojo(pom, "generate-sources");
+        mojo.setTargetsFileLocation("scaling/targets.json");
+        mojo.setProfilesFileLocation("scaling/profiles.json");
+        mojo.execute();
+
+        return objectMapper.readTree(new File(projectDirectory, "target/fermenter/generation-report.json"));
+    }
+
+    private double perEntityMillis(int entityCount, String field) {
+        // a phase too quick to measure for the smallest project would make any larger project look superlinear
+        return Math.max(1.0, fastestMillis(entityCount, field)) / entityCount;
+    }
+
+    private double fastestMillis(int entityCount, String field) {
+        double fastest = Double.MAX_VALUE;
+        for (JsonNode report : reportsByEntityCount.get(entityCount)) {
+            fastest = Math.min(fastest, report.path(field).asDouble());
+        }
+        return fastest;
+    }
+}
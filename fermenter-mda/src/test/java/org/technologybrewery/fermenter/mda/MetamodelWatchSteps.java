@@ -0,0 +1,363 @@
+package org.technologybrewery.fermenter.mda;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.velocity.VelocityContext;
+import org.technologybrewery.fermenter.mda.element.ExpandedProfile;
+import org.technologybrewery.fermenter.mda.element.Profile;
+import org.technologybrewery.fermenter.mda.element.Target;
+import org.technologybrewery.fermenter.mda.generator.AbstractModelAgnosticGenerator;
+import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.Generator;
+import org.technologybrewery.fermenter.mda.generator.entity.AbstractEntityGenerator;
+import org.technologybrewery.fermenter.mda.generator.service.AbstractServiceGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.ModelContext;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceUrl;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Enumeration;
+import org.technologybrewery.fermenter.mda.metamodel.element.Field;
+import org.technologybrewery.fermenter.mda.metamodel.element.Metamodel;
+import org.technologybrewery.fermenter.mda.metamodel.element.Service;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+public class MetamodelWatchSteps {
+
+    private static final String ARTIFACT_ID = "watched-model";
+    private static final String DEPENDENCY_ARTIFACT_ID = "watched-model-dependency";
+    private static final String PACKAGE = "org.technologybrewery.watch";
+    private static final Set<String> EXECUTED_TARGETS = ConcurrentHashMap.newKeySet();
+
+    private File workingDirectory = new File("target/metamodel-watch");
+    private File metadataRoot = new File(workingDirectory, "src/main/resources");
+    private File dependencyMetadataRoot = new File(workingDirectory, "dependency/src/main/resources");
+    private MetamodelWatcher watcher;
+    private DefaultModelInstanceRepository repository;
+    private Entity lineItemBeforeReload;
+    private ModelRepositoryConfiguration config;
+    private List<File> changedFiles = new ArrayList<>();
+    private ExpandedProfile profile;
+
+    @Before("@metamodelWatch")
+    public void setup() throws IOException {
+        FileUtils.deleteDirectory(workingDirectory);
+        changedFiles.clear();
+        EXECUTED_TARGETS.clear();
+        MessageTracker.getInstance().clear();
+    }
+
+    @After("@metamodelWatch")
+    public void cleanUp() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        MessageTracker.getInstance().clear();
+        GenerateSourcesHelper.cleanUp();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Given("^a watched metadata directory containing entity \"([^\"]*)\"$")
+    public void a_watched_metadata_directory_containing_entity(String name) throws IOException {
+        writeEntity(name, "");
+        watcher = new MetamodelWatcher(metadataRoot, new File(metadataRoot, "types.json"));
+    }
+
+    @Given("^a loaded repository with entity \"([^\"]*)\" related to entity \"([^\"]*)\" and entities \"([^\"]*)\" and \"([^\"]*)\"$")
+    public void a_loaded_repository_with_entity_related_to_entity_and_entities(String name, String relatedName,
+            String firstOtherName, String secondOtherName) throws IOException {
+        writeEntity(name, ", \"relations\": [{\"type\": \"" + relatedName + "\", \"multiplicity\": \"1-M\"}]");
+        writeEntity(relatedName, "");
+        writeEntity(firstOtherName, "");
+        writeEntity(secondOtherName, "");
+
+        config = new ModelRepositoryConfiguration();
+        config.setArtifactId(ARTIFACT_ID);
+        config.setBasePackage(PACKAGE);
+        config.getMetamodelInstanceLocations().put(ARTIFACT_ID,
+                new ModelInstanceUrl(ARTIFACT_ID, metadataRoot.toURI().toString()));
+        loadRepository();
+        lineItemBeforeReload = repository.getEntity(PACKAGE, relatedName);
+    }
+
+    @Given("^a metadata dependency also containing entity \"([^\"]*)\" with a field \"([^\"]*)\"$")
+    public void a_metadata_dependency_also_containing_entity_with_a_field(String name, String fieldName)
+            throws IOException {
+        FileUtils.writeStringToFile(new File(dependencyMetadataRoot, "entities/" + name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\", \"fields\": [{\"name\": \""
+                        + fieldName + "\", \"type\": \"string\"}]}",
+                StandardCharsets.UTF_8);
+        config.getMetamodelInstanceLocations().put(DEPENDENCY_ARTIFACT_ID,
+                new ModelInstanceUrl(DEPENDENCY_ARTIFACT_ID, dependencyMetadataRoot.toURI().toString()));
+        loadRepository();
+    }
+
+    @Given("^the entities have been ordered by dependency$")
+    public void the_entities_have_been_ordered_by_dependency() {
+        assertEquals("Unexpected number of ordered entities!", 4,
+                repository.getEntitiesByDependencyOrder(ModelContext.LOCAL.toString()).size());
+    }
+
+    @When("^entity \"([^\"]*)\" is saved with a field \"([^\"]*)\"$")
+    public void entity_is_saved_with_a_field(String name, String fieldName) throws IOException {
+        changedFiles.add(writeEntity(name, ", \"fields\": [{\"name\": \"" + fieldName + "\", \"type\": \"string\"}]"));
+    }
+
+    @When("^entity \"([^\"]*)\" is deleted$")
+    public void entity_is_deleted(String name) {
+        File entityFile = entityFile(name);
+        assertTrue("Could not delete " + entityFile, entityFile.delete());
+        changedFiles.add(entityFile);
+    }
+
+    @When("^entity \"([^\"]*)\" is created$")
+    public void entity_is_created(String name) throws IOException {
+        changedFiles.add(writeEntity(name, ""));
+    }
+
+    @When("^a file \"([^\"]*)\" is written$")
+    public void a_file_is_written(String path) throws IOException {
+        FileUtils.writeStringToFile(new File(metadataRoot, path), "Not a metamodel", StandardCharsets.UTF_8);
+    }
+
+    @When("^a directory \"([^\"]*)\" is created containing service \"([^\"]*)\"$")
+    public void a_directory_is_created_containing_service(String directory, String name) throws IOException {
+        // written elsewhere and moved in, so the service exists before its directory can be watched
+        File staged = new File(workingDirectory, directory);
+        FileUtils.writeStringToFile(new File(staged, name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"}", StandardCharsets.UTF_8);
+        FileUtils.moveDirectory(staged, new File(metadataRoot, directory));
+    }
+
+    @Given("^a profile with entity, service, model agnostic, and undeclared targets$")
+    public void a_profile_with_entity_service_model_agnostic_and_undeclared_targets() {
+        Profile rawProfile = new Profile();
+        rawProfile.setName("watched-profile");
+        profile = new ExpandedProfile(rawProfile);
+        addTarget("entity", RecordingEntityGenerator.class);
+        addTarget("service", RecordingServiceGenerator.class);
+        addTarget("agnostic", RecordingModelAgnosticGenerator.class);
+        addTarget("undeclared", RecordingUndeclaredGenerator.class);
+    }
+
+    @When("^a metamodel within \"([^\"]*)\" is saved$")
+    public void a_metamodel_within_is_saved(String metadataLocation) throws IOException {
+        File metamodelFile = new File(metadataRoot, metadataLocation + "/Changed.json").getAbsoluteFile();
+        FileUtils.writeStringToFile(metamodelFile,
+                "{\"name\": \"Changed\", \"package\": \"" + PACKAGE + "\"}", StandardCharsets.UTF_8);
+        changedFiles.add(metamodelFile);
+    }
+
+    @When("^the profile is generated again for the changed metamodels$")
+    public void the_profile_is_generated_again_for_the_changed_metamodels() throws Exception {
+        Set<String> changedMetadataLocations = new TreeSet<>();
+        for (File changedFile : changedFiles) {
+            changedMetadataLocations.add(changedFile.getParentFile().getName());
+        }
+
+        Map<String, ExpandedProfile> profiles = new HashMap<>();
+        profiles.put(profile.getName(), profile);
+        GenerateSourcesHelper.performSourceGeneration(profile.getName(), profiles, GenerationContext::new,
+                (name, all) -> new IllegalArgumentException(name), (level, message) -> { }, workingDirectory, 1,
+                GenerateSourcesHelper.getTargetsAffectedByChangesTo(changedMetadataLocations));
+    }
+
+    @When("^the repository reloads the changed files$")
+    public void the_repository_reloads_the_changed_files() {
+        assertEquals("Unexpected number of reloaded files!", changedFiles.size(), repository.reload(changedFiles));
+        assertTrue("Unexpected errors reloading!", !MessageTracker.getInstance().hasErrors());
+    }
+
+    @Then("^the watcher reports only \"([^\"]*)\"$")
+    public void the_watcher_reports_only(String path) throws InterruptedException {
+        MetamodelWatcher.Changes changes = watcher.awaitChanges(10000, 500);
+        assertTrue("Expected no missed changes!", changes.isComplete());
+        Set<File> expected = new TreeSet<>();
+        expected.add(new File(metadataRoot, path).getAbsoluteFile());
+        assertEquals(expected, changes.getFiles());
+    }
+
+    @Then("^entity \"([^\"]*)\" has a field \"([^\"]*)\"$")
+    public void entity_has_a_field(String name, String fieldName) {
+        List<Field> fields = repository.getEntity(PACKAGE, name).getFields();
+        assertEquals("Unexpected number of fields!", 1, fields.size());
+        assertEquals(fieldName, fields.get(0).getName());
+    }
+
+    @Then("^entity \"([^\"]*)\" is no longer found$")
+    public void entity_is_no_longer_found(String name) {
+        assertNull(repository.getEntity(PACKAGE, name));
+    }
+
+    @Then("^entity \"([^\"]*)\" is found$")
+    public void entity_is_found(String name) {
+        assertNotNull(repository.getEntity(PACKAGE, name));
+    }
+
+    @Then("^entity \"([^\"]*)\" is the same instance as before the reload$")
+    public void entity_is_the_same_instance_as_before_the_reload(String name) {
+        assertSame(lineItemBeforeReload, repository.getEntity(PACKAGE, name));
+    }
+
+    @Then("^entity \"([^\"]*)\" has exactly one inverse relation$")
+    public void entity_has_exactly_one_inverse_relation(String name) {
+        assertEquals("Unexpected number of inverse relations!", 1,
+                repository.getEntity(PACKAGE, name).getInverseRelations().size());
+    }
+
+    @Then("^the entities ordered by dependency do not include \"([^\"]*)\"$")
+    public void the_entities_ordered_by_dependency_do_not_include(String name) {
+        Set<String> orderedNames = new TreeSet<>();
+        for (Entity entity : repository.getEntitiesByDependencyOrder(ModelContext.LOCAL.toString())) {
+            orderedNames.add(entity.getName());
+        }
+        assertFalse(name + " is still ordered by dependency!", orderedNames.contains(name));
+        assertEquals("Unexpected number of ordered entities!", 3, orderedNames.size());
+    }
+
+    @Then("^the executed targets are \"([^\"]*)\"$")
+    public void the_executed_targets_are(String targetNames) {
+        assertEquals(new TreeSet<>(Arrays.asList(targetNames.split(", "))), new TreeSet<>(EXECUTED_TARGETS));
+    }
+
+    private void addTarget(String name, Class<? extends Generator> generator) {
+        Target target = new Target();
+        target.setName(name);
+        target.setOutputFile(name);
+        target.setTemplateName("unused");
+        target.setGenerator(generator.getName());
+        profile.addTarget(target);
+    }
+
+    private void loadRepository() {
+        repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+    }
+
+    private File writeEntity(String name, String content) throws IOException {
+        File entityFile = entityFile(name);
+        FileUtils.writeStringToFile(entityFile,
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"" + content + "}",
+                StandardCharsets.UTF_8);
+        return entityFile;
+    }
+
+    private File entityFile(String name) {
+        return new File(metadataRoot, "entities/" + name + ".json").getAbsoluteFile();
+    }
+
+    public static class RecordingEntityGenerator extends AbstractEntityGenerator {
+
+        @Override
+        public void generate(GenerationContext context) {
+            EXECUTED_TARGETS.add(context.getOutputFile());
+        }
+
+        @Override
+        public Set<Class<? extends Metamodel>> getMetamodelTypesRead() {
+            return new HashSet<>(Arrays.asList(Entity.class, Enumeration.class));
+        }
+
+        @Override
+        protected void populateVelocityContext(VelocityContext vc, Entity entity, GenerationContext context) {
+            // not rendered
+        }
+
+        @Override
+        protected boolean generatePersistentEntitiesOnly() {
+            return false;
+        }
+
+        @Override
+        protected String getOutputSubFolder() {
+            return "";
+        }
+    }
+
+    public static class RecordingServiceGenerator extends AbstractServiceGenerator {
+
+        @Override
+        public void generate(GenerationContext context) {
+            EXECUTED_TARGETS.add(context.getOutputFile());
+        }
+
+        @Override
+        public Set<Class<? extends Metamodel>> getMetamodelTypesRead() {
+            return new HashSet<>(Arrays.asList(Service.class, Entity.class, Enumeration.class));
+        }
+
+        @Override
+        protected void populateVelocityContext(VelocityContext vc, Service service, GenerationContext context) {
+            // not rendered
+        }
+
+        @Override
+        protected String getOutputSubFolder() {
+            return "";
+        }
+    }
+
+    public static class RecordingModelAgnosticGenerator extends AbstractModelAgnosticGenerator {
+
+        @Override
+        public void generate(GenerationContext context) {
+            EXECUTED_TARGETS.add(context.getOutputFile());
+        }
+
+        @Override
+        public Set<Class<? extends Metamodel>> getMetamodelTypesRead() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        protected String getOutputSubFolder() {
+            return "";
+        }
+    }
+
+    /**
+     * Queries the repository without declaring what it reads, as generators overriding generate() often do.
+     */
+    public static class RecordingUndeclaredGenerator extends AbstractModelAgnosticGenerator {
+
+        @Override
+        public void generate(GenerationContext context) {
+            EXECUTED_TARGETS.add(context.getOutputFile());
+        }
+
+        @Override
+        protected String getOutputSubFolder() {
+            return "";
+        }
+    }
+
+}
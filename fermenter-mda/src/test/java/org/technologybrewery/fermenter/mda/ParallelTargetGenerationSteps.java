@@ -0,0 +1,145 @@
+package org.technologybrewery.fermenter.mda;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.technologybrewery.fermenter.mda.element.ExpandedProfile;
+import org.technologybrewery.fermenter.mda.element.Profile;
+import org.technologybrewery.fermenter.mda.element.Target;
+import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.TestThreadBoundStateGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class ParallelTargetGenerationSteps {
+
+    private ExpandedProfile profile;
+    private DefaultModelInstanceRepository repository;
+    private Exception failure;
+
+    @Before("@parallelTargets")
+    public void setup() {
+        TestThreadBoundStateGenerator.clear();
+        failure = null;
+        Profile rawProfile = new Profile();
+        rawProfile.setName("parallel-profile");
+        profile = new ExpandedProfile(rawProfile);
+    }
+
+    @After("@parallelTargets")
+    public void cleanUp() {
+        TestThreadBoundStateGenerator.clear();
+        GenerateSourcesHelper.cleanUp();
+    }
+
+    @Given("^a profile with (\\d+) targets$")
+    public void a_profile_with_targets(int numberOfTargets) {
+        for (int i = 1; i <= numberOfTargets; i++) {
+            Target target = new Target();
+            target.setName(targetName(i));
+            target.setOutputFile(targetName(i));
+            target.setTemplateName("unused");
+            target.setGenerator(TestThreadBoundStateGenerator.class.getName());
+            profile.addTarget(target);
+        }
+    }
+
+    @Given("^targets (\\d+) and (\\d+) of the profile fail$")
+    public void targets_of_the_profile_fail(int firstFailure, int secondFailure) {
+        for (Target target : profile.getTargets()) {
+            String name = target.getName();
+            if (name.equals(targetName(firstFailure)) || name.equals(targetName(secondFailure))) {
+                target.setTemplateName(TestThreadBoundStateGenerator.FAILING_TEMPLATE);
+            }
+        }
+    }
+
+    @Given("^a metamodel repository bound to the generating thread$")
+    public void a_metamodel_repository_bound_to_the_generating_thread() {
+        repository = new DefaultModelInstanceRepository(new ModelRepositoryConfiguration());
+        ModelInstanceRepositoryManager.setRepository(repository);
+    }
+
+    @When("^the profile is generated with a target parallelism of (\\d+)$")
+    public void the_profile_is_generated_with_a_target_parallelism_of(int targetParallelism) {
+        Map<String, ExpandedProfile> profiles = new HashMap<>();
+        profiles.put(profile.getName(), profile);
+        try {
+            GenerateSourcesHelper.performSourceGeneration(profile.getName(), profiles, GenerationContext::new,
+                (name, all) -> new IllegalArgumentException(name), (level, message) -> { }, new File("target"),
+                targetParallelism);
+        } catch (Exception e) {
+            failure = e;
+        }
+    }
+
+    @Then("^every target is executed on a worker thread$")
+    public void every_target_is_executed_on_a_worker_thread() {
+        assertEquals(profile.getTargets().size(), TestThreadBoundStateGenerator.getObservedThreads().size());
+        String generatingThread = Thread.currentThread().getName();
+        for (String threadName : TestThreadBoundStateGenerator.getObservedThreads().values()) {
+            assertFalse("Target executed on generating thread", generatingThread.equals(threadName));
+        }
+    }
+
+    @Then("^every target is executed on the generating thread$")
+    public void every_target_is_executed_on_the_generating_thread() {
+        assertEquals(profile.getTargets().size(), TestThreadBoundStateGenerator.getObservedThreads().size());
+        String generatingThread = Thread.currentThread().getName();
+        for (String threadName : TestThreadBoundStateGenerator.getObservedThreads().values()) {
+            assertEquals(generatingThread, threadName);
+        }
+    }
+
+    @Then("^every target sees the metamodel repository and message tracker of the generating thread$")
+    public void every_target_sees_the_thread_bound_state_of_the_generating_thread() {
+        for (Target target : profile.getTargets()) {
+            assertSame(repository, TestThreadBoundStateGenerator.getObservedRepository(target.getOutputFile()));
+            assertSame(MessageTracker.getInstance(),
+                TestThreadBoundStateGenerator.getObservedMessageTracker(target.getOutputFile()));
+        }
+    }
+
+    @Then("^the failure of the first failing target in the profile is reported$")
+    public void the_failure_of_the_first_failing_target_in_the_profile_is_reported() {
+        assertNotNull("Expected generation to fail", failure);
+        List<String> failingTargets = getFailingTargetsInProfileOrder();
+        assertEquals("Failure generating " + failingTargets.get(0), failure.getMessage());
+    }
+
+    @Then("^the failure of the other failing target is suppressed within it$")
+    public void the_failure_of_the_other_failing_target_is_suppressed_within_it() {
+        List<String> failingTargets = getFailingTargetsInProfileOrder();
+        assertEquals(1, failure.getSuppressed().length);
+        assertEquals("Failure generating " + failingTargets.get(1), failure.getSuppressed()[0].getMessage());
+    }
+
+    private List<String> getFailingTargetsInProfileOrder() {
+        List<String> failingTargets = new ArrayList<>();
+        for (Target target : profile.getTargets()) {
+            if (TestThreadBoundStateGenerator.FAILING_TEMPLATE.equals(target.getTemplateName())) {
+                failingTargets.add(target.getOutputFile());
+            }
+        }
+        return failingTargets;
+    }
+
+    private static String targetName(int targetNumber) {
+        return "target-" + targetNumber;
+    }
+}
@@ -1,18 +1,30 @@
 package org.technologybrewery.fermenter.mda.element;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.technologybrewery.fermenter.mda.metamodel.InheritanceIndex;
+import org.technologybrewery.fermenter.mda.metamodel.ModelContext;
+import org.technologybrewery.fermenter.mda.metamodel.SymbolTable;
+import org.technologybrewery.fermenter.mda.metamodel.element.BaseEntityDecorator;
+import org.technologybrewery.fermenter.mda.metamodel.element.BaseFieldDecorator;
 import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
 import org.technologybrewery.fermenter.mda.metamodel.element.EntityElement;
 import org.technologybrewery.fermenter.mda.metamodel.element.Field;
 import org.technologybrewery.fermenter.mda.metamodel.element.FieldElement;
+import org.technologybrewery.fermenter.mda.metamodel.element.MetamodelType;
 import org.technologybrewery.fermenter.mda.metamodel.element.Parent;
 import org.technologybrewery.fermenter.mda.metamodel.element.ParentElement;
 import org.technologybrewery.fermenter.mda.metamodel.element.Reference;
@@ -112,6 +124,24 @@ public class EntitySteps extends AbstractEntitySteps {
         createEntityElement(entity);
     }
     
+    @Given("^an entity named \"([^\"]*)\" in \"([^\"]*)\" with a field \"([^\"]*)\" of type \"([^\"]*)\"$")
+    public void an_entity_named_in_with_a_field_of_type(String name, String packageName, String fieldName,
+            String fieldType) throws Throwable {
+        FieldInput field = new FieldInput();
+        field.name = fieldName;
+
+        EntityElement entity = createBaseEntity(name, packageName, null);
+        FieldElement entityField = createField(field);
+        entityField.setType(fieldType);
+        entity.addField(entityField);
+
+        // add defaults:
+        FieldElement defaultId = createDefaultIdentifier();
+        entity.setIdentifier(defaultId);
+
+        createEntityElement(entity);
+    }
+
     @Given("^an entity named \"([^\"]*)\" in \"([^\"]*)\" with a \"([^\"]*)\" that has no transient value set$")
     public void an_entity_named_in_with_a_that_has_no_transient_value_set(String name, String packageName, String fieldName) throws Throwable {
         FieldInput field = new FieldInput();
@@ -148,6 +178,38 @@ public class EntitySteps extends AbstractEntitySteps {
         createEntityElement(entity);
     }
 
+    @Given("^the entities \"([^\"]*)\" in \"([^\"]*)\"$")
+    public void the_entities_in(String names, String packageName) throws Throwable {
+        for (String name : StringUtils.split(names, ", ")) {
+            createEntityWithDefaultIdentifier(name, packageName);
+        }
+    }
+
+    @Given("^an entity named \"([^\"]*)\" in \"([^\"]*)\" with reference \"([^\"]*)\", relation \"([^\"]*)\", and parent \"([^\"]*)\"$")
+    public void an_entity_named_in_with_reference_relation_and_parent(String name, String packageName,
+            String referenceType, String relationType, String parentType) throws Throwable {
+        EntityElement entity = createBaseEntity(name, packageName, null);
+        entity.setIdentifier(createDefaultIdentifier());
+
+        ReferenceElement reference = new ReferenceElement();
+        reference.setName(StringUtils.uncapitalize(referenceType));
+        reference.setPackage(packageName);
+        reference.setType(referenceType);
+        entity.addReference(reference);
+
+        RelationElement relation = new RelationElement();
+        relation.setPackage(packageName);
+        relation.setType(relationType);
+        entity.addRelation(relation);
+
+        ParentElement parent = new ParentElement();
+        parent.setPackage(packageName);
+        parent.setType(parentType);
+        entity.setParent(parent);
+
+        createEntityElement(entity);
+    }
+
     @Given("^an entity named \"([^\"]*)\" in \"([^\"]*)\" with a relation:$")
     public void an_entity_named_in_with_a_relation(String name, String packageName, List<RelationInput> relations)
             throws Throwable {
@@ -323,6 +385,122 @@ public class EntitySteps extends AbstractEntitySteps {
 
     }
 
+    @Then("^the local context view contains \"([^\"]*)\" and is shared and read-only$")
+    public void the_local_context_view_contains_and_is_shared_and_read_only(String name) throws Throwable {
+        Map<String, Entity> view = metadataRepo.getEntitiesByContext(ModelContext.LOCAL.toString());
+        assertTrue("Expected " + name + " in the local context!", view.containsKey(name));
+        assertSame("Context view should be shared!", view,
+                metadataRepo.getEntitiesByContext(ModelContext.LOCAL.toString()));
+        try {
+            view.remove(name);
+            fail("Context view should be read-only!");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Then("^decorating \"([^\"]*)\" returns the same read-only field decorators on each call$")
+    public void decorating_returns_the_same_read_only_field_decorators_on_each_call(String name) throws Throwable {
+        Entity decorated = new BaseEntityDecorator(metadataRepo.getEntity(currentBasePackage, name));
+        List<Field> fields = decorated.getFields();
+        assertFalse("Expected decorated fields!", fields.isEmpty());
+        assertSame("Decorated fields should be reused!", fields, decorated.getFields());
+        try {
+            fields.clear();
+            fail("Decorated fields should be read-only!");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Then("^the symbol table classifies \"([^\"]*)\" in \"([^\"]*)\" as \"([^\"]*)\" and \"([^\"]*)\" as \"([^\"]*)\"$")
+    public void the_symbol_table_classifies_in_as_and_as(String name, String packageName, String expectedType,
+            String otherName, String otherExpectedType) throws Throwable {
+        SymbolTable symbolTable = metadataRepo.getSymbolTable();
+        assertEquals(MetamodelType.valueOf(expectedType), symbolTable.getMetamodelType(packageName, name));
+        assertSame("Entity not found in symbol table!", metadataRepo.getEntity(packageName, name),
+                symbolTable.getEntity(packageName, name));
+        assertEquals(MetamodelType.valueOf(otherExpectedType), symbolTable.getMetamodelType(packageName, otherName));
+        assertSame("Symbol table should be reused until metadata changes!", symbolTable,
+                metadataRepo.getSymbolTable());
+    }
+
+    @Then("^the decorated field \"([^\"]*)\" of \"([^\"]*)\" is an entity while \"([^\"]*)\" of \"([^\"]*)\" is not$")
+    public void the_decorated_field_of_is_an_entity_while_of_is_not(String entityField, String name,
+            String simpleField, String otherName) throws Throwable {
+        BaseFieldDecorator decoratedEntityField = new BaseFieldDecorator(getField(name, entityField));
+        assertTrue("Expected an entity field!", decoratedEntityField.isEntity());
+        assertTrue("Classification should be stable!", decoratedEntityField.isEntity());
+        assertFalse("Expected a simple field!", new BaseFieldDecorator(getField(otherName, simpleField)).isEntity());
+    }
+
+    private Field getField(String entityName, String fieldName) {
+        return metadataRepo.getEntity(currentBasePackage, entityName).getFields().stream()
+                .filter(field -> fieldName.equals(field.getName())).findFirst().orElse(null);
+    }
+
+    @Then("^the reference, relation, and parent of \"([^\"]*)\" are linked to \"([^\"]*)\", \"([^\"]*)\", and \"([^\"]*)\"$")
+    public void the_reference_relation_and_parent_of_are_linked_to_and(String name, String referenceType,
+            String relationType, String parentType) throws Throwable {
+        assertNull("Unexpected load failure!", encounteredException);
+        Entity entity = metadataRepo.getEntity(currentBasePackage, name);
+        ReferenceElement reference = (ReferenceElement) entity.getReferences().get(0);
+        RelationElement relation = (RelationElement) entity.getRelations().get(0);
+        assertSame(metadataRepo.getEntity(currentBasePackage, referenceType), reference.getReferencedEntity());
+        assertSame(metadataRepo.getEntity(currentBasePackage, relationType), relation.getRelatedEntity());
+        assertSame(metadataRepo.getEntity(currentBasePackage, parentType),
+                ((ParentElement) entity.getParent()).getParentEntity());
+
+        assertSame("Foreign keys should be computed once!", reference.getForeignKeyFields(),
+                reference.getForeignKeyFields());
+        assertSame("Parent identifier should be computed once!", relation.getParentIdentifier(name),
+                relation.getParentIdentifier(name));
+    }
+
+    @Then("^the reference, relation, and parent of \"([^\"]*)\" are not linked$")
+    public void the_reference_relation_and_parent_of_are_not_linked(String name) throws Throwable {
+        Entity entity = metadataRepo.getEntity(currentBasePackage, name);
+        assertNull(((ReferenceElement) entity.getReferences().get(0)).getReferencedEntity());
+        assertNull(((RelationElement) entity.getRelations().get(0)).getRelatedEntity());
+        assertNull(((ParentElement) entity.getParent()).getParentEntity());
+    }
+
+    @Then("^\"([^\"]*)\" has a single inverse relation to \"([^\"]*)\"$")
+    public void has_a_single_inverse_relation_to(String name, String expectedParent) throws Throwable {
+        List<Entity> inverseRelations = metadataRepo.getEntity(currentBasePackage, name).getInverseRelations();
+        assertEquals("Unexpected number of inverse relations!", 1, inverseRelations.size());
+        assertEquals(expectedParent, inverseRelations.get(0).getName());
+    }
+
+    @Then("^the entity \"([^\"]*)\" has children \"([^\"]*)\" and descendants \"([^\"]*)\"$")
+    public void the_entity_has_children_and_descendants(String name, String expectedChildren,
+            String expectedDescendants) throws Throwable {
+        InheritanceIndex inheritanceIndex = metadataRepo.getInheritanceIndex();
+        assertEquals("Unexpected children!", expectedChildren, getNames(inheritanceIndex.getChildren(name)));
+        assertEquals("Unexpected descendants!", expectedDescendants, getNames(inheritanceIndex.getDescendants(name)));
+    }
+
+    @Then("^the entities \"([^\"]*)\" are non-persistent parents and \"([^\"]*)\" are not$")
+    public void the_entities_are_non_persistent_parents_and_are_not(String parents, String nonParents)
+            throws Throwable {
+        for (String parent : StringUtils.split(parents, ", ")) {
+            assertTrue(parent + " should be a non-persistent parent!",
+                    metadataRepo.getEntity(currentBasePackage, parent).isNonPersistentParentEntity());
+        }
+        for (String nonParent : StringUtils.split(nonParents, ", ")) {
+            assertFalse(nonParent + " should not be a non-persistent parent!",
+                    metadataRepo.getEntity(currentBasePackage, nonParent).isNonPersistentParentEntity());
+        }
+    }
+
+    @Then("^of the entities \"([^\"]*)\" only \"([^\"]*)\" is an abstract root$")
+    public void of_the_entities_only_is_an_abstract_root(String names, String abstractRoot) throws Throwable {
+        for (String name : StringUtils.split(names, ", ")) {
+            assertEquals("Unexpected abstract root status for " + name + "!", name.equals(abstractRoot),
+                    metadataRepo.getInheritanceIndex().isAbstractRoot(name));
+        }
+    }
+
     @Then("^an entity metamodel instance is returned for the name \"([^\"]*)\" in \"([^\"]*)\" with table \"([^\"]*)\"$")
     public void an_entity_metamodel_instance_is_returned_for_the_name_in_with_table(String expectedName,
             String expectedPackage, String expectedTable) throws Throwable {
@@ -517,4 +695,8 @@ public class EntitySteps extends AbstractEntitySteps {
         public String fetchMode;
     }
 
+    private String getNames(List<Entity> entities) {
+        return entities.stream().map(Entity::getName).collect(Collectors.joining(", "));
+    }
+
 }
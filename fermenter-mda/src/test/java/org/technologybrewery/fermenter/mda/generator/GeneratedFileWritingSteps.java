@@ -0,0 +1,91 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class GeneratedFileWritingSteps {
+
+    private static final long PRIOR_BUILD_TIME = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+
+    private MojoTestCaseWrapper testCase;
+    private GenerationContext context;
+    private TestIncrementalGenerator generator;
+
+    @Before("@generatedFileWriting")
+    public void setup() throws Exception {
+        testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+        MavenSession session = testCase.newMavenSession();
+
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(new StatisticsService(session));
+        generator = new TestIncrementalGenerator();
+    }
+
+    @After("@generatedFileWriting")
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(generator.getTemplatePath());
+        Files.deleteIfExists(generator.getOutputPath());
+        testCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^a file generated by a prior build$")
+    public void a_file_generated_by_a_prior_build() throws Exception {
+        generator.writeTemplate("original");
+        generator.generate(context);
+        generator.getOutputPath().toFile().setLastModified(PRIOR_BUILD_TIME);
+    }
+
+    @Given("^the template for the file has been modified$")
+    public void the_template_for_the_file_has_been_modified() throws Exception {
+        generator.writeTemplate("modified");
+    }
+
+    @When("^the file is regenerated$")
+    public void the_file_is_regenerated() {
+        generator.generate(context);
+    }
+
+    @Then("^the generated file has not been rewritten$")
+    public void the_generated_file_has_not_been_rewritten() throws Exception {
+        assertEquals(PRIOR_BUILD_TIME, generator.getOutputPath().toFile().lastModified());
+        assertEquals("original rendered", Files.readString(generator.getOutputPath()));
+    }
+
+    @Then("^the generated file contains the modified template$")
+    public void the_generated_file_contains_the_modified_template() throws Exception {
+        assertEquals("modified rendered", Files.readString(generator.getOutputPath()));
+    }
+
+    @Then("^no temporary files are left behind$")
+    public void no_temporary_files_are_left_behind() {
+        File outputDirectory = generator.getOutputPath().getParent().toFile();
+        String outputName = generator.getOutputPath().getFileName().toString();
+        for (String fileName : outputDirectory.list()) {
+            assertFalse("Temporary file left behind: " + fileName,
+                fileName.startsWith(outputName) && fileName.endsWith(".tmp"));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport;
+import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalGenerationSteps {
+
+    private static final File MANIFEST_FILE = new File("target/test-generation-manifest/generation-manifest.json");
+    private static final List<String> FINGERPRINT = Arrays.asList("1.0.0", "org.test:test:1.0.0", "model-hash");
+    private static final File LIBRARY_DIRECTORY = new File("target/test-incremental-libraries");
+    private static final File LIBRARY_JAR = new File(LIBRARY_DIRECTORY, "templates.jar");
+    private static final File LIBRARY_CLASSES = new File(LIBRARY_DIRECTORY, "classes");
+
+    private MojoTestCaseWrapper testCase;
+    private MavenSession session;
+    private TestIncrementalGenerator generator;
+    private int rendersBeforeNewBuild;
+    private GenerationReport report;
+
+    @Before("@incrementalGeneration")
+    public void setup() throws Exception {
+        testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+        session = testCase.newMavenSession();
+        Files.deleteIfExists(MANIFEST_FILE.toPath());
+        FileUtils.deleteDirectory(LIBRARY_DIRECTORY);
+        Files.createDirectories(LIBRARY_CLASSES.toPath().resolve("macros"));
+        Files.writeString(LIBRARY_JAR.toPath(), "original jar");
+        Files.writeString(LIBRARY_CLASSES.toPath().resolve("macros/library.vm"), "#macro(original)#end");
+        generator = new TestIncrementalGenerator();
+    }
+
+    @After("@incrementalGeneration")
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(generator.getTemplatePath());
+        Files.deleteIfExists(generator.getOutputPath());
+        Files.deleteIfExists(MANIFEST_FILE.toPath());
+        FileUtils.deleteDirectory(LIBRARY_DIRECTORY);
+        testCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^a file generated by a prior build with incremental generation enabled$")
+    public void a_file_generated_by_a_prior_build_with_incremental_generation_enabled() throws Exception {
+        generator.writeTemplate("original");
+        executeBuild(FINGERPRINT);
+        rendersBeforeNewBuild = generator.getRenderCount();
+        assertEquals("Initial build should render the template", 1, rendersBeforeNewBuild);
+    }
+
+    @Given("^the template has been modified$")
+    public void the_template_has_been_modified() throws Exception {
+        generator.writeTemplate("modified");
+    }
+
+    @Given("^the template library (jar|directory) on the plugin classpath has been modified$")
+    public void the_template_library_on_the_plugin_classpath_has_been_modified(String library) throws Exception {
+        File modified = "jar".equals(library) ? LIBRARY_JAR : new File(LIBRARY_CLASSES, "macros/library.vm");
+        Files.writeString(modified.toPath(), "modified", StandardOpenOption.APPEND);
+        modified.setLastModified(modified.lastModified() + 1000);
+    }
+
+    @Given("^the generated file has been modified$")
+    public void the_generated_file_has_been_modified() throws Exception {
+        Files.writeString(generator.getOutputPath(), " with manual edits", StandardOpenOption.APPEND);
+    }
+
+    @Given("^the generator may not overwrite the generated file$")
+    public void the_generator_may_not_overwrite_the_generated_file() {
+        generator.setOverwritable(false);
+    }
+
+    @When("^the generator is executed in a new build$")
+    public void the_generator_is_executed_in_a_new_build() {
+        executeBuild(FINGERPRINT);
+    }
+
+    @When("^the generator is executed in a new build of the module on its own$")
+    public void the_generator_is_executed_in_a_new_build_of_the_module_on_its_own() {
+        executeBuild(FINGERPRINT, "test");
+    }
+
+    @When("^the generator is executed in a new build with different metadata$")
+    public void the_generator_is_executed_in_a_new_build_with_different_metadata() {
+        executeBuild(Arrays.asList("1.0.0", "org.test:test:1.0.0", "changed-model-hash"));
+    }
+
+    @Then("^the template is not rendered again$")
+    public void the_template_is_not_rendered_again() {
+        assertEquals(rendersBeforeNewBuild, generator.getRenderCount());
+    }
+
+    @Then("^the template is rendered again$")
+    public void the_template_is_rendered_again() {
+        assertEquals(rendersBeforeNewBuild + 1, generator.getRenderCount());
+    }
+
+    @Then("^the generated file is reported as skipped$")
+    public void the_generated_file_is_reported_as_skipped() {
+        assertEquals("Unexpected number of skipped files!", 1, report.getFilesSkipped());
+        assertEquals("Unexpected number of unchanged files!", 0, report.getFilesUnchanged());
+    }
+
+    @Then("^the generated file contains the rendered template$")
+    public void the_generated_file_contains_the_rendered_template() throws Exception {
+        assertEquals("original rendered", Files.readString(generator.getOutputPath()));
+    }
+
+    private void executeBuild(List<String> fingerprint) {
+        executeBuild(fingerprint, "test-parent");
+    }
+
+    private void executeBuild(List<String> fingerprint, String rootArtifactId) {
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        GenerationContext context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(new StatisticsService(session));
+        context.setArtifactId("test");
+        context.setRootArtifactId(rootArtifactId);
+
+        List<String> fingerprintInputs = new ArrayList<>(fingerprint);
+        fingerprintInputs.addAll(GenerationManifest.getContextInputs(context));
+        fingerprintInputs.add(GenerationManifest.hashClasspathEntry(LIBRARY_JAR));
+        fingerprintInputs.add(GenerationManifest.hashClasspathEntry(LIBRARY_CLASSES));
+        GenerationManifest manifest = GenerationManifest.load(MANIFEST_FILE, fingerprintInputs);
+        report = new GenerationReport("test");
+        context.setGenerationManifest(manifest);
+        context.setGenerationReport(report);
+        generator.generate(context);
+        manifest.save();
+    }
+}
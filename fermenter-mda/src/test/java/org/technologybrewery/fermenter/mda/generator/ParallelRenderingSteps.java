@@ -0,0 +1,83 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelRenderingSteps {
+
+    private MojoTestCaseWrapper testCase;
+    private GenerationContext context;
+    private TestMultipleFileGenerator generator;
+    private String outputFileAfterGeneration;
+
+    @Before("@parallelRendering")
+    public void setup() throws Exception {
+        testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+        MavenSession session = testCase.newMavenSession();
+
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(new StatisticsService(session));
+    }
+
+    @After("@parallelRendering")
+    public void cleanUp() throws Exception {
+        Files.deleteIfExists(generator.getTemplatePath());
+        for (Path outputPath : generator.getOutputPaths()) {
+            Files.deleteIfExists(outputPath);
+        }
+        testCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^a target that renders (\\d+) element files$")
+    public void a_target_that_renders_element_files(int numberOfFiles) {
+        generator = new TestMultipleFileGenerator(numberOfFiles);
+    }
+
+    @Given("^a render parallelism of (\\d+)$")
+    public void a_render_parallelism_of(int renderParallelism) {
+        context.setRenderParallelism(renderParallelism);
+    }
+
+    @When("^the target is generated$")
+    public void the_target_is_generated() {
+        generator.generate(context);
+        outputFileAfterGeneration = context.getOutputFile();
+    }
+
+    @Then("^each element file contains the output of its own context$")
+    public void each_element_file_contains_the_output_of_its_own_context() throws Exception {
+        List<Path> outputPaths = generator.getOutputPaths();
+        for (int i = 0; i < outputPaths.size(); i++) {
+            assertEquals(generator.getExpectedContent(i), Files.readString(outputPaths.get(i)));
+        }
+    }
+
+    @Then("^the output file of the generation context is not modified$")
+    public void the_output_file_of_the_generation_context_is_not_modified() {
+        assertTrue("Per-element output file leaked into the generation context",
+            outputFileAfterGeneration.contains("${elementName}"));
+    }
+}
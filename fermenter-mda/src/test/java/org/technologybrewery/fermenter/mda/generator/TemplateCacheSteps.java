@@ -0,0 +1,113 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.app.VelocityEngine;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.reporting.StatisticsService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TemplateCacheSteps {
+
+    private static final String TEMPLATE = "templates/notifications/sample.notification.vm";
+
+    private VelocityEngine firstEngine;
+    private VelocityEngine secondEngine;
+    private VelocityEngine engineBeforeRelease;
+    private long initialHits;
+    private long initialMisses;
+
+    @Before("@templateCache")
+    public void setup() {
+        firstEngine = null;
+        secondEngine = null;
+    }
+
+    @Given("^the shared template engine$")
+    public void the_shared_template_engine() {
+        // use a dedicated class loader so templates cached by other scenarios do not affect the counts
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new ClassLoader(originalClassLoader) { });
+        try {
+            firstEngine = TemplateCache.getSharedEngine();
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    @When("^two module executions obtain the shared template engine$")
+    public void two_module_executions_obtain_the_shared_template_engine() {
+        firstEngine = TemplateCache.getSharedEngine();
+        secondEngine = TemplateCache.getSharedEngine();
+    }
+
+    @When("^two module executions create non-caching template engines$")
+    public void two_module_executions_create_non_caching_template_engines() {
+        firstEngine = TemplateCache.createEngine(false);
+        secondEngine = TemplateCache.createEngine(false);
+    }
+
+    @When("^the Maven session ends$")
+    public void the_maven_session_ends() throws Exception {
+        engineBeforeRelease = TemplateCache.getSharedEngine();
+        MojoTestCaseWrapper testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+        try {
+            MavenSession session = testCase.newMavenSession();
+            new StatisticsService(session).afterSessionEnd(session);
+        } finally {
+            testCase.tearDownPluginTestHarness();
+        }
+    }
+
+    @When("^a module execution releases the shared template engines$")
+    public void a_module_execution_releases_the_shared_template_engines() {
+        engineBeforeRelease = TemplateCache.getSharedEngine();
+        TemplateCache.clear();
+    }
+
+    @When("^the same template is requested twice$")
+    public void the_same_template_is_requested_twice() {
+        initialHits = TemplateCache.getHits();
+        initialMisses = TemplateCache.getMisses();
+        firstEngine.getTemplate(TEMPLATE);
+        firstEngine.getTemplate(TEMPLATE);
+    }
+
+    @Then("^both executions use the same engine$")
+    public void both_executions_use_the_same_engine() {
+        assertSame(firstEngine, secondEngine);
+    }
+
+    @Then("^each execution uses its own engine$")
+    public void each_execution_uses_its_own_engine() {
+        assertNotSame(firstEngine, secondEngine);
+    }
+
+    @Then("^no template cache hits or misses are counted$")
+    public void no_template_cache_hits_or_misses_are_counted() {
+        assertEquals(0, TemplateCache.getHits());
+        assertEquals(0, TemplateCache.getMisses());
+    }
+
+    @Then("^module executions obtain a new shared template engine$")
+    public void module_executions_obtain_a_new_shared_template_engine() {
+        assertNotSame(engineBeforeRelease, TemplateCache.getSharedEngine());
+    }
+
+    @Then("^the template is parsed once$")
+    public void the_template_is_parsed_once() {
+        assertEquals(1, TemplateCache.getMisses() - initialMisses);
+    }
+
+    @Then("^the second request is a cache hit$")
+    public void the_second_request_is_a_cache_hit() {
+        assertEquals(1, TemplateCache.getHits() - initialHits);
+    }
+}
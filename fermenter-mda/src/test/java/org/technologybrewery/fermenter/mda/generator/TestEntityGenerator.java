@@ -0,0 +1,26 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import org.apache.velocity.VelocityContext;
+import org.technologybrewery.fermenter.mda.generator.entity.AbstractEntityGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+
+/**
+ * Generates a file per entity, used to measure generation of large models.
+ */
+public class TestEntityGenerator extends AbstractEntityGenerator {
+
+    @Override
+    protected void populateVelocityContext(VelocityContext vc, Entity entity, GenerationContext generationContext) {
+        vc.put("entity", entity);
+    }
+
+    @Override
+    protected boolean generatePersistentEntitiesOnly() {
+        return false;
+    }
+
+    @Override
+    protected String getOutputSubFolder() {
+        return "java/";
+    }
+}
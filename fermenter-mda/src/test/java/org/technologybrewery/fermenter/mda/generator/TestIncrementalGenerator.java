@@ -0,0 +1,86 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import org.apache.velocity.VelocityContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a single file and counts the number of times its template is actually rendered.
+ */
+public class TestIncrementalGenerator extends AbstractGenerator {
+    private final String name;
+    private final RenderCounter renderCounter = new RenderCounter();
+    private boolean overwritable = true;
+
+    public TestIncrementalGenerator() {
+        name = UUID.randomUUID().toString();
+    }
+
+    @Override
+    protected String getOutputSubFolder() {
+        return "test-generator-output/";
+    }
+
+    @Override
+    public void generate(GenerationContext context) {
+        context.setOverwritable(overwritable);
+        context.setTemplateName(getTemplateName());
+        VelocityContext vc = new VelocityContext();
+        vc.put("renderCounter", renderCounter);
+        generateFile(context, createRenderRequest(context, getOutputName(), vc));
+    }
+
+    @Override
+    protected File getBaseFile(GenerationContext gc) {
+        return new File("target");
+    }
+
+    public void setOverwritable(boolean overwritable) {
+        this.overwritable = overwritable;
+    }
+
+    public void writeTemplate(String content) throws IOException {
+        Files.writeString(getTemplatePath(), content + " $renderCounter");
+    }
+
+    public Path getTemplatePath() {
+        return Paths.get("target", "test-classes", getTemplateName());
+    }
+
+    public Path getOutputPath() {
+        return getBaseFile(null).toPath()
+            .resolve(getOutputSubFolder())
+            .resolve(getOutputName());
+    }
+
+    public int getRenderCount() {
+        return renderCounter.count.get();
+    }
+
+    private String getTemplateName() {
+        return name + "-template.vm";
+    }
+
+    private String getOutputName() {
+        return name + "-output";
+    }
+
+    /**
+     * Renders as constant text so output does not vary, while counting each render.
+     */
+    public static class RenderCounter {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            count.incrementAndGet();
+            return "rendered";
+        }
+    }
+}
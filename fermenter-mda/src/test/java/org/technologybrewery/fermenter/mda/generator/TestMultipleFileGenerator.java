@@ -0,0 +1,89 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.velocity.VelocityContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Renders a single template to several output files, one per element name, in the same manner as the per-element
+ * generators.
+ */
+public class TestMultipleFileGenerator extends AbstractGenerator {
+    private final String name;
+    private final String templateContent;
+    private final List<String> elementNames = new ArrayList<>();
+
+    public TestMultipleFileGenerator(int numberOfFiles) {
+        name = UUID.randomUUID().toString();
+        templateContent = RandomStringUtils.randomAlphanumeric(100) + " $elementName";
+        for (int i = 0; i < numberOfFiles; i++) {
+            elementNames.add("element" + i);
+        }
+    }
+
+    @Override
+    protected String getOutputSubFolder() {
+        return "test-generator-output/";
+    }
+
+    @Override
+    public void generate(GenerationContext context) {
+        writeTemplate();
+        context.setOverwritable(true);
+        context.setTemplateName(getTemplateName());
+        context.setOutputFile(name + "-${elementName}-output");
+
+        List<RenderRequest> requests = new ArrayList<>();
+        for (String elementName : elementNames) {
+            VelocityContext vc = new VelocityContext();
+            vc.put("elementName", elementName);
+            String fileName = replace("elementName", context.getOutputFile(), elementName);
+            requests.add(createRenderRequest(context, fileName, vc));
+        }
+
+        generateFiles(context, requests);
+    }
+
+    @Override
+    protected File getBaseFile(GenerationContext gc) {
+        return new File("target");
+    }
+
+    private void writeTemplate() {
+        try {
+            Files.writeString(getTemplatePath(), templateContent);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write test template file", e);
+        }
+    }
+
+    public Path getTemplatePath() {
+        return Paths.get("target", "test-classes", getTemplateName());
+    }
+
+    public List<Path> getOutputPaths() {
+        List<Path> outputPaths = new ArrayList<>();
+        for (String elementName : elementNames) {
+            outputPaths.add(getBaseFile(null).toPath()
+                .resolve(getOutputSubFolder())
+                .resolve(name + "-" + elementName + "-output"));
+        }
+        return outputPaths;
+    }
+
+    public String getExpectedContent(int elementIndex) {
+        return templateContent.replace("$elementName", elementNames.get(elementIndex));
+    }
+
+    private String getTemplateName() {
+        return name + "-template.vm";
+    }
+}
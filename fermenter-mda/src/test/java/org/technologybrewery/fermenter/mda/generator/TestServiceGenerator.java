@@ -0,0 +1,21 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import org.apache.velocity.VelocityContext;
+import org.technologybrewery.fermenter.mda.generator.service.AbstractServiceGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.element.Service;
+
+/**
+ * Generates a file per service, used to measure generation of large models.
+ */
+public class TestServiceGenerator extends AbstractServiceGenerator {
+
+    @Override
+    protected void populateVelocityContext(VelocityContext vc, Service service, GenerationContext generationContext) {
+        vc.put("service", service);
+    }
+
+    @Override
+    protected String getOutputSubFolder() {
+        return "java/";
+    }
+}
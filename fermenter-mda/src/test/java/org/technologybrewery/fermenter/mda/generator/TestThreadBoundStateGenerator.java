@@ -0,0 +1,60 @@
+package org.technologybrewery.fermenter.mda.generator;
+
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the thread-bound state visible to each executed target, keyed by the target's output file. Targets whose
+ * template name is "fail" throw a {@link GenerationException} instead.
+ */
+public class TestThreadBoundStateGenerator implements Generator {
+
+    public static final String FAILING_TEMPLATE = "fail";
+
+    private static final Map<String, Object> observedRepositories = new ConcurrentHashMap<>();
+    private static final Map<String, MessageTracker> observedMessageTrackers = new ConcurrentHashMap<>();
+    private static final Map<String, String> observedThreads = new ConcurrentHashMap<>();
+
+    @Override
+    public void generate(GenerationContext context) {
+        String outputFile = context.getOutputFile();
+        observedThreads.put(outputFile, Thread.currentThread().getName());
+        if (FAILING_TEMPLATE.equals(context.getTemplateName())) {
+            throw new GenerationException("Failure generating " + outputFile);
+        }
+
+        DefaultModelInstanceRepository repository = ModelInstanceRepositoryManager
+            .getMetamodelRepository(DefaultModelInstanceRepository.class);
+        if (repository != null) {
+            observedRepositories.put(outputFile, repository);
+        }
+        observedMessageTrackers.put(outputFile, MessageTracker.getInstance());
+    }
+
+    @Override
+    public void setMetadataContext(String metadataContext) {
+        // not used
+    }
+
+    public static Object getObservedRepository(String outputFile) {
+        return observedRepositories.get(outputFile);
+    }
+
+    public static MessageTracker getObservedMessageTracker(String outputFile) {
+        return observedMessageTrackers.get(outputFile);
+    }
+
+    public static Map<String, String> getObservedThreads() {
+        return observedThreads;
+    }
+
+    public static void clear() {
+        observedRepositories.clear();
+        observedMessageTrackers.clear();
+        observedThreads.clear();
+    }
+}
@@ -0,0 +1,246 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.io.FileUtils;
+import org.technologybrewery.fermenter.mda.GenerateSourcesHelper;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.EntityElement;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+public class MetadataDependencyCacheSteps {
+
+    private static final String PACKAGE = "org.technologybrewery.cache";
+    private static final String DEPENDENCY_ARTIFACT_ID = "domain-model";
+    private static final String LOCAL_ARTIFACT_ID = "local-module";
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private File workingDirectory = new File("target/metadata-dependency-cache");
+    private File jar;
+    private File localModelDirectory;
+    private File snapshotDirectory;
+    private File otherVersionDirectory;
+    private long snapshotLastModified;
+    private List<DefaultModelInstanceRepository> loadedModules = new ArrayList<>();
+    private List<List<ModelInstanceCache.ParsedModelInstance>> cachedEntities = new ArrayList<>();
+
+    @Before("@metadataDependencyCache")
+    public void setup() throws IOException {
+        FileUtils.deleteDirectory(workingDirectory);
+        workingDirectory.mkdirs();
+        jar = new File(workingDirectory, "domain-model.jar");
+        localModelDirectory = null;
+        snapshotDirectory = null;
+        loadedModules.clear();
+        cachedEntities.clear();
+    }
+
+    @After("@metadataDependencyCache")
+    public void cleanUp() throws IOException {
+        new ModelInstanceCache().afterSessionEnd(null);
+        MessageTracker.getInstance().clear();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Given("^a metadata dependency jar containing entities \"([^\"]*)\" and \"([^\"]*)\"$")
+    public void a_metadata_dependency_jar_containing_entities_and(String firstEntity, String secondEntity)
+            throws IOException {
+        writeJar(firstEntity, secondEntity);
+    }
+
+    @Given("^a module containing the local entity \"([^\"]*)\"$")
+    public void a_module_containing_the_local_entity(String entityName) throws IOException {
+        localModelDirectory = new File(workingDirectory, "local");
+        File entitiesDirectory = new File(localModelDirectory, "entities");
+        entitiesDirectory.mkdirs();
+        objectMapper.writeValue(new File(entitiesDirectory, entityName + ".json"), createEntity(entityName));
+    }
+
+    @Given("^the plugin is registered as a build extension$")
+    public void the_plugin_is_registered_as_a_build_extension() {
+        new ModelInstanceCache().afterProjectsRead(null);
+    }
+
+    @Given("^metamodel snapshots are enabled$")
+    public void metamodel_snapshots_are_enabled() {
+        // unique per scenario, as other versions are only pruned once per directory within a JVM
+        snapshotDirectory = new File(workingDirectory, "snapshots/" + UUID.randomUUID());
+    }
+
+    @Given("^snapshots of another Fermenter version unused for (\\d+) days$")
+    public void snapshots_of_another_fermenter_version_unused_for_days(int days) throws IOException {
+        otherVersionDirectory = new File(snapshotDirectory.getParentFile(), "0.0.1");
+        File otherSnapshot = new File(otherVersionDirectory, "other-entities.smile");
+        FileUtils.writeStringToFile(otherSnapshot, "snapshot", StandardCharsets.UTF_8);
+        long unusedSince = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        otherSnapshot.setLastModified(unusedSince);
+        otherVersionDirectory.setLastModified(unusedSince);
+    }
+
+    @Given("^a module has loaded its models from the jar$")
+    @When("^a module loads its models from the jar$")
+    public void a_module_loads_its_models_from_the_jar() throws Exception {
+        loadModule();
+    }
+
+    @When("^two modules load their models from the jar$")
+    public void two_modules_load_their_models_from_the_jar() throws Exception {
+        loadModule();
+        loadModule();
+    }
+
+    @When("^the module's execution ends$")
+    public void the_module_s_execution_ends() {
+        GenerateSourcesHelper.releaseSharedCaches();
+    }
+
+    @When("^a later build loads its models from the jar$")
+    public void a_later_build_loads_its_models_from_the_jar() throws Exception {
+        File snapshot = getEntitySnapshot();
+        if (snapshot != null) {
+            snapshot.setLastModified(snapshot.lastModified() - 60000);
+            snapshotLastModified = snapshot.lastModified();
+        }
+        new ModelInstanceCache().afterSessionEnd(null);
+        loadModule();
+    }
+
+    @When("^the jar is rebuilt with entities \"([^\"]*)\" and \"([^\"]*)\"$")
+    public void the_jar_is_rebuilt_with_entities_and(String firstEntity, String secondEntity) throws IOException {
+        long priorModification = jar.lastModified();
+        writeJar(firstEntity, secondEntity);
+        // ensure the rebuild is detectable on file systems with coarse timestamps
+        jar.setLastModified(priorModification + 2000);
+    }
+
+    @Then("^the jar's entities are parsed once$")
+    public void the_jar_s_entities_are_parsed_once() {
+        assertEquals("Unexpected number of cached entities!", 2, cachedEntities.get(0).size());
+        assertSame("Jar was parsed again for the second module!", cachedEntities.get(0), cachedEntities.get(1));
+    }
+
+    @Then("^the jar's entities are parsed again$")
+    public void the_jar_s_entities_are_parsed_again() {
+        assertNotSame("Jar should have been released after the execution!", cachedEntities.get(0),
+                cachedEntities.get(1));
+    }
+
+    @Then("^only the snapshot of the rebuilt jar is kept$")
+    public void only_the_snapshot_of_the_rebuilt_jar_is_kept() {
+        assertNotNull("Snapshot of the rebuilt jar not written!", getEntitySnapshot());
+    }
+
+    @Then("^the snapshots of the other Fermenter version are removed$")
+    public void the_snapshots_of_the_other_fermenter_version_are_removed() {
+        assertFalse("Unused snapshots not removed!", otherVersionDirectory.exists());
+    }
+
+    @Then("^a snapshot of the jar's entities is written$")
+    public void a_snapshot_of_the_jar_s_entities_is_written() {
+        assertNotNull("Snapshot not written!", getEntitySnapshot());
+    }
+
+    @Then("^the snapshot of the jar's entities is reused$")
+    public void the_snapshot_of_the_jar_s_entities_is_reused() {
+        assertEquals("Snapshot should not have been rewritten!", snapshotLastModified,
+                getEntitySnapshot().lastModified());
+    }
+
+    @Then("^each module has its own instance of entity \"([^\"]*)\"$")
+    public void each_module_has_its_own_instance_of_entity(String entityName) {
+        Entity firstModuleEntity = loadedModules.get(0).getEntity(entityName);
+        Entity secondModuleEntity = loadedModules.get(1).getEntity(entityName);
+        assertNotNull("Entity not loaded for first module!", firstModuleEntity);
+        assertNotNull("Entity not loaded for second module!", secondModuleEntity);
+        assertNotSame("Modules should not share mutable entity instances!", firstModuleEntity, secondModuleEntity);
+    }
+
+    @Then("^the module has entities \"([^\"]*)\" and \"([^\"]*)\" from the jar$")
+    public void the_module_has_entities_and_from_the_jar(String firstEntity, String secondEntity) {
+        Map<String, Entity> dependencyEntities = getLastModule().getEntitiesByArtifactId(DEPENDENCY_ARTIFACT_ID);
+        assertEquals(Set.of(firstEntity, secondEntity), dependencyEntities.keySet());
+    }
+
+    @Then("^the module has the local entity \"([^\"]*)\"$")
+    public void the_module_has_the_local_entity(String entityName) {
+        Map<String, Entity> localEntities = getLastModule().getEntitiesByArtifactId(LOCAL_ARTIFACT_ID);
+        assertNotNull("Local entity not loaded!", localEntities.get(entityName));
+    }
+
+    private File getEntitySnapshot() {
+        File[] snapshots = snapshotDirectory.listFiles((directory, name) -> name.endsWith("-entities.smile"));
+        assertNotNull("Snapshot directory not created!", snapshots);
+        assertTrue("Unexpected number of entity snapshots!", snapshots.length <= 1);
+        return snapshots.length == 1 ? snapshots[0] : null;
+    }
+
+    private DefaultModelInstanceRepository getLastModule() {
+        return loadedModules.get(loadedModules.size() - 1);
+    }
+
+    private void loadModule() throws Exception {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(LOCAL_ARTIFACT_ID);
+        config.setBasePackage(PACKAGE);
+        config.setSnapshotDirectory(snapshotDirectory);
+        Map<String, ModelInstanceUrl> metadataUrlMap = config.getMetamodelInstanceLocations();
+        String jarUrl = jar.toURI().toURL().toString();
+        metadataUrlMap.put(DEPENDENCY_ARTIFACT_ID, new ModelInstanceUrl(DEPENDENCY_ARTIFACT_ID, jarUrl));
+        if (localModelDirectory != null) {
+            metadataUrlMap.put(LOCAL_ARTIFACT_ID,
+                    new ModelInstanceUrl(LOCAL_ARTIFACT_ID, localModelDirectory.toURI().toString()));
+        }
+
+        DefaultModelInstanceRepository repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+
+        loadedModules.add(repository);
+        cachedEntities.add(ModelInstanceCache.getModelInstances(jarUrl, List.of("entities"), snapshotDirectory)
+                .get("entities"));
+    }
+
+    private void writeJar(String... entityNames) throws IOException {
+        try (JarOutputStream jarStream = new JarOutputStream(new FileOutputStream(jar))) {
+            for (String entityName : entityNames) {
+                jarStream.putNextEntry(new ZipEntry("entities/" + entityName + ".json"));
+                jarStream.write(objectMapper.writeValueAsBytes(createEntity(entityName)));
+                jarStream.closeEntry();
+            }
+        }
+    }
+
+    private EntityElement createEntity(String name) {
+        EntityElement entity = new EntityElement();
+        entity.setName(name);
+        entity.setPackage(PACKAGE);
+        return entity;
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.technologybrewery.fermenter.mda.GenerateSourcesHelper.LoggerDelegate.LogLevel;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+public class MetamodelSchemaValidationSteps {
+
+    private static final String ARTIFACT_ID = "schema-validation";
+    private static final String PACKAGE = "org.technologybrewery.schema";
+
+    private File workingDirectory = new File("target/metamodel-schema-validation");
+    private boolean schemaValidation;
+    private int loadParallelism;
+    private DefaultModelInstanceRepository repository;
+    private List<String> errors = new ArrayList<>();
+
+    @Before("@metamodelSchemaValidation")
+    public void setup() throws IOException {
+        FileUtils.deleteDirectory(workingDirectory);
+        schemaValidation = false;
+        loadParallelism = 1;
+        errors.clear();
+        MessageTracker.getInstance().clear();
+    }
+
+    @After("@metamodelSchemaValidation")
+    public void cleanUp() throws IOException {
+        MessageTracker.getInstance().clear();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Given("^schema validation is enabled with a load parallelism of (\\d+)$")
+    public void schema_validation_is_enabled_with_a_load_parallelism_of(int parallelism) {
+        schemaValidation = true;
+        loadParallelism = parallelism;
+    }
+
+    @Given("^an entity file for \"([^\"]*)\" that conforms to the entity schema$")
+    public void an_entity_file_for_that_conforms_to_the_entity_schema(String name) throws IOException {
+        writeEntity(name, "");
+    }
+
+    @Given("^an entity file for \"([^\"]*)\" with a numeric documentation$")
+    public void an_entity_file_for_with_a_numeric_documentation(String name) throws IOException {
+        // bound as text, but the schema requires a string
+        writeEntity(name, ", \"documentation\": 42");
+    }
+
+    @When("^the metamodels are loaded$")
+    public void the_metamodels_are_loaded() {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(ARTIFACT_ID);
+        config.setBasePackage(PACKAGE);
+        config.setSchemaValidation(schemaValidation);
+        config.setLoadParallelism(loadParallelism);
+        Map<String, ModelInstanceUrl> metadataUrlMap = config.getMetamodelInstanceLocations();
+        metadataUrlMap.put(ARTIFACT_ID, new ModelInstanceUrl(ARTIFACT_ID, workingDirectory.toURI().toString()));
+
+        repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+
+        MessageTracker.getInstance().emitMessages((level, message) -> {
+            if (level == LogLevel.ERROR) {
+                errors.add(message);
+            }
+        });
+    }
+
+    @Then("^entity \"([^\"]*)\" is loaded$")
+    public void entity_is_loaded(String name) {
+        assertNotNull("Expected entity " + name + " to be loaded!", repository.getEntity(PACKAGE, name));
+    }
+
+    @Then("^entity \"([^\"]*)\" is not loaded$")
+    public void entity_is_not_loaded(String name) {
+        assertNull("Expected entity " + name + " to be skipped!", repository.getEntity(PACKAGE, name));
+    }
+
+    @Then("^no errors are reported$")
+    public void no_errors_are_reported() {
+        assertTrue("Unexpected errors: " + errors, errors.isEmpty());
+    }
+
+    @Then("^an error is reported for \"([^\"]*)\"$")
+    public void an_error_is_reported_for(String fileName) {
+        assertFalse("Expected an error!", errors.isEmpty());
+        assertTrue("Expected an error for " + fileName + ": " + errors,
+                errors.stream().anyMatch(error -> error.contains(fileName)));
+    }
+
+    private void writeEntity(String name, String extraProperties) throws IOException {
+        FileUtils.writeStringToFile(new File(workingDirectory, "entities/" + name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"" + extraProperties + "}",
+                StandardCharsets.UTF_8);
+    }
+
+}
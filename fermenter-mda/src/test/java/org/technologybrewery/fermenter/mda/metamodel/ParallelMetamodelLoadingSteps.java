@@ -0,0 +1,124 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.technologybrewery.fermenter.mda.metamodel.element.Entity;
+import org.technologybrewery.fermenter.mda.metamodel.element.Enumeration;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+public class ParallelMetamodelLoadingSteps {
+
+    private static final String PACKAGE = "org.technologybrewery.parallel";
+
+    private File workingDirectory = new File("target/parallel-metamodel-loading");
+    private List<String> locations = new ArrayList<>();
+    private LoadOutcome sequentialOutcome;
+    private LoadOutcome outcome;
+
+    @Before("@parallelMetamodelLoading")
+    public void setup() throws IOException {
+        FileUtils.deleteDirectory(workingDirectory);
+        locations.clear();
+        MessageTracker.getInstance().clear();
+    }
+
+    @After("@parallelMetamodelLoading")
+    public void cleanUp() throws IOException {
+        MessageTracker.getInstance().clear();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Given("^model locations \"([^\"]*)\" and \"([^\"]*)\" that both define entity \"([^\"]*)\" and enumeration \"([^\"]*)\"$")
+    public void model_locations_that_both_define_entity_and_enumeration(String firstLocation, String secondLocation,
+            String entityName, String enumerationName) throws IOException {
+        for (String location : List.of(firstLocation, secondLocation)) {
+            File locationDirectory = new File(workingDirectory, location);
+            writeEntity(locationDirectory, entityName);
+            writeEntity(locationDirectory, location + "Only");
+            writeEnumeration(locationDirectory, enumerationName);
+            locations.add(location);
+        }
+    }
+
+    @When("^the metamodels are loaded with a load parallelism of (\\d+)$")
+    public void the_metamodels_are_loaded_with_a_load_parallelism_of(int parallelism) {
+        sequentialOutcome = load(1);
+        outcome = load(parallelism);
+    }
+
+    @Then("^the loaded metamodels match those of a sequential load$")
+    public void the_loaded_metamodels_match_those_of_a_sequential_load() {
+        assertEquals(sequentialOutcome.entityFiles, outcome.entityFiles);
+        assertEquals(sequentialOutcome.enumerationFiles, outcome.enumerationFiles);
+    }
+
+    @Then("^the replacement warnings match those of a sequential load, in the same order$")
+    public void the_replacement_warnings_match_those_of_a_sequential_load_in_the_same_order() {
+        assertFalse("Expected replacement warnings!", sequentialOutcome.messages.isEmpty());
+        assertEquals(sequentialOutcome.messages, outcome.messages);
+    }
+
+    private LoadOutcome load(int parallelism) {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(locations.get(0));
+        config.setBasePackage(PACKAGE);
+        config.setTargetModelInstances(new ArrayList<>(locations));
+        config.setLoadParallelism(parallelism);
+        Map<String, ModelInstanceUrl> metadataUrlMap = config.getMetamodelInstanceLocations();
+        for (String location : locations) {
+            metadataUrlMap.put(location,
+                    new ModelInstanceUrl(location, new File(workingDirectory, location).toURI().toString()));
+        }
+
+        MessageTracker messageTracker = MessageTracker.getInstance();
+        messageTracker.clear();
+        DefaultModelInstanceRepository repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+
+        LoadOutcome loadOutcome = new LoadOutcome();
+        messageTracker.emitMessages((level, message) -> loadOutcome.messages.add(level + " " + message));
+        for (Entity entity : repository.getEntities(PACKAGE).values()) {
+            loadOutcome.entityFiles.put(entity.getName(), entity.getFileName());
+        }
+        for (Enumeration enumeration : repository.getEnumerations(PACKAGE).values()) {
+            loadOutcome.enumerationFiles.put(enumeration.getName(), enumeration.getFileName());
+        }
+        messageTracker.clear();
+        return loadOutcome;
+    }
+
+    private void writeEntity(File locationDirectory, String name) throws IOException {
+        FileUtils.writeStringToFile(new File(locationDirectory, "entities/" + name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"}", StandardCharsets.UTF_8);
+    }
+
+    private void writeEnumeration(File locationDirectory, String name) throws IOException {
+        FileUtils.writeStringToFile(new File(locationDirectory, "enumerations/" + name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\", \"enums\": [{\"name\": \"ACTIVE\"}]}",
+                StandardCharsets.UTF_8);
+    }
+
+    private static final class LoadOutcome {
+        private final List<String> messages = new ArrayList<>();
+        private final Map<String, String> entityFiles = new TreeMap<>();
+        private final Map<String, String> enumerationFiles = new TreeMap<>();
+    }
+
+}
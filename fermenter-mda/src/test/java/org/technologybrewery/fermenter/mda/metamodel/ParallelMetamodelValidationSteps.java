@@ -0,0 +1,119 @@
+package org.technologybrewery.fermenter.mda.metamodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.technologybrewery.fermenter.mda.generator.GenerationException;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+
+public class ParallelMetamodelValidationSteps {
+
+    private static final String PACKAGE = "org.technologybrewery.validation";
+    private static final String LOCATION = "validation-model";
+
+    private File workingDirectory = new File("target/parallel-metamodel-validation");
+    private int serviceCount;
+    private List<List<String>> validationMessages = new ArrayList<>();
+
+    @Before("@parallelMetamodelValidation")
+    public void setup() throws IOException {
+        FileUtils.deleteDirectory(workingDirectory);
+        validationMessages.clear();
+        MessageTracker.getInstance().clear();
+    }
+
+    @After("@parallelMetamodelValidation")
+    public void cleanUp() throws IOException {
+        MessageTracker.getInstance().clear();
+        FileUtils.deleteDirectory(workingDirectory);
+    }
+
+    @Given("^a model location with (\\d+) services whose names do not match their files$")
+    public void a_model_location_with_services_whose_names_do_not_match_their_files(int count) throws IOException {
+        serviceCount = count;
+        for (int i = 0; i < count; i++) {
+            // name each service so its order by name is the reverse of its order by file
+            String name = "Misnamed" + String.format("%02d", count - i);
+            FileUtils.writeStringToFile(new File(workingDirectory, LOCATION + "/services/" + fileName(i) + ".json"),
+                    "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"}", StandardCharsets.UTF_8);
+        }
+    }
+
+    @When("^the metamodels are validated (\\d+) times with a validation parallelism of (\\d+)$")
+    public void the_metamodels_are_validated_times_with_a_validation_parallelism_of(int runs, int parallelism) {
+        for (int i = 0; i < runs; i++) {
+            validationMessages.add(validate(parallelism));
+        }
+    }
+
+    @Then("^every service is reported as invalid$")
+    public void every_service_is_reported_as_invalid() {
+        assertEquals("Unexpected number of validation messages!", serviceCount, validationMessages.get(0).size());
+    }
+
+    @Then("^the validation messages are ordered by file$")
+    public void the_validation_messages_are_ordered_by_file() {
+        List<String> messages = validationMessages.get(0);
+        for (int i = 0; i < messages.size(); i++) {
+            String message = messages.get(i);
+            assertTrue("Expected messages ordered by file, but found: " + message,
+                    message.contains("/" + fileName(i) + ".json"));
+        }
+    }
+
+    @Then("^each validation reports the same messages$")
+    public void each_validation_reports_the_same_messages() {
+        for (List<String> messages : validationMessages) {
+            assertEquals(validationMessages.get(0), messages);
+        }
+    }
+
+    private List<String> validate(int parallelism) {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(LOCATION);
+        config.setBasePackage(PACKAGE);
+        config.setValidationParallelism(parallelism);
+        config.getMetamodelInstanceLocations().put(LOCATION,
+                new ModelInstanceUrl(LOCATION, new File(workingDirectory, LOCATION).toURI().toString()));
+
+        MessageTracker messageTracker = MessageTracker.getInstance();
+        messageTracker.clear();
+        DefaultModelInstanceRepository repository = new DefaultModelInstanceRepository(config);
+        ModelInstanceRepositoryManager.setRepository(repository);
+        repository.load();
+        messageTracker.clear();
+        try {
+            repository.validate();
+        } catch (GenerationException e) {
+            // expected, as every service is invalid
+        }
+
+        List<String> messages = new ArrayList<>();
+        messageTracker.emitMessages((level, message) -> {
+            if (StringUtils.contains(message, "file name must match")) {
+                messages.add(message);
+            }
+        });
+        messageTracker.clear();
+        return messages;
+    }
+
+    private static String fileName(int index) {
+        return "Service" + String.format("%02d", index);
+    }
+
+}
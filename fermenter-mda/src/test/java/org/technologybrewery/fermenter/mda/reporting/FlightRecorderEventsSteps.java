@@ -0,0 +1,189 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.commons.io.FileUtils;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.GenerationException;
+import org.technologybrewery.fermenter.mda.generator.TestIncrementalGenerator;
+import org.technologybrewery.fermenter.mda.metamodel.DefaultModelInstanceRepository;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceRepositoryManager;
+import org.technologybrewery.fermenter.mda.metamodel.ModelInstanceUrl;
+import org.technologybrewery.fermenter.mda.metamodel.ModelRepositoryConfiguration;
+import org.technologybrewery.fermenter.mda.util.MessageTracker;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class FlightRecorderEventsSteps {
+    private static final String PACKAGE = "org.technologybrewery.recorded";
+    private static final String LOCATION = "recorded-model";
+
+    private final File workingDirectory = new File("target/flight-recorder-events");
+    private MojoTestCaseWrapper testCase;
+    private GenerationContext context;
+    private TestIncrementalGenerator priorGenerator;
+    private TestIncrementalGenerator newGenerator;
+    private List<RecordedEvent> events = new ArrayList<>();
+
+    @Before("@flightRecorderEvents")
+    public void setup() throws Exception {
+        FileUtils.deleteDirectory(workingDirectory);
+        MessageTracker.getInstance().clear();
+        testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(new StatisticsService(testCase.newMavenSession()));
+    }
+
+    @After("@flightRecorderEvents")
+    public void cleanUp() throws Exception {
+        for (TestIncrementalGenerator generator : new TestIncrementalGenerator[] { priorGenerator, newGenerator }) {
+            if (generator != null) {
+                Files.deleteIfExists(generator.getTemplatePath());
+                Files.deleteIfExists(generator.getOutputPath());
+            }
+        }
+        MessageTracker.getInstance().clear();
+        FileUtils.deleteDirectory(workingDirectory);
+        testCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^a model location with (\\d+) services$")
+    public void a_model_location_with_services(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            String name = "RecordedService" + i;
+            FileUtils.writeStringToFile(new File(workingDirectory, LOCATION + "/services/" + name + ".json"),
+                "{\"name\": \"" + name + "\", \"package\": \"" + PACKAGE + "\"}", StandardCharsets.UTF_8);
+        }
+    }
+
+    @When("^the metamodels are loaded and validated while Flight Recorder is recording$")
+    public void the_metamodels_are_loaded_and_validated_while_flight_recorder_is_recording() throws Exception {
+        ModelRepositoryConfiguration config = new ModelRepositoryConfiguration();
+        config.setArtifactId(LOCATION);
+        config.setBasePackage(PACKAGE);
+        config.getMetamodelInstanceLocations().put(LOCATION,
+            new ModelInstanceUrl(LOCATION, new File(workingDirectory, LOCATION).toURI().toString()));
+
+        events = record(() -> {
+            DefaultModelInstanceRepository repository = new DefaultModelInstanceRepository(config);
+            ModelInstanceRepositoryManager.setRepository(repository);
+            repository.load();
+            try {
+                repository.validate();
+            } catch (GenerationException e) {
+                // only the events matter here, not whether the services are complete
+            }
+        }, MetamodelLoadEvent.class, MetamodelValidationEvent.class);
+    }
+
+    @Then("^a metamodel load event records (\\d+) \"([^\"]*)\" of the artifact$")
+    public void a_metamodel_load_event_records_of_the_artifact(int count, String kind) {
+        RecordedEvent event = findEvent("org.technologybrewery.fermenter.MetamodelLoad", kind);
+        assertEquals(LOCATION, event.getString("artifactId"));
+        assertEquals(count, event.getInt("elementCount"));
+    }
+
+    @Then("^a metamodel validation event records (\\d+) \"([^\"]*)\"$")
+    public void a_metamodel_validation_event_records(int count, String kind) {
+        RecordedEvent event = findEvent("org.technologybrewery.fermenter.MetamodelValidation", kind);
+        assertEquals(count, event.getInt("elementCount"));
+    }
+
+    @When("^a file generated by a prior build and a new file are generated while Flight Recorder is recording$")
+    public void a_file_generated_by_a_prior_build_and_a_new_file_are_generated_while_flight_recorder_is_recording()
+            throws Exception {
+        // the prior build is not recorded, so its file is only seen once it is generated again below
+        priorGenerator = new TestIncrementalGenerator();
+        priorGenerator.writeTemplate("prior");
+        priorGenerator.generate(context);
+
+        newGenerator = new TestIncrementalGenerator();
+        newGenerator.writeTemplate("new");
+        events = record(() -> {
+            newGenerator.generate(context);
+            priorGenerator.generate(context);
+        }, FileGenerationEvent.class);
+    }
+
+    @Then("^a file generation event records the new file as \"([^\"]*)\"$")
+    public void a_file_generation_event_records_the_new_file_as(String outcome) {
+        assertEquals(outcome, findFileEvent(newGenerator).getString("outcome"));
+    }
+
+    @Then("^a file generation event records the prior file as \"([^\"]*)\"$")
+    public void a_file_generation_event_records_the_prior_file_as(String outcome) {
+        assertEquals(outcome, findFileEvent(priorGenerator).getString("outcome"));
+    }
+
+    @Then("^each file generation event records the template and size of its file$")
+    public void each_file_generation_event_records_the_template_and_size_of_its_file() throws Exception {
+        for (TestIncrementalGenerator generator : new TestIncrementalGenerator[] { priorGenerator, newGenerator }) {
+            RecordedEvent event = findFileEvent(generator);
+            assertEquals(generator.getTemplatePath().getFileName().toString(), event.getString("template"));
+            assertEquals(Files.size(generator.getOutputPath()), event.getLong("bytes"));
+        }
+    }
+
+    @SafeVarargs
+    private List<RecordedEvent> record(Runnable work, Class<? extends Event>... eventTypes) throws Exception {
+        Path recordingFile = Files.createTempFile(workingDirectory.toPath().getParent(), "fermenter-", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (Class<? extends Event> eventType : eventTypes) {
+                recording.enable(eventType).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(recordingFile);
+            return RecordingFile.readAllEvents(recordingFile);
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    private RecordedEvent findEvent(String eventName, String kind) {
+        List<RecordedEvent> matches = events.stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .filter(event -> kind.equals(event.getString("kind")))
+            .collect(Collectors.toList());
+        assertEquals("Expected one " + eventName + " event for " + kind, 1, matches.size());
+        return matches.get(0);
+    }
+
+    private RecordedEvent findFileEvent(TestIncrementalGenerator generator) {
+        String outputPath = generator.getOutputPath().toFile().getAbsolutePath();
+        List<RecordedEvent> matches = events.stream()
+            .filter(event -> outputPath.equals(event.getString("outputPath")))
+            .collect(Collectors.toList());
+        assertEquals("Expected one file generation event for " + outputPath, 1, matches.size());
+        return matches.get(0);
+    }
+}
@@ -0,0 +1,85 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.technologybrewery.fermenter.mda.generator.TestGenerator;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileOutcome;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationBudgetSteps {
+    private static final String ARTIFACT_ID = "budgeted-module";
+    private static final int FILES_PER_TARGET = 10;
+
+    private GenerationReport report;
+    private GenerationBudget budget;
+    private List<GenerationBudget.Violation> violations;
+
+    @Given("^a generation that took (\\d+) ms and wrote (\\d+) files with the targets:$")
+    public void a_generation_that_took_ms_and_wrote_files_with_the_targets(long millis, int filesWritten,
+                                                                          List<TargetTiming> targets) {
+        report = new GenerationReport(ARTIFACT_ID);
+        report.recordGeneration(TimeUnit.MILLISECONDS.toNanos(millis));
+        int fileCount = 0;
+        for (TargetTiming target : targets) {
+            report.recordTarget(target.target, TestGenerator.class.getName(), target.template,
+                TimeUnit.MILLISECONDS.toNanos(target.millis));
+            for (int i = 0; i < FILES_PER_TARGET; i++) {
+                FileOutcome outcome = fileCount++ < filesWritten ? FileOutcome.WRITTEN : FileOutcome.UNCHANGED;
+                report.recordFile(target.target, target.template, new File(target.target, i + ".java"), outcome,
+                    TimeUnit.MILLISECONDS.toNanos(target.millis) / FILES_PER_TARGET);
+            }
+        }
+        for (; fileCount < filesWritten; fileCount++) {
+            report.recordFile("other", "other.vm", new File("other", fileCount + ".java"), FileOutcome.WRITTEN, 0L);
+        }
+    }
+
+    @Given("^budgets of (\\d+) ms in total, (\\d+) ms per target, (\\d+) ms per template, and (\\d+) files written$")
+    public void budgets_of_ms_in_total_ms_per_target_ms_per_template_and_files_written(long maxGenerationMillis,
+            long maxTargetMillis, long maxTemplateMillis, long maxFilesWritten) {
+        budget = new GenerationBudget(maxGenerationMillis, maxTargetMillis, maxTemplateMillis, maxFilesWritten);
+    }
+
+    @When("^the generation is checked against the budgets$")
+    public void the_generation_is_checked_against_the_budgets() {
+        violations = budget.check(report);
+    }
+
+    @Then("^no budget is exceeded$")
+    public void no_budget_is_exceeded() {
+        assertTrue("Unexpected budget violations: " + violations, violations.isEmpty());
+    }
+
+    @Then("^the exceeded budgets are:$")
+    public void the_exceeded_budgets_are(List<ExpectedViolation> expected) {
+        assertEquals(expected.stream().map(violation -> violation.budget + " " + violation.subject.trim())
+                .collect(Collectors.toList()),
+            violations.stream().map(violation -> violation.getBudget() + " " + violation.getSubject())
+                .collect(Collectors.toList()));
+        for (GenerationBudget.Violation violation : violations) {
+            assertTrue("Violation should name its subject: " + violation,
+                violation.toString().startsWith(violation.getSubject()));
+            assertTrue("Actual value should exceed the limit: " + violation,
+                violation.getActual() > violation.getLimit());
+        }
+    }
+
+    public static class TargetTiming {
+        public String target;
+        public String template;
+        public long millis;
+    }
+
+    public static class ExpectedViolation {
+        public String budget;
+        public String subject;
+    }
+}
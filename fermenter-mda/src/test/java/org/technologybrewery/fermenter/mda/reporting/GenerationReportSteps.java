@@ -0,0 +1,196 @@
+package org.technologybrewery.fermenter.mda.reporting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cucumber.api.java.After;
+import cucumber.api.java.Before;
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader;
+import org.technologybrewery.fermenter.mda.MojoTestCaseWrapper;
+import org.technologybrewery.fermenter.mda.generator.GenerationContext;
+import org.technologybrewery.fermenter.mda.generator.TestGenerator;
+import org.technologybrewery.fermenter.mda.generator.TestIncrementalGenerator;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileOutcome;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.FileTiming;
+import org.technologybrewery.fermenter.mda.reporting.GenerationReport.Timing;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationReportSteps {
+
+    private static final File REPORT_DIRECTORY = new File("target/generation-reports");
+
+    private MojoTestCaseWrapper testCase;
+    private StatisticsService statisticsService;
+    private GenerationContext context;
+    private TestIncrementalGenerator priorGenerator;
+    private TestIncrementalGenerator newGenerator;
+    private TestGenerator nonOverwritableGenerator;
+    private GenerationReport report;
+    private ReactorTimings reactorTimings;
+    private int limit;
+
+    @Before("@generationReport")
+    public void setup() throws Exception {
+        testCase = new MojoTestCaseWrapper();
+        testCase.configurePluginTestHarness();
+        MavenSession session = testCase.newMavenSession();
+        statisticsService = new StatisticsService(session);
+
+        VelocityEngine engine = new VelocityEngine();
+        engine.setProperty(RuntimeConstants.RESOURCE_LOADERS, "classpath");
+        engine.setProperty("resource.loader.classpath.class", ClasspathResourceLoader.class.getName());
+        engine.init();
+
+        context = new GenerationContext();
+        context.setEngine(engine);
+        context.setStatisticsService(statisticsService);
+    }
+
+    @After("@generationReport")
+    public void cleanUp() throws Exception {
+        for (TestIncrementalGenerator generator : Arrays.asList(priorGenerator, newGenerator)) {
+            if (generator != null) {
+                Files.deleteIfExists(generator.getTemplatePath());
+                Files.deleteIfExists(generator.getOutputPath());
+            }
+        }
+        if (nonOverwritableGenerator != null) {
+            Files.deleteIfExists(nonOverwritableGenerator.getTemplatePath());
+            Files.deleteIfExists(nonOverwritableGenerator.getOutputPath());
+        }
+        FileUtils.deleteQuietly(REPORT_DIRECTORY);
+        testCase.tearDownPluginTestHarness();
+    }
+
+    @Given("^a file that a prior build generated$")
+    public void a_file_that_a_prior_build_generated() throws Exception {
+        priorGenerator = new TestIncrementalGenerator();
+        priorGenerator.writeTemplate("prior");
+        priorGenerator.generate(context);
+    }
+
+    @Given("^a non-overwritable file that already exists$")
+    public void a_non_overwritable_file_that_already_exists() throws Exception {
+        nonOverwritableGenerator = new TestGenerator(10, false);
+        Files.createDirectories(nonOverwritableGenerator.getOutputPath().getParent());
+        Files.writeString(nonOverwritableGenerator.getOutputPath(), "hand written");
+    }
+
+    @Given("^a generation report is being recorded$")
+    public void a_generation_report_is_being_recorded() {
+        report = new GenerationReport("fermenter-mda");
+        context.setGenerationReport(report);
+    }
+
+    @When("^a new file, the prior file, and the non-overwritable file are generated$")
+    public void a_new_file_the_prior_file_and_the_non_overwritable_file_are_generated() throws Exception {
+        newGenerator = new TestIncrementalGenerator();
+        newGenerator.writeTemplate("new");
+        newGenerator.generate(context);
+        priorGenerator.generate(context);
+        nonOverwritableGenerator.generate(context);
+    }
+
+    @Then("^the report records (\\d+) written, (\\d+) unchanged, and (\\d+) skipped file$")
+    public void the_report_records_written_unchanged_and_skipped_file(long written, long unchanged, long skipped) {
+        assertEquals("Unexpected number of written files", written, report.getFilesWritten());
+        assertEquals("Unexpected number of unchanged files", unchanged, report.getFilesUnchanged());
+        assertEquals("Unexpected number of skipped files", skipped, report.getFilesSkipped());
+        assertEquals(FileOutcome.SKIPPED, getFile(nonOverwritableGenerator.getOutputPath().toFile()).getOutcome());
+    }
+
+    @Then("^the report times each file and template$")
+    public void the_report_times_each_file_and_template() {
+        List<FileTiming> files = report.getFiles();
+        assertEquals("Unexpected number of files", 3, files.size());
+        for (int i = 1; i < files.size(); i++) {
+            assertTrue("Files not ordered slowest first", files.get(i - 1).getMillis() >= files.get(i).getMillis());
+        }
+        for (FileTiming file : files) {
+            assertTrue("File not timed: " + file.getPath(), file.getMillis() > 0);
+        }
+        assertEquals("Unexpected number of templates", 3, report.getTemplates().size());
+    }
+
+    @Then("^the report is written as json$")
+    public void the_report_is_written_as_json() throws Exception {
+        File reportFile = new File(REPORT_DIRECTORY, "generation-report.json");
+        assertTrue("Report not written", report.write(reportFile));
+
+        JsonNode json = new ObjectMapper().readTree(reportFile);
+        assertEquals("fermenter-mda", json.path("artifactId").asText());
+        assertEquals(1, json.path("filesWritten").asLong());
+        assertEquals(1, json.path("filesUnchanged").asLong());
+        assertEquals(1, json.path("filesSkipped").asLong());
+        assertEquals(3, json.path("files").size());
+        assertEquals(3, json.path("templates").size());
+    }
+
+    @Given("^generation reports written by the modules:$")
+    public void generation_reports_written_by_the_modules(List<ModuleTiming> timings) {
+        for (String module : timings.stream().map(timing -> timing.module).distinct().collect(Collectors.toList())) {
+            GenerationReport moduleReport = new GenerationReport(module);
+            for (ModuleTiming timing : timings) {
+                if (module.equals(timing.module)) {
+                    long nanos = TimeUnit.MILLISECONDS.toNanos(timing.millis);
+                    moduleReport.recordTarget(timing.target, TestGenerator.class.getName(), timing.template, nanos);
+                    moduleReport.recordFile(timing.target, timing.template,
+                        new File(module, timing.target + ".java"), FileOutcome.WRITTEN, nanos);
+                }
+            }
+
+            File reportFile = new File(REPORT_DIRECTORY, module + ".json");
+            moduleReport.write(reportFile);
+            statisticsService.recordGenerationReport(reportFile);
+        }
+    }
+
+    @When("^the slowest (\\d+) of the reactor are calculated$")
+    public void the_slowest_of_the_reactor_are_calculated(int limit) {
+        this.limit = limit;
+        reactorTimings = statisticsService.calculateReactorTimings();
+    }
+
+    @Then("^the slowest templates are \"([^\"]*)\"$")
+    public void the_slowest_templates_are(String expectedTemplates) {
+        assertEquals(expectedTemplates, names(reactorTimings.getSlowestTemplates(limit)));
+    }
+
+    @Then("^the slowest targets are \"([^\"]*)\"$")
+    public void the_slowest_targets_are(String expectedTargets) {
+        assertEquals(expectedTargets, names(reactorTimings.getSlowestTargets(limit)));
+    }
+
+    private FileTiming getFile(File file) {
+        return report.getFiles().stream()
+            .filter(timing -> timing.getPath().equals(file.getAbsolutePath()))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("File not reported: " + file));
+    }
+
+    private static String names(List<Timing> timings) {
+        return timings.stream().map(Timing::getName).collect(Collectors.joining(", "));
+    }
+
+    public static class ModuleTiming {
+        public String module;
+        public String target;
+        public String template;
+        public long millis;
+    }
+}
@@ -32,13 +32,14 @@ public class GenerationStatsSteps {
     private StatisticsService statisticsService;
     private VelocityEngine engine;
     private MojoTestCaseWrapper testCase;
+    private MavenSession session;
 
     @Before("@generationStats")
     public void setup() throws Exception {
         generators = new ArrayList<>();
         testCase = new MojoTestCaseWrapper();
         testCase.configurePluginTestHarness();
-        MavenSession session = testCase.newMavenSession();
+        session = testCase.newMavenSession();
         statisticsService = new StatisticsService(session);
 
         engine = new VelocityEngine();
@@ -85,8 +86,21 @@ public class GenerationStatsSteps {
 
     @Given("^the target already exists$")
     public void theTargetAlreadyExists() throws IOException {
+        // longer than any rendered template, so reading stats from a render would be detected
+        String existingContent = "temp\n".repeat(MAX_SIZE);
         for (TestGenerator eachGenerator : generators) {
-            Files.writeString(eachGenerator.getOutputPath(), "temp");
+            Files.createDirectories(eachGenerator.getOutputPath().getParent());
+            Files.writeString(eachGenerator.getOutputPath(), existingContent);
+        }
+    }
+
+    @Given("^the target already exists with content that is not valid in the default charset$")
+    public void theTargetAlreadyExistsWithContentThatIsNotValidInTheDefaultCharset() throws IOException {
+        // a lone continuation byte is malformed in UTF-8, the usual default charset
+        byte[] existingContent = new byte[] {'t', 'e', 'm', 'p', (byte) 0x80, (byte) 0xFF, '\n'};
+        for (TestGenerator eachGenerator : generators) {
+            Files.createDirectories(eachGenerator.getOutputPath().getParent());
+            Files.write(eachGenerator.getOutputPath(), existingContent);
         }
     }
 
@@ -107,6 +121,28 @@ public class GenerationStatsSteps {
         }
     }
 
+    @When("^the generators are executed again$")
+    public void theGeneratorsAreExecutedAgain() {
+        theGeneratorsAreExecuted();
+    }
+
+    @Then("^(\\d+) generated files? (?:is|are) captured$")
+    public void generatedFilesAreCaptured(int expectedFileCount) {
+        int recordedFileCount = statisticsService.calculateFinalStats().getFileCount();
+        assertEquals("Recorded generated file count differs from expected", expectedFileCount, recordedFileCount);
+    }
+
+    @Then("^the stats of another execution in the session include the generated files$")
+    public void theStatsOfAnotherExecutionInTheSessionIncludeTheGeneratedFiles() {
+        StatisticsService otherExecution = new StatisticsService(session);
+        FileStats.Aggregate recorded = otherExecution.calculateFinalStats();
+        long expectedSize = generators.stream()
+            .mapToLong(TestGenerator::getFileSize)
+            .sum();
+        assertEquals("Recorded generated file count differs from expected", generators.size(), recorded.getFileCount());
+        assertEquals("Recorded generated file size differs from expected", expectedSize, recorded.getTotalSize());
+    }
+
     @Then("^the total file size of the generated files is captured$")
     public void theTotalFileSizeOfTheGeneratedFilesIsCaptured() {
         long expectedSize = generators.stream()
@@ -116,6 +152,16 @@ public class GenerationStatsSteps {
         assertEquals("Recorded generated file size differs from expected", expectedSize, recordedSize);
     }
 
+    @Then("^the total file size of the existing files is captured$")
+    public void theTotalFileSizeOfTheExistingFilesIsCaptured() throws IOException {
+        long expectedSize = 0L;
+        for (TestGenerator eachGenerator : generators) {
+            expectedSize += Files.size(eachGenerator.getOutputPath());
+        }
+        long recordedSize = statisticsService.calculateFinalStats().getTotalSize();
+        assertEquals("Recorded existing file size differs from expected", expectedSize, recordedSize);
+    }
+
     @Then("^the file size is not recorded$")
     public void theFileSizeIsNotRecorded() {
         long recordedSize = statisticsService.calculateFinalStats().getTotalSize();
@@ -33,6 +33,56 @@ Feature: Specify entities for use in model-driven file generation
       | Foo  | test.entity.parent | Alpha  | MAPPED-superCLASS   | mapped-superclass           |
       | Bar  | test.entity.parent | Beta   |                     | mapped-superclass           |
 
+  Scenario: query the loaded entity inheritance hierarchy
+    Given an entity named "Alpha" in "test.entity.parent"
+    And an entity name "Beta" in "test.entity.parent" with parent "Alpha" and inheritance strategy "mapped-superclass"
+    And an entity name "Gamma" in "test.entity.parent" with parent "Beta" and inheritance strategy "mapped-superclass"
+    And an entity name "Delta" in "test.entity.parent" with parent "Alpha" and inheritance strategy "mapped-superclass"
+    When entities are read
+    Then the entity "Alpha" has children "Beta, Delta" and descendants "Beta, Gamma, Delta"
+    And the entities "Alpha, Beta" are non-persistent parents and "Gamma, Delta" are not
+    And of the entities "Alpha, Beta, Gamma, Delta" only "Alpha" is an abstract root
+
+  Scenario: share a read-only view of the entities in each context
+    Given an entity named "Foo" in "test.entity"
+    When entities are read
+    Then the local context view contains "Foo" and is shared and read-only
+
+  Scenario: decorated entities reuse their decorated fields
+    Given an entity named "Foo" in "test.entity" with a field:
+      | name | type   |
+      | bar  | string |
+    When entities are read
+    Then decorating "Foo" returns the same read-only field decorators on each call
+
+  Scenario: field types are classified from the symbol table
+    Given an entity named "Baz" in "test.entity"
+    And an entity named "Foo" in "test.entity" with a field "baz" of type "Baz"
+    And an entity named "Qux" in "test.entity" with a field "bar" of type "string"
+    When entities are read
+    Then the symbol table classifies "Baz" in "test.entity" as "ENTITY" and "string" as "SIMPLE_TYPE"
+    And the decorated field "baz" of "Foo" is an entity while "bar" of "Qux" is not
+
+  Scenario: references, relations, and parents are linked once all entities are loaded
+    Given the entities "Beta, Gamma, Delta" in "test.entity.link"
+    And an entity named "Alpha" in "test.entity.link" with reference "Beta", relation "Gamma", and parent "Delta"
+    When entities are read
+    Then the reference, relation, and parent of "Alpha" are linked to "Beta", "Gamma", and "Delta"
+    And "Gamma" has a single inverse relation to "Alpha"
+
+  Scenario: dangling references are reported together
+    Given an entity named "Alpha" in "test.entity.link" with reference "Beta", relation "Gamma", and parent "Delta"
+    When entities are read
+    Then the tracker reports that errors were encountered
+    And the reference, relation, and parent of "Alpha" are not linked
+
+  Scenario: references naming a package that does not contain the entity are reported rather than linked by name
+    Given the entities "Beta, Gamma, Delta" in "test.entity.elsewhere"
+    And an entity named "Alpha" in "test.entity.link" with reference "Beta", relation "Gamma", and parent "Delta"
+    When entities are read
+    Then the tracker reports that errors were encountered
+    And the reference, relation, and parent of "Alpha" are not linked
+
   Scenario Outline: specify a table name via a JSON metamodel
     Given an entity named "<name>" in "<package>" with table "<table>"
     When entities are read
@@ -0,0 +1,17 @@
+@flightRecorderEvents
+Feature: Emit Java Flight Recorder events for metamodel and generation work
+  As a developer profiling a slow build with Java Flight Recorder, I want Fermenter to emit its own events for loading
+    and validating metamodels, executing targets, and generating files so that time spent in Velocity and Jackson can
+    be attributed to the metamodels and templates responsible for it.
+
+    Scenario: Loading and validating metamodels is recorded for each artifact and kind
+        Given a model location with 3 services
+        When the metamodels are loaded and validated while Flight Recorder is recording
+        Then a metamodel load event records 3 "services" of the artifact
+        And a metamodel validation event records 3 "services"
+
+    Scenario: Generating files is recorded with the outcome of each file
+        When a file generated by a prior build and a new file are generated while Flight Recorder is recording
+        Then a file generation event records the new file as "WRITTEN"
+        And a file generation event records the prior file as "UNCHANGED"
+        And each file generation event records the template and size of its file
@@ -0,0 +1,18 @@
+@generatedFileWriting
+Feature: Only rewrite generated files whose content changes
+  As a developer running incremental builds, I want Fermenter to leave generated files untouched when their content
+    has not changed so that downstream incremental compilation does not reprocess them.
+
+    Background:
+        Given a file generated by a prior build
+
+    Scenario: Regenerating identical content leaves the file untouched
+        When the file is regenerated
+        Then the generated file has not been rewritten
+        And no temporary files are left behind
+
+    Scenario: Regenerating different content replaces the file
+        Given the template for the file has been modified
+        When the file is regenerated
+        Then the generated file contains the modified template
+        And no temporary files are left behind
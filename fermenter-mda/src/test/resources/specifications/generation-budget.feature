@@ -0,0 +1,38 @@
+@generationBudget
+Feature: Enforce budgets on generation time and files written
+  As a team whose build time keeps regressing as templates are added, I want generation to be checked against budgets
+    so that my pipeline points out exactly which target or template became too slow.
+
+    Background:
+        Given a generation that took 900 ms and wrote 40 files with the targets:
+            | target   | template        | millis |
+            | entities | entity.java.vm  | 500    |
+            | enums    | enum.java.vm    | 100    |
+            | services | service.java.vm | 300    |
+
+    Scenario: Generation within every budget is not reported
+        Given budgets of 1000 ms in total, 600 ms per target, 600 ms per template, and 50 files written
+        When the generation is checked against the budgets
+        Then no budget is exceeded
+
+    Scenario: Budgets of zero are not enforced
+        Given budgets of 0 ms in total, 0 ms per target, 0 ms per template, and 0 files written
+        When the generation is checked against the budgets
+        Then no budget is exceeded
+
+    Scenario: Each target that exceeds its budget is reported by name
+        Given budgets of 0 ms in total, 200 ms per target, 0 ms per template, and 0 files written
+        When the generation is checked against the budgets
+        Then the exceeded budgets are:
+            | budget          | subject             |
+            | maxTargetMillis | target 'entities'   |
+            | maxTargetMillis | target 'services'   |
+
+    Scenario: Total time, template time, and files written are each reported
+        Given budgets of 800 ms in total, 0 ms per target, 400 ms per template, and 30 files written
+        When the generation is checked against the budgets
+        Then the exceeded budgets are:
+            | budget              | subject                                 |
+            | maxGenerationMillis | generation of budgeted-module           |
+            | maxTemplateMillis   | template 'entity.java.vm' (10 files)    |
+            | maxFilesWritten     | budgeted-module                         |
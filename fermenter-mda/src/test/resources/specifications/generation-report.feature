@@ -0,0 +1,24 @@
+@generationReport
+Feature: Report how long generation takes
+  As a developer with a slow build, I want to know how long each target, template, and file takes to generate so that
+    I can tell which templates dominate my build time.
+
+    Scenario: Each generated file is timed along with whether it was written
+        Given a file that a prior build generated
+        And a non-overwritable file that already exists
+        And a generation report is being recorded
+        When a new file, the prior file, and the non-overwritable file are generated
+        Then the report records 1 written, 1 unchanged, and 1 skipped file
+        And the report times each file and template
+        And the report is written as json
+
+    Scenario: The slowest generation is reported across all modules
+        Given generation reports written by the modules:
+            | module | target   | template        | millis |
+            | alpha  | entities | entity.java.vm  | 30     |
+            | alpha  | enums    | enum.java.vm    | 5      |
+            | beta   | entities | entity.java.vm  | 20     |
+            | beta   | services | service.java.vm | 40     |
+        When the slowest 2 of the reactor are calculated
+        Then the slowest templates are "entity.java.vm, service.java.vm"
+        And the slowest targets are "beta:services, alpha:entities"
@@ -0,0 +1,20 @@
+@scaling
+Feature: Generation time scales linearly with model size
+  As a project with a large metamodel, I want the time Fermenter takes to load, validate, and generate sources to
+    grow in proportion to the size of my model, so that adding to the model never makes builds disproportionately
+    slower.
+
+    Scenario: Each phase takes roughly the same time per entity as the number of entities grows
+        Given synthetic projects with 5 fields, 1 reference, and 1 relation per entity
+        When sources are generated for synthetic projects of 250, 1000, 4000 entities
+        Then the load time per entity of the largest project is at most 3 times that of the smallest
+        And the validation time per entity of the largest project is at most 3 times that of the smallest
+        And the generation time per entity of the largest project is at most 3 times that of the smallest
+
+    Scenario: Deep inheritance and many references still scale linearly
+        Given synthetic projects with 5 fields, 4 references, and 4 relations per entity
+        And each synthetic entity inherits from a chain of 4 ancestors
+        When sources are generated for synthetic projects of 250, 1000, 4000 entities
+        Then the load time per entity of the largest project is at most 3 times that of the smallest
+        And the validation time per entity of the largest project is at most 3 times that of the smallest
+        And the generation time per entity of the largest project is at most 3 times that of the smallest
@@ -16,12 +16,19 @@ Feature: Capture statistics about code generation
         When the generators are executed
         Then the total file size of the generated files is captured
 
-    Scenario: Capture file size of overwritable, preexisting targets
+    Scenario: Capture file size of non-overwritable, preexisting targets without rendering them
         Given statistics are enabled
         And a non-overwritable target is selected
         And the target already exists
         When the generators are executed
-        Then the total file size of the generated files is captured
+        Then the total file size of the existing files is captured
+
+    Scenario: Capture preexisting targets that cannot be strictly decoded
+        Given statistics are enabled
+        And a non-overwritable target is selected
+        And the target already exists with content that is not valid in the default charset
+        When the generators are executed
+        Then the total file size of the existing files is captured
 
     Scenario: Capture file size of multiple targets
         Given statistics are enabled
@@ -35,3 +42,17 @@ Feature: Capture statistics about code generation
         When the generators are executed
         Then the file size is not recorded
 
+
+    Scenario: A file generated more than once is only counted once
+        Given statistics are enabled
+        And an overwritable target is selected
+        When the generators are executed
+        And the generators are executed again
+        Then 1 generated file is captured
+        And the total file size of the generated files is captured
+
+    Scenario: Stats are shared by every execution in the session
+        Given statistics are enabled
+        And multiple targets are selected
+        When the generators are executed
+        Then the stats of another execution in the session include the generated files
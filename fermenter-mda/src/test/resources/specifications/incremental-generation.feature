@@ -0,0 +1,46 @@
+@incrementalGeneration
+Feature: Skip rendering of files whose inputs are unchanged
+  As a project with a large model, I want Fermenter to skip rendering files whose template, metadata, and
+    configuration have not changed since the prior build so that incremental builds do as little work as possible.
+
+    Background:
+        Given a file generated by a prior build with incremental generation enabled
+
+    Scenario: Files with unchanged inputs are not rendered again
+        When the generator is executed in a new build
+        Then the template is not rendered again
+
+    Scenario: Files are rendered again when their template changes
+        Given the template has been modified
+        When the generator is executed in a new build
+        Then the template is rendered again
+
+    Scenario Outline: Files are rendered again when a template library on the plugin classpath changes
+        Given the template library <library> on the plugin classpath has been modified
+        When the generator is executed in a new build
+        Then the template is rendered again
+
+        Examples:
+            | library   |
+            | jar       |
+            | directory |
+
+    Scenario: Files are rendered again when the metadata or configuration changes
+        When the generator is executed in a new build with different metadata
+        Then the template is rendered again
+
+    Scenario: Files are rendered again when the module is built on its own rather than from the reactor root
+        When the generator is executed in a new build of the module on its own
+        Then the template is rendered again
+
+    Scenario: Existing files that may not be overwritten are skipped rather than checked against the manifest
+        Given the generator may not overwrite the generated file
+        When the generator is executed in a new build
+        Then the template is not rendered again
+        And the generated file is reported as skipped
+
+    Scenario: Files modified since they were generated are rendered again
+        Given the generated file has been modified
+        When the generator is executed in a new build
+        Then the template is rendered again
+        And the generated file contains the rendered template
@@ -0,0 +1,69 @@
+@metadataDependencyCache
+Feature: Parse metadataDependencies jars once per session
+  As a developer of a large multi-module project, I want model jars shared by many modules to be parsed once per build
+    so that model loading time does not grow with the number of modules using them.
+
+    Scenario: Modules sharing a metadata dependency parse it once
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        When two modules load their models from the jar
+        Then the jar's entities are parsed once
+        And each module has its own instance of entity "Alpha"
+
+    Scenario: Metadata dependencies stay cached until the session ends when the plugin is a build extension
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And the plugin is registered as a build extension
+        And a module has loaded its models from the jar
+        When the module's execution ends
+        And a module loads its models from the jar
+        Then the jar's entities are parsed once
+
+    Scenario: Metadata dependencies are released after each execution when the plugin is not a build extension
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And a module has loaded its models from the jar
+        When the module's execution ends
+        And a module loads its models from the jar
+        Then the jar's entities are parsed again
+
+    Scenario: A rebuilt metadata dependency is parsed again
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And a module has loaded its models from the jar
+        When the jar is rebuilt with entities "Alpha" and "Gamma"
+        And a module loads its models from the jar
+        Then the module has entities "Alpha" and "Gamma" from the jar
+
+    Scenario: Local models are loaded over cached metadata dependencies
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And a module containing the local entity "Delta"
+        When a module loads its models from the jar
+        Then the module has entities "Alpha" and "Beta" from the jar
+        And the module has the local entity "Delta"
+
+    Scenario: Parsed metadata dependencies are kept as snapshots between builds
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And metamodel snapshots are enabled
+        When a module loads its models from the jar
+        Then a snapshot of the jar's entities is written
+
+    Scenario: Later builds load metadata dependencies from snapshots
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And metamodel snapshots are enabled
+        And a module has loaded its models from the jar
+        When a later build loads its models from the jar
+        Then the module has entities "Alpha" and "Beta" from the jar
+        And the snapshot of the jar's entities is reused
+
+    Scenario: Snapshots are not used for a rebuilt metadata dependency
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And metamodel snapshots are enabled
+        And a module has loaded its models from the jar
+        When the jar is rebuilt with entities "Alpha" and "Gamma"
+        And a later build loads its models from the jar
+        Then the module has entities "Alpha" and "Gamma" from the jar
+        And only the snapshot of the rebuilt jar is kept
+
+    Scenario: Snapshots of unused Fermenter versions are removed
+        Given a metadata dependency jar containing entities "Alpha" and "Beta"
+        And metamodel snapshots are enabled
+        And snapshots of another Fermenter version unused for 31 days
+        When a module loads its models from the jar
+        Then the snapshots of the other Fermenter version are removed
@@ -0,0 +1,36 @@
+@metamodelSchemaValidation
+Feature: Validate metamodel files against their json schemas while loading
+  As a model author, I want each metamodel file checked against its json schema as it is loaded so that mistakes in
+    my models are reported rather than silently ignored.
+
+    Scenario Outline: Conforming metamodel files are loaded
+        Given schema validation is enabled with a load parallelism of <parallelism>
+        And an entity file for "Valid" that conforms to the entity schema
+        When the metamodels are loaded
+        Then entity "Valid" is loaded
+        And no errors are reported
+
+        Examples:
+            | parallelism |
+            | 1           |
+            | 4           |
+
+    Scenario Outline: Metamodel files that do not conform are reported and skipped
+        Given schema validation is enabled with a load parallelism of <parallelism>
+        And an entity file for "Valid" that conforms to the entity schema
+        And an entity file for "Invalid" with a numeric documentation
+        When the metamodels are loaded
+        Then entity "Valid" is loaded
+        And entity "Invalid" is not loaded
+        And an error is reported for "Invalid.json"
+
+        Examples:
+            | parallelism |
+            | 1           |
+            | 4           |
+
+    Scenario: Metamodel files are not validated unless requested
+        Given an entity file for "Invalid" with a numeric documentation
+        When the metamodels are loaded
+        Then entity "Invalid" is loaded
+        And no errors are reported
@@ -0,0 +1,54 @@
+@metamodelWatch
+Feature: Watch metamodels and reload only those that change
+  As a developer iterating on metamodels, I want Fermenter to notice when I save a metamodel and reload only what
+    changed, so that generated sources catch up with my edits in well under a second.
+
+    Scenario: Only changed metamodel files are reported
+        Given a watched metadata directory containing entity "Order"
+        When entity "Order" is saved with a field "notes"
+        And a file "entities/README.txt" is written
+        Then the watcher reports only "entities/Order.json"
+
+    Scenario: Metamodels within a newly created directory are reported
+        Given a watched metadata directory containing entity "Order"
+        When a directory "services" is created containing service "OrderService"
+        Then the watcher reports only "services/OrderService.json"
+
+    Scenario: Only changed metamodels are reloaded into the repository
+        Given a loaded repository with entity "Order" related to entity "LineItem" and entities "Customer" and "Supplier"
+        When entity "Customer" is saved with a field "email"
+        And entity "Supplier" is deleted
+        And entity "Invoice" is created
+        And the repository reloads the changed files
+        Then entity "Customer" has a field "email"
+        And entity "Supplier" is no longer found
+        And entity "Invoice" is found
+        And entity "LineItem" is the same instance as before the reload
+        And entity "LineItem" has exactly one inverse relation
+
+    Scenario: Entities ordered by dependency no longer include a deleted entity
+        Given a loaded repository with entity "Order" related to entity "LineItem" and entities "Customer" and "Supplier"
+        And the entities have been ordered by dependency
+        When entity "Supplier" is deleted
+        And the repository reloads the changed files
+        Then the entities ordered by dependency do not include "Supplier"
+
+    Scenario: Deleting an entity that replaced one from a metadata dependency restores the dependency's entity
+        Given a loaded repository with entity "Order" related to entity "LineItem" and entities "Customer" and "Supplier"
+        And a metadata dependency also containing entity "Supplier" with a field "rating"
+        When entity "Supplier" is deleted
+        And the repository reloads the changed files
+        Then entity "Supplier" has a field "rating"
+
+    Scenario Outline: Only targets that may read a changed kind of metamodel, or do not declare what they read, are executed again
+        Given a profile with entity, service, model agnostic, and undeclared targets
+        When a metamodel within "<location>" is saved
+        And the profile is generated again for the changed metamodels
+        Then the executed targets are "<executed targets>"
+
+        Examples:
+            | location       | executed targets            |
+            | entities       | entity, service, undeclared |
+            | enumerations   | entity, service, undeclared |
+            | services       | service, undeclared         |
+            | message-groups | undeclared                  |
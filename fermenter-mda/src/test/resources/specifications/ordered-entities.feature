@@ -61,3 +61,55 @@ Feature: Entities -> Ordered
       | Beta  |
       | Blah  |
       | Gamma |
+
+  Scenario: Long reference chains are ordered transitively
+    Given the following entities and their references:
+      | entityName | references |
+      | Alpha      | Bravo      |
+      | Bravo      | Charlie    |
+      | Charlie    | Delta      |
+      | Delta      |            |
+      | Echo       |            |
+    When the entities are loaded
+    Then the values are listed in the following order:
+      | Delta   |
+      | Charlie |
+      | Bravo   |
+      | Alpha   |
+      | Echo    |
+
+  Scenario: Self references do not affect ordering
+    Given the following entities and their references:
+      | entityName | references             |
+      | Employee   | Employee, Department   |
+      | Department |                        |
+    When the entities are loaded
+    Then the values are listed in the following order:
+      | Department |
+      | Employee   |
+
+  Scenario: Reference cycles are broken deterministically
+    Given the following entities and their references:
+      | entityName | references  |
+      | Right      | Left        |
+      | Left       | Right, Base |
+      | Base       |             |
+    When the entities are loaded
+    Then the values are listed in the following order:
+      | Base  |
+      | Left  |
+      | Right |
+
+  Scenario: Entities that depend on a cycle are not placed before it
+    Given the following entities and their references:
+      | entityName | references |
+      | Xray       | Yankee     |
+      | Yankee     | Xray       |
+      | Alpha      | Xray       |
+      | Bravo      | Alpha      |
+    When the entities are loaded
+    Then the values are listed in the following order:
+      | Xray   |
+      | Alpha  |
+      | Yankee |
+      | Bravo  |
@@ -0,0 +1,15 @@
+@parallelMetamodelLoading
+Feature: Load metamodels concurrently
+  As a developer of a project with many or large model sources, I want metamodel files to be read and parsed
+    concurrently so that model loading takes less time, without changing which instances win or what is reported.
+
+    Scenario Outline: Concurrent loading produces the same models and messages as sequential loading
+        Given model locations "first-model" and "second-model" that both define entity "Shared" and enumeration "Status"
+        When the metamodels are loaded with a load parallelism of <parallelism>
+        Then the loaded metamodels match those of a sequential load
+        And the replacement warnings match those of a sequential load, in the same order
+
+        Examples:
+            | parallelism |
+            | 1           |
+            | 4           |
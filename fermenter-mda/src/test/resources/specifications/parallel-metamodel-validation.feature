@@ -0,0 +1,16 @@
+@parallelMetamodelValidation
+Feature: Validate metamodels concurrently
+  As a developer of a project with large models, I want metamodel instances to be validated concurrently so that
+    validation takes less time, while validation messages are still reported in a reproducible order.
+
+    Scenario Outline: Concurrent validation reports messages ordered by file
+        Given a model location with 20 services whose names do not match their files
+        When the metamodels are validated <runs> times with a validation parallelism of <parallelism>
+        Then every service is reported as invalid
+        And the validation messages are ordered by file
+        And each validation reports the same messages
+
+        Examples:
+            | parallelism | runs |
+            | 4           | 3    |
+            | 16          | 3    |
@@ -0,0 +1,16 @@
+@parallelRendering
+Feature: Render the files of a single target concurrently
+  As a project with large models, I want Fermenter to render the per-element files of a target concurrently so that
+    generation of a single target makes use of all available cores.
+
+    Scenario Outline: Every element file is rendered with its own context
+        Given a target that renders 50 element files
+        And a render parallelism of <parallelism>
+        When the target is generated
+        Then each element file contains the output of its own context
+        And the output file of the generation context is not modified
+
+        Examples:
+            | parallelism |
+            | 1           |
+            | 4           |
@@ -0,0 +1,25 @@
+@parallelTargets
+Feature: Generate profile targets concurrently
+  As a project with large profiles, I want Fermenter to execute independent targets concurrently so that generation
+    makes use of all available cores.
+
+    Scenario: Concurrent targets share the loaded metamodel repository
+        Given a profile with 8 targets
+        And a metamodel repository bound to the generating thread
+        When the profile is generated with a target parallelism of 4
+        Then every target is executed on a worker thread
+        And every target sees the metamodel repository and message tracker of the generating thread
+
+    Scenario: Targets are executed on the calling thread by default
+        Given a profile with 3 targets
+        And a metamodel repository bound to the generating thread
+        When the profile is generated with a target parallelism of 1
+        Then every target is executed on the generating thread
+
+    Scenario: Concurrent target failures are reported in profile order
+        Given a profile with 6 targets
+        And targets 2 and 5 of the profile fail
+        And a metamodel repository bound to the generating thread
+        When the profile is generated with a target parallelism of 4
+        Then the failure of the first failing target in the profile is reported
+        And the failure of the other failing target is suppressed within it
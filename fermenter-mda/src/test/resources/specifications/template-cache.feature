@@ -0,0 +1,33 @@
+@templateCache
+Feature: Share parsed templates across module executions
+  As a developer of a large multi-module project, I want templates to be parsed once per build rather than once per
+    module so that generation setup time does not grow with the number of modules.
+
+    Scenario: Module executions share a template engine
+        When two module executions obtain the shared template engine
+        Then both executions use the same engine
+
+    Scenario: Templates are parsed once and then served from the cache
+        Given the shared template engine
+        When the same template is requested twice
+        Then the template is parsed once
+        And the second request is a cache hit
+
+    Scenario: Template caching can be disabled
+        When two module executions create non-caching template engines
+        Then each execution uses its own engine
+
+    Scenario: Hits and misses are counted for the whole session when a module execution releases the shared engines
+        Given the shared template engine
+        And the same template is requested twice
+        When a module execution releases the shared template engines
+        Then the template is parsed once
+        And the second request is a cache hit
+        And module executions obtain a new shared template engine
+
+    Scenario: Shared engines are released when the session ends
+        Given the shared template engine
+        And the same template is requested twice
+        When the Maven session ends
+        Then no template cache hits or misses are counted
+        And module executions obtain a new shared template engine
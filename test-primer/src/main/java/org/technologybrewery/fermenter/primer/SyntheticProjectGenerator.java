@@ -0,0 +1,316 @@
+package org.technologybrewery.fermenter.primer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes a Maven project using the fermenter-mda plugin whose src/main/resources contains a synthetic set of entity,
+ * service, and enumeration metamodels of any size, so that loading, validating, and generating large models can be
+ * tested without checking them in. The same settings always produce the same project.
+ * <p>
+ * Within the model:
+ * <ul>
+ * <li>every entity has an identifier and {@link #setFieldsPerEntity(int) fields}, the last of which is typed by an
+ * enumeration when there are any</li>
+ * <li>entities form inheritance chains of {@link #setInheritanceDepth(int) the given depth}, each entity extending the
+ * one before it</li>
+ * <li>entities {@link #setReferencesPerEntity(int) reference} earlier entities, so references never form a cycle</li>
+ * <li>entities {@link #setRelationsPerEntity(int) relate} to the entities after them</li>
+ * <li>each service operation looks up an entity by its identifier</li>
+ * </ul>
+ * As metamodels are written as json rather than through fermenter-mda's metamodel classes, this module does not
+ * depend on fermenter-mda and may be used by its tests.
+ */
+public class SyntheticProjectGenerator {
+
+    private static final String[] FIELD_TYPES = { "string", "integer", "long", "date", "boolean", "decimal" };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String artifactId = "synthetic-model";
+    private String basePackage = "org.technologybrewery.fermenter.synthetic";
+    private String profile;
+    private int entityCount = 10;
+    private int fieldsPerEntity = 5;
+    private int referencesPerEntity = 1;
+    private int relationsPerEntity = 0;
+    private int inheritanceDepth = 0;
+    private int serviceCount = 1;
+    private int operationsPerService = 3;
+    private int enumerationCount = 1;
+    private int constantsPerEnumeration = 5;
+
+    /**
+     * Writes the project, replacing any metamodels previously written to the same directory.
+     *
+     * @param projectDirectory directory in which to write the project
+     * @return the pom.xml of the written project
+     * @throws IOException if the project cannot be written
+     */
+    public File generate(File projectDirectory) throws IOException {
+        File resources = new File(projectDirectory, "src/main/resources");
+        writeMetamodels(new File(resources, "enumerations"), enumerationCount, this::createEnumeration);
+        writeMetamodels(new File(resources, "entities"), entityCount, this::createEntity);
+        writeMetamodels(new File(resources, "services"), serviceCount, this::createService);
+
+        File pom = new File(projectDirectory, "pom.xml");
+        Files.writeString(pom.toPath(), createPom(), StandardCharsets.UTF_8);
+        return pom;
+    }
+
+    private void writeMetamodels(File directory, int count, MetamodelFactory factory) throws IOException {
+        if (directory.exists()) {
+            File[] existingFiles = directory.listFiles();
+            for (File existingFile : existingFiles != null ? existingFiles : new File[0]) {
+                Files.delete(existingFile.toPath());
+            }
+        }
+        directory.mkdirs();
+
+        for (int i = 0; i < count; i++) {
+            ObjectNode metamodel = factory.create(i);
+            File file = new File(directory, metamodel.get("name").asText() + ".json");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, metamodel);
+        }
+    }
+
+    private ObjectNode createEnumeration(int index) {
+        ObjectNode enumeration = createNamespaced(getEnumerationName(index));
+        ArrayNode constants = enumeration.putArray("enums");
+        for (int i = 0; i < constantsPerEnumeration; i++) {
+            constants.addObject().put("name", "CONSTANT_" + i);
+        }
+        return enumeration;
+    }
+
+    private ObjectNode createEntity(int index) {
+        ObjectNode entity = createNamespaced(getEntityName(index));
+        entity.put("documentation", "Synthetic entity " + index + " of " + entityCount);
+
+        // each chain is a root followed by inheritanceDepth descendants
+        if (inheritanceDepth > 0 && index % (inheritanceDepth + 1) != 0) {
+            ObjectNode parent = entity.putObject("parent");
+            parent.put("package", basePackage);
+            parent.put("type", getEntityName(index - 1));
+        }
+
+        ObjectNode identifier = entity.putObject("identifier");
+        identifier.put("name", "id");
+        identifier.put("type", "long");
+        identifier.put("column", "ID");
+        identifier.put("generator", "assigned");
+
+        ArrayNode fields = entity.putArray("fields");
+        for (int i = 0; i < fieldsPerEntity; i++) {
+            ObjectNode field = fields.addObject();
+            field.put("name", "field" + i);
+            if (enumerationCount > 0 && i == fieldsPerEntity - 1) {
+                field.put("type", getEnumerationName(index % enumerationCount));
+                field.put("package", basePackage);
+            } else {
+                field.put("type", FIELD_TYPES[i % FIELD_TYPES.length]);
+            }
+        }
+
+        ArrayNode references = entity.putArray("references");
+        for (int i = 0; i < Math.min(referencesPerEntity, index); i++) {
+            ObjectNode reference = references.addObject();
+            reference.put("name", "reference" + i);
+            reference.put("package", basePackage);
+            reference.put("type", getEntityName((index * 7 + i * 13 + 3) % index));
+            reference.put("localColumn", "REFERENCE" + i + "_ID");
+        }
+
+        ArrayNode relations = entity.putArray("relations");
+        for (int i = 0; i < relationsPerEntity && index + i + 1 < entityCount; i++) {
+            ObjectNode relation = relations.addObject();
+            relation.put("package", basePackage);
+            relation.put("type", getEntityName(index + i + 1));
+            relation.put("multiplicity", "1-M");
+        }
+
+        return entity;
+    }
+
+    private ObjectNode createService(int index) {
+        ObjectNode service = createNamespaced("Service" + index);
+        ArrayNode operations = service.putArray("operations");
+        for (int i = 0; i < operationsPerService; i++) {
+            int entityIndex = entityCount > 0 ? (index * operationsPerService + i) % entityCount : -1;
+            ObjectNode operation = operations.addObject();
+            operation.put("name", "find" + i);
+            ObjectNode parameter = operation.putArray("parameters").addObject();
+            parameter.put("name", "id");
+            parameter.put("type", "long");
+            ObjectNode returned = operation.putObject("return");
+            if (entityIndex >= 0) {
+                returned.put("package", basePackage);
+                returned.put("type", getEntityName(entityIndex));
+            } else {
+                returned.put("type", "string");
+            }
+        }
+        return service;
+    }
+
+    private ObjectNode createNamespaced(String name) {
+        ObjectNode metamodel = objectMapper.createObjectNode();
+        metamodel.put("package", basePackage);
+        metamodel.put("name", name);
+        return metamodel;
+    }
+
+    private String createPom() {
+        return "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" "
+            + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+            + "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 "
+            + "http://maven.apache.org/maven-v4_0_0.xsd\">\n"
+            + "    <modelVersion>4.0.0</modelVersion>\n"
+            + "    <groupId>org.technologybrewery.fermenter.synthetic</groupId>\n"
+            + "    <artifactId>" + artifactId + "</artifactId>\n"
+            + "    <version>1.0.0</version>\n"
+            + "    <build>\n"
+            + "        <plugins>\n"
+            + "            <plugin>\n"
+            + "                <groupId>org.technologybrewery.fermenter</groupId>\n"
+            + "                <artifactId>fermenter-mda</artifactId>\n"
+            + "                <version>${project.version}</version>\n"
+            + "                <configuration>\n"
+            + "                    <basePackage>" + basePackage + "</basePackage>\n"
+            + (profile != null ? "                    <profile>" + profile + "</profile>\n" : "")
+            + "                </configuration>\n"
+            + "            </plugin>\n"
+            + "        </plugins>\n"
+            + "    </build>\n"
+            + "</project>\n";
+    }
+
+    private static String getEntityName(int index) {
+        return "Entity" + index;
+    }
+
+    private static String getEnumerationName(int index) {
+        return "Enumeration" + index;
+    }
+
+    /**
+     * @return the total number of metamodel instances written
+     */
+    public int getElementCount() {
+        return entityCount + serviceCount + enumerationCount;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public void setArtifactId(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    public String getBasePackage() {
+        return basePackage;
+    }
+
+    public void setBasePackage(String basePackage) {
+        this.basePackage = basePackage;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @param profile the generation profile configured for the plugin, or null to configure none
+     */
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    public void setEntityCount(int entityCount) {
+        this.entityCount = entityCount;
+    }
+
+    public int getFieldsPerEntity() {
+        return fieldsPerEntity;
+    }
+
+    public void setFieldsPerEntity(int fieldsPerEntity) {
+        this.fieldsPerEntity = fieldsPerEntity;
+    }
+
+    public int getReferencesPerEntity() {
+        return referencesPerEntity;
+    }
+
+    public void setReferencesPerEntity(int referencesPerEntity) {
+        this.referencesPerEntity = referencesPerEntity;
+    }
+
+    public int getRelationsPerEntity() {
+        return relationsPerEntity;
+    }
+
+    public void setRelationsPerEntity(int relationsPerEntity) {
+        this.relationsPerEntity = relationsPerEntity;
+    }
+
+    public int getInheritanceDepth() {
+        return inheritanceDepth;
+    }
+
+    /**
+     * @param inheritanceDepth the number of ancestors of the most derived entity in each inheritance chain, or zero
+     *                         for no inheritance
+     */
+    public void setInheritanceDepth(int inheritanceDepth) {
+        this.inheritanceDepth = inheritanceDepth;
+    }
+
+    public int getServiceCount() {
+        return serviceCount;
+    }
+
+    public void setServiceCount(int serviceCount) {
+        this.serviceCount = serviceCount;
+    }
+
+    public int getOperationsPerService() {
+        return operationsPerService;
+    }
+
+    public void setOperationsPerService(int operationsPerService) {
+        this.operationsPerService = operationsPerService;
+    }
+
+    public int getEnumerationCount() {
+        return enumerationCount;
+    }
+
+    public void setEnumerationCount(int enumerationCount) {
+        this.enumerationCount = enumerationCount;
+    }
+
+    public int getConstantsPerEnumeration() {
+        return constantsPerEnumeration;
+    }
+
+    public void setConstantsPerEnumeration(int constantsPerEnumeration) {
+        this.constantsPerEnumeration = constantsPerEnumeration;
+    }
+
+    @FunctionalInterface
+    private interface MetamodelFactory {
+        ObjectNode create(int index);
+    }
+}